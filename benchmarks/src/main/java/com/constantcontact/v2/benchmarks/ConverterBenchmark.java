@@ -0,0 +1,86 @@
+package com.constantcontact.v2.benchmarks;
+
+import com.constantcontact.v2.Paged;
+import com.constantcontact.v2.campaigns.Campaign;
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures request and response conversion through {@link JacksonConverterFactory}, i.e. what every call pays on top
+ * of the network, for a contact, a campaign and a 500 result tracking page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @Param({"contact", "campaign", "trackingPage"})
+    public String payload;
+
+    private byte[] _body;
+
+    private Object _value;
+
+    private Converter<ResponseBody, ?> _responseConverter;
+
+    private Converter<Object, RequestBody> _requestConverter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JacksonConverterFactory factory = JacksonConverterFactory.create(mapper);
+
+        JavaType type;
+        switch (payload) {
+            case "contact":
+                _body = Payloads.contact().getBytes(Payloads.UTF_8);
+                type = mapper.getTypeFactory().constructType(Contact.class);
+                break;
+            case "campaign":
+                _body = Payloads.campaign().getBytes(Payloads.UTF_8);
+                type = mapper.getTypeFactory().constructType(Campaign.class);
+                break;
+            default:
+                _body = Payloads.trackingPage(500).getBytes(Payloads.UTF_8);
+                type = mapper.getTypeFactory().constructParametricType(Paged.class, BaseTrackingReport.class);
+                break;
+        }
+
+        _responseConverter = factory.responseBodyConverter(type, NO_ANNOTATIONS, null);
+        _requestConverter = (Converter<Object, RequestBody>) factory.requestBodyConverter(type, NO_ANNOTATIONS,
+                                                                                            NO_ANNOTATIONS, null);
+        _value = _responseConverter.convert(ResponseBody.create(JSON, _body));
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return _responseConverter.convert(ResponseBody.create(JSON, _body));
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        Buffer sink = new Buffer();
+        _requestConverter.convert(_value).writeTo(sink);
+        return sink.size();
+    }
+}
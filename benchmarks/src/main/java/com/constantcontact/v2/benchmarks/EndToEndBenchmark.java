@@ -0,0 +1,121 @@
+package com.constantcontact.v2.benchmarks;
+
+import com.constantcontact.v2.ContactService;
+import com.constantcontact.v2.DefaultOkHttpClientBuilderFactory;
+import com.constantcontact.v2.DefaultRetrofitBuilderFactory;
+import com.constantcontact.v2.HttpClientSettings;
+import com.constantcontact.v2.Paged;
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.ContactStatus;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures call throughput through the whole client, i.e. interceptors, connection pool, HTTP and conversion, against
+ * a local MockWebServer. The server's own overhead is included, so compare runs with each other rather than with
+ * the production API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EndToEndBenchmark {
+    private MockWebServer _server;
+
+    private OkHttpClient _client;
+
+    private ContactService _contactService;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String contact = Payloads.contact();
+        final String contactsPage = Payloads.contactsPage(50);
+
+        _server = new MockWebServer();
+        _server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/v2/contacts?") ? contactsPage : contact;
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+            }
+        });
+        _server.start();
+
+        DefaultOkHttpClientBuilderFactory clientFactory = new DefaultOkHttpClientBuilderFactory();
+        clientFactory.setHttpClientSettings(HttpClientSettings.highThroughput());
+        _client = clientFactory.create("api-key", "token").build();
+        _contactService = new DefaultRetrofitBuilderFactory(_client).create(_server.url("/").toString())
+                                                                     .build()
+                                                                     .create(ContactService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        _client.dispatcher().executorService().shutdown();
+        _client.connectionPool().evictAll();
+        _server.shutdown();
+    }
+
+    @Benchmark
+    public Contact getContact() throws IOException {
+        return _contactService.getContact("1000").execute().body();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Contact getContactConcurrently() throws IOException {
+        return _contactService.getContact("1000").execute().body();
+    }
+
+    @Benchmark
+    public Paged<Contact> getContactsPage() throws IOException {
+        return _contactService.getContacts(50, ContactStatus.ACTIVE).execute().body();
+    }
+
+    /**
+     * Disables Nagle's algorithm on accepted sockets, since MockWebServer writes small responses in several parts,
+     * which would otherwise wait for delayed ACKs and measure those instead of the client.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
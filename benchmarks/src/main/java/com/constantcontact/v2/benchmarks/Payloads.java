@@ -0,0 +1,178 @@
+package com.constantcontact.v2.benchmarks;
+
+import java.nio.charset.Charset;
+
+/**
+ * Builds realistic API response bodies for the benchmarks.
+ */
+public final class Payloads {
+    public static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String[] ACTIVITY_TYPES = {
+            "EMAIL_OPEN", "EMAIL_CLICK", "EMAIL_SEND", "EMAIL_BOUNCE", "EMAIL_FORWARD", "EMAIL_UNSUBSCRIBE"
+    };
+
+    private Payloads() {
+    }
+
+    /**
+     * Creates a page of fully populated contacts, with addresses, custom fields, notes and list memberships.
+     *
+     * @param count the number of contacts
+     * @return the JSON body
+     */
+    public static String contactsPage(int count) {
+        StringBuilder json = new StringBuilder(count * 2048);
+        json.append("{\"meta\":{\"pagination\":{\"next_link\":\"/v2/contacts?next=c3RhcnRBdD0yJmxpbWl0PTUwMA\"}},")
+            .append("\"results\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendContact(json, i);
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Creates a fully populated contact, as returned by the single contact endpoint.
+     *
+     * @return the JSON body
+     */
+    public static String contact() {
+        StringBuilder json = new StringBuilder(2048);
+        appendContact(json, 0);
+        return json.toString();
+    }
+
+    /**
+     * Creates a sent campaign with its content, footer, lists and tracking summary.
+     *
+     * @return the JSON body
+     */
+    public static String campaign() {
+        StringBuilder json = new StringBuilder(16384);
+        json.append("{\"id\":\"1100394165290\",\"name\":\"Spring Newsletter\",")
+            .append("\"subject\":\"Our spring offers are here\",\"status\":\"SENT\",")
+            .append("\"from_name\":\"Example Widgets\",\"from_email\":\"news@example.com\",")
+            .append("\"reply_to_email\":\"news@example.com\",\"template_type\":\"CUSTOM\",")
+            .append("\"created_date\":\"2016-03-02T15:41:26.000Z\",\"modified_date\":\"2016-03-04T10:02:11.000Z\",")
+            .append("\"last_run_date\":\"2016-03-05T08:00:00.000Z\",")
+            .append("\"permalink_url\":\"http://myemail.constantcontact.com/Spring-Newsletter.html\",")
+            .append("\"is_permission_reminder_enabled\":true,")
+            .append("\"permission_reminder_text\":\"You're receiving this because you signed up at our store.\",")
+            .append("\"is_view_as_webpage_enabled\":true,\"view_as_web_page_text\":\"Having trouble viewing?\",")
+            .append("\"view_as_web_page_link_text\":\"Click here\",")
+            .append("\"greeting_salutations\":\"Dear\",\"greeting_name\":\"FIRST_NAME\",")
+            .append("\"greeting_string\":\"Greetings!\",\"email_content_format\":\"HTML\",")
+            .append("\"style_sheet\":\"\",\"email_content\":\"<html><body>");
+        for (int i = 0; i < 40; i++) {
+            json.append("<p>Paragraph ").append(i).append(" of our spring newsletter, with ")
+                .append("<a href=\\\"http://www.example.com/offers/").append(i % 12)
+                .append("\\\">an offer</a> for our customers.</p>");
+        }
+        json.append("</body></html>\",\"text_content\":\"Our spring offers are here.\",")
+            .append("\"message_footer\":{\"city\":\"Waltham\",\"state\":\"MA\",\"country\":\"US\",")
+            .append("\"organization_name\":\"Example Widgets, Inc.\",\"address_line_1\":\"1601 Trapelo Road\",")
+            .append("\"postal_code\":\"02451\",\"include_forward_email\":true,")
+            .append("\"forward_email_link_text\":\"Forward this email\",\"include_subscribe_link\":true,")
+            .append("\"subscribe_link_text\":\"Sign up!\"},")
+            .append("\"sent_to_contact_lists\":[{\"id\":\"1\"},{\"id\":\"7\"}],")
+            .append("\"click_through_details\":[");
+        for (int i = 0; i < 12; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"url\":\"http://www.example.com/offers/").append(i).append("\",\"url_uid\":\"")
+                .append(1100394165290L + i).append("\",\"click_count\":").append(10 * i).append('}');
+        }
+        return json.append("],\"tracking_summary\":{\"sends\":15000,\"opens\":5500,\"clicks\":1200,")
+                   .append("\"forwards\":40,\"unsubscribes\":25,\"bounces\":180,\"spam_count\":3}}")
+                   .toString();
+    }
+
+    /**
+     * Creates a page of mixed tracking activity, as returned by the all-activity tracking endpoints.
+     *
+     * @param count the number of reports
+     * @return the JSON body
+     */
+    public static String trackingPage(int count) {
+        StringBuilder json = new StringBuilder(count * 256);
+        json.append("{\"meta\":{\"pagination\":{\"next_link\":\"/v2/emailmarketing/campaigns/1100394165290/tracking")
+            .append("?next=bGltaXQ9MyZuZXh0PTEzNzYyNjQ1MTg0NDIwMDAwMDA\"}},\"results\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String type = ACTIVITY_TYPES[i % ACTIVITY_TYPES.length];
+            json.append("{\"activity_type\":\"").append(type).append("\",")
+                .append("\"campaign_id\":\"1100394165290\",")
+                .append("\"contact_id\":\"").append(2000 + i).append("\",")
+                .append("\"email_address\":\"contact").append(i).append("@example.com\",");
+            switch (type) {
+                case "EMAIL_OPEN":
+                    json.append("\"open_date\":\"2016-08-11T09:12:01.000Z\"");
+                    break;
+                case "EMAIL_CLICK":
+                    json.append("\"link_id\":\"").append(i % 12).append("\",")
+                        .append("\"link_uri\":\"http://www.example.com/offers/").append(i % 12).append("\",")
+                        .append("\"click_date\":\"2016-08-11T09:12:01.000Z\"");
+                    break;
+                case "EMAIL_SEND":
+                    json.append("\"send_date\":\"2016-08-11T09:12:01.000Z\"");
+                    break;
+                case "EMAIL_BOUNCE":
+                    json.append("\"bounce_code\":\"B\",\"bounce_description\":\"Non-existent address\",")
+                        .append("\"bounce_message\":\"550 5.1.1 User unknown\",")
+                        .append("\"bounce_date\":\"2016-08-11T09:12:01.000Z\"");
+                    break;
+                case "EMAIL_FORWARD":
+                    json.append("\"forward_date\":\"2016-08-11T09:12:01.000Z\"");
+                    break;
+                default:
+                    json.append("\"unsubscribe_date\":\"2016-08-11T09:12:01.000Z\",")
+                        .append("\"unsubscribe_source\":\"ACTION_BY_CUSTOMER\",")
+                        .append("\"unsubscribe_reason\":\"Too many emails\"");
+                    break;
+            }
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendContact(StringBuilder json, int i) {
+        json.append("{\"id\":\"").append(1000 + i).append("\",")
+            .append("\"status\":\"ACTIVE\",")
+            .append("\"fax\":\"\",")
+            .append("\"addresses\":[{\"id\":\"a").append(i).append("\",\"line1\":\"").append(i)
+            .append(" Main Street\",\"line2\":\"Suite 100\",\"line3\":\"\",\"city\":\"Waltham\",")
+            .append("\"address_type\":\"PERSONAL\",\"state_code\":\"MA\",\"state\":\"Massachusetts\",")
+            .append("\"country_code\":\"us\",\"postal_code\":\"02451\",\"sub_postal_code\":\"\"}],")
+            .append("\"notes\":[{\"id\":\"n").append(i).append("\",\"note\":\"Met at the spring trade show, ")
+            .append("interested in the premium plan and the annual newsletter.\",")
+            .append("\"created_date\":\"2016-03-02T15:41:26.000Z\",\"modified_date\":\"2016-03-02T15:41:26.000Z\"}],")
+            .append("\"confirmed\":false,")
+            .append("\"lists\":[{\"id\":\"1\",\"status\":\"ACTIVE\"},{\"id\":\"7\",\"status\":\"ACTIVE\"}],")
+            .append("\"source\":\"Site Owner\",")
+            .append("\"email_addresses\":[{\"id\":\"e").append(i).append("\",\"status\":\"ACTIVE\",")
+            .append("\"confirm_status\":\"NO_CONFIRMATION_REQUIRED\",\"opt_in_source\":\"ACTION_BY_OWNER\",")
+            .append("\"opt_in_date\":\"2016-03-02T15:41:26.000Z\",\"email_address\":\"contact").append(i)
+            .append("@example.com\"}],")
+            .append("\"prefix_name\":\"Ms.\",\"first_name\":\"Jane\",\"last_name\":\"Doe").append(i).append("\",")
+            .append("\"job_title\":\"Marketing Director\",\"company_name\":\"Example Widgets, Inc.\",")
+            .append("\"home_phone\":\"555-555-0100\",\"work_phone\":\"555-555-0101\",\"cell_phone\":\"555-555-0102\",")
+            .append("\"custom_fields\":[");
+        for (int f = 1; f <= 5; f++) {
+            if (f > 1) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"CustomField").append(f).append("\",\"value\":\"Value ").append(f)
+                .append(" for contact ").append(i).append("\"}");
+        }
+        json.append("],")
+            .append("\"created_date\":\"2016-03-02T15:41:26.000Z\",")
+            .append("\"modified_date\":\"2016-08-11T09:12:01.000Z\",")
+            .append("\"source_details\":\"java-sdk\"}");
+    }
+}
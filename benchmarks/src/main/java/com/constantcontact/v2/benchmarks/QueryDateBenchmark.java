@@ -0,0 +1,38 @@
+package com.constantcontact.v2.benchmarks;
+
+import com.constantcontact.v2.QueryDate;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares formatting a {@link QueryDate} query parameter with a {@link SimpleDateFormat} created for each call,
+ * which is what a thread-safe caller of {@link JacksonConverterFactory#ISO_8601_DATE_FORMAT} has to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class QueryDateBenchmark {
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private long _millis = 1470906721000L;
+
+    @Benchmark
+    public String queryDate() {
+        return new QueryDate(_millis++).toString();
+    }
+
+    @Benchmark
+    public String simpleDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(JacksonConverterFactory.ISO_8601_DATE_PATTERN);
+        format.setTimeZone(UTC);
+        return format.format(new Date(_millis++));
+    }
+}
@@ -0,0 +1,73 @@
+package com.constantcontact.v2.benchmarks;
+
+import com.constantcontact.v2.Paged;
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a full 500 result page through a {@link java.io.Reader} ({@code ResponseBody.charStream()}) with
+ * the byte stream path used by {@link JacksonConverterFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    @Param({"contacts", "tracking"})
+    public String payload;
+
+    private byte[] _body;
+
+    private ObjectReader _reader;
+
+    private Converter<ResponseBody, ?> _converter;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        JacksonConverterFactory factory = JacksonConverterFactory.create(mapper);
+
+        JavaType type;
+        if ("contacts".equals(payload)) {
+            _body = Payloads.contactsPage(500).getBytes(Payloads.UTF_8);
+            type = mapper.getTypeFactory().constructParametricType(Paged.class, Contact.class);
+        } else {
+            _body = Payloads.trackingPage(500).getBytes(Payloads.UTF_8);
+            type = mapper.getTypeFactory().constructParametricType(Paged.class, BaseTrackingReport.class);
+        }
+
+        _reader = mapper.readerFor(type);
+        _converter = factory.responseBodyConverter(type, new Annotation[0], null);
+    }
+
+    @Benchmark
+    public Object charStream() throws IOException {
+        ResponseBody body = ResponseBody.create(JSON, _body);
+        try {
+            return _reader.readValue(body.charStream());
+        } finally {
+            body.close();
+        }
+    }
+
+    @Benchmark
+    public Object byteStream() throws IOException {
+        return _converter.convert(ResponseBody.create(JSON, _body));
+    }
+}
@@ -0,0 +1,78 @@
+package com.constantcontact.v2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Receives measurements of the calls made through the SDK, to be bridged to a metrics library such as Micrometer or
+ * Dropwizard Metrics. Every method does nothing by default, so implementations override the ones they record.
+ * <p>
+ * Calls are identified by their method and route, the path with IDs replaced by {@code {id}}, e.g.
+ * {@code v2/emailmarketing/campaigns/{id}/tracking/opens}, which keeps the number of distinct routes small. Time is
+ * measured with {@link System#nanoTime()}. Methods are called from the threads making the calls, so they must be
+ * thread-safe and fast.
+ * <p>
+ * Register an instance with {@link DefaultOkHttpClientBuilderFactory#setApiMetrics(ApiMetrics)} for the HTTP
+ * measurements and with {@link DefaultRetrofitBuilderFactory#create(String, ObjectMapper, ApiMetrics)} for
+ * the parsing time.
+ */
+public abstract class ApiMetrics {
+    /**
+     * Called when the response headers of a request arrive. Requests that are retried report each attempt.
+     *
+     * @param method       the HTTP method
+     * @param route        the route
+     * @param code         the status code
+     * @param requestBytes the size of the request body, 0 if there is none or -1 if unknown
+     * @param latencyNanos the time from sending the request to receiving the headers, the network and server time
+     */
+    public void onResponse(String method, String route, int code, long requestBytes, long latencyNanos) {
+    }
+
+    /**
+     * Called once a response body has been read to the end or closed.
+     *
+     * @param method        the HTTP method
+     * @param route         the route
+     * @param code          the status code
+     * @param responseBytes the number of body bytes read, after decompression
+     * @param durationNanos the time from receiving the headers to the end of the body, which includes parsing when
+     *                      the body is parsed as it is read
+     */
+    public void onResponseBody(String method, String route, int code, long responseBytes, long durationNanos) {
+    }
+
+    /**
+     * Called when a request fails without a response, e.g. with a timeout.
+     *
+     * @param method       the HTTP method
+     * @param route        the route
+     * @param failure      the network error
+     * @param latencyNanos the time from sending the request to the failure
+     */
+    public void onFailure(String method, String route, IOException failure, long latencyNanos) {
+    }
+
+    /**
+     * Called before a request is retried by the {@link RetryInterceptor}.
+     *
+     * @param method the HTTP method
+     * @param route  the route
+     * @param retry  the number of the retry, starting at 1
+     * @param code   the status code of the failed attempt, or -1 if it failed with a network error
+     */
+    public void onRetry(String method, String route, int retry, int code) {
+    }
+
+    /**
+     * Called when a response body has been converted to an object.
+     *
+     * @param type          the type of the object
+     * @param durationNanos the time spent converting, including reading the rest of the body from the network
+     * @param success       {@code false} if the body could not be converted
+     */
+    public void onParse(Type type, long durationNanos, boolean success) {
+    }
+}
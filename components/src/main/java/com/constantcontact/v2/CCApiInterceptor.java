@@ -19,19 +19,27 @@ class CCApiInterceptor implements Interceptor {
 
         @Override
         public Response intercept(Chain chain) throws IOException {
-            final Request originalRequest = chain.request();
+            return chain.proceed(authorize(chain.request(), _apiKey, _token));
+        }
+
+        /**
+         * Adds the api key and the token, as well as the headers required by the API, to a request.
+         *
+         * @param originalRequest the request
+         * @param apiKey          the api key
+         * @param token           the oauth2 token
+         * @return the authorized request
+         */
+        static Request authorize(Request originalRequest, String apiKey, String token) {
             final HttpUrl originalUrl = originalRequest.url();
 
-            final HttpUrl newUrl = originalUrl.newBuilder().addQueryParameter("api_key", _apiKey).build();
-            final Request
-                    newRequest =
-                    originalRequest.newBuilder()
-                                   .url(newUrl)
-                                   .addHeader("Authorization", "Bearer " + _token)
-                                   .addHeader("Content-Type", "application/json")
-                                   .addHeader("User-Agent",
-                                              "Constant Contact Java Library v5.1.6") // TODO: Add version # dynamically
-                                   .build();
-            return chain.proceed(newRequest);
+            final HttpUrl newUrl = originalUrl.newBuilder().addQueryParameter("api_key", apiKey).build();
+            return originalRequest.newBuilder()
+                                  .url(newUrl)
+                                  .addHeader("Authorization", "Bearer " + token)
+                                  .addHeader("Content-Type", "application/json")
+                                  .addHeader("User-Agent",
+                                             "Constant Contact Java Library v5.1.6") // TODO: Add version # dynamically
+                                  .build();
         }
     }
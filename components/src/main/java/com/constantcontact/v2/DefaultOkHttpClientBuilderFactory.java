@@ -1,5 +1,8 @@
 package com.constantcontact.v2;
 
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 
@@ -9,22 +12,176 @@ import java.util.concurrent.TimeUnit;
 /**
  */
 public class DefaultOkHttpClientBuilderFactory {
+    private RateLimiter _rateLimiter;
+
+    private RetryPolicy _retryPolicy;
+
+    private HttpClientSettings _httpClientSettings = HttpClientSettings.defaults();
+
+    private ConnectionPool _connectionPool;
+
+    private Dispatcher _dispatcher;
+
+    private Cache _cache;
+
+    private ResponseCache _responseCache;
+
+    private ApiMetrics _apiMetrics;
 
     @Inject
     public DefaultOkHttpClientBuilderFactory() {
     }
 
+    public RateLimiter getRateLimiter() {
+        return _rateLimiter;
+    }
+
+    /**
+     * Sets a rate limiter applied to every client created by this factory, e.g. a {@link TokenBucketRateLimiter}.
+     * Since the limiter is shared, its limits apply across all of those clients.
+     *
+     * @param rateLimiter the rate limiter, or {@code null} for none
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        _rateLimiter = rateLimiter;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return _retryPolicy;
+    }
+
+    /**
+     * Sets the policy used to retry idempotent requests that fail with a network error or a transient status, see
+     * {@link RetryInterceptor}. Retries are rate limited like any other request.
+     *
+     * @param retryPolicy the retry policy, or {@code null} to not retry
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        _retryPolicy = retryPolicy;
+    }
+
+    public synchronized HttpClientSettings getHttpClientSettings() {
+        return _httpClientSettings;
+    }
+
+    /**
+     * Sets the connection pool, dispatcher, protocol and timeout settings, e.g.
+     * {@link HttpClientSettings#highThroughput()}. Clients created by this factory share one connection pool and one
+     * dispatcher, so the limits apply across all of them; clients created before this call keep the previous ones.
+     *
+     * @param httpClientSettings the settings
+     */
+    public synchronized void setHttpClientSettings(HttpClientSettings httpClientSettings) {
+        _httpClientSettings = httpClientSettings;
+        _connectionPool = null;
+        _dispatcher = null;
+        _cache = null;
+    }
+
+    public synchronized ResponseCache getResponseCache() {
+        return _responseCache;
+    }
+
+    /**
+     * Sets an in-memory cache for GET responses of slowly changing endpoints, e.g. {@link ResponseCache#defaults()}.
+     * Cache hits skip retries and rate limiting. Since the cache is shared, clients created by this factory share
+     * its size limit, but never each other's entries.
+     *
+     * @param responseCache the cache, or {@code null} for none
+     */
+    public synchronized void setResponseCache(ResponseCache responseCache) {
+        _responseCache = responseCache;
+    }
+
+    public ApiMetrics getApiMetrics() {
+        return _apiMetrics;
+    }
+
+    /**
+     * Sets the metrics receiving the latency, status, size and retries of every request made by the clients created
+     * by this factory, see {@link MetricsInterceptor}.
+     *
+     * @param apiMetrics the metrics, or {@code null} for none
+     */
+    public void setApiMetrics(ApiMetrics apiMetrics) {
+        _apiMetrics = apiMetrics;
+    }
+
     public OkHttpClient.Builder create(String apiKey, String token) {
         return create(apiKey, token, HttpLoggingInterceptor.Level.NONE);
     }
 
     public OkHttpClient.Builder create(String apiKey, String token, HttpLoggingInterceptor.Level loggingLevel) {
-        OkHttpClient.Builder
-                builder =
-                new OkHttpClient().newBuilder()
-                        .readTimeout(10, TimeUnit.SECONDS)
-                        .connectTimeout(5, TimeUnit.SECONDS)
-                        .addInterceptor(new CCApiInterceptor(apiKey, token));
+        return newBuilder(new CCApiInterceptor(apiKey, token), loggingLevel);
+    }
+
+    /**
+     * Creates a builder for a client shared by many accounts. The client doesn't add any credentials itself, so it
+     * must be used through a {@link TenantCallFactory}, which authorizes each call for the current account.
+     *
+     * @return a builder for a shared client
+     */
+    public OkHttpClient.Builder createShared() {
+        return createShared(HttpLoggingInterceptor.Level.NONE);
+    }
+
+    /**
+     * Creates a builder for a client shared by many accounts, see {@link #createShared()}.
+     *
+     * @param loggingLevel the logging level
+     * @return a builder for a shared client
+     */
+    public OkHttpClient.Builder createShared(HttpLoggingInterceptor.Level loggingLevel) {
+        return newBuilder(null, loggingLevel);
+    }
+
+    private OkHttpClient.Builder newBuilder(CCApiInterceptor apiInterceptor,
+                                            HttpLoggingInterceptor.Level loggingLevel) {
+        OkHttpClient.Builder builder;
+        synchronized (this) {
+            if (_connectionPool == null) {
+                _connectionPool = new ConnectionPool(_httpClientSettings.getMaxIdleConnections(),
+                                                     _httpClientSettings.getKeepAliveMillis(), TimeUnit.MILLISECONDS);
+                _dispatcher = new Dispatcher();
+                _dispatcher.setMaxRequests(_httpClientSettings.getMaxRequests());
+                _dispatcher.setMaxRequestsPerHost(_httpClientSettings.getMaxRequestsPerHost());
+                if (_httpClientSettings.getCacheDirectory() != null) {
+                    _cache = new Cache(_httpClientSettings.getCacheDirectory(), _httpClientSettings.getCacheMaxBytes());
+                }
+            }
+
+            builder = new OkHttpClient().newBuilder()
+                    .readTimeout(_httpClientSettings.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .connectTimeout(_httpClientSettings.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .writeTimeout(_httpClientSettings.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .protocols(_httpClientSettings.getProtocols())
+                    .connectionPool(_connectionPool)
+                    .dispatcher(_dispatcher)
+                    .cache(_cache);
+        }
+
+        if (apiInterceptor != null) {
+            builder.addInterceptor(apiInterceptor);
+        }
+
+        ResponseCache responseCache = getResponseCache();
+        if (responseCache != null) {
+            builder.addInterceptor(new ResponseCacheInterceptor(responseCache));
+        }
+
+        MetricsInterceptor metricsInterceptor = _apiMetrics != null ? new MetricsInterceptor(_apiMetrics) : null;
+
+        if (_retryPolicy != null) {
+            builder.addInterceptor(new RetryInterceptor(_retryPolicy, metricsInterceptor));
+        }
+
+        if (_rateLimiter != null) {
+            builder.addInterceptor(new RateLimitingInterceptor(_rateLimiter));
+        }
+
+        if (metricsInterceptor != null) {
+            builder.addInterceptor(metricsInterceptor);
+        }
 
         if (loggingLevel != HttpLoggingInterceptor.Level.NONE) {
             HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
@@ -58,9 +58,22 @@ public class DefaultRetrofitBuilderFactory {
      * @return a builder instance initialized for use with service classes
      */
     public Retrofit.Builder create(String baseUrl, ObjectMapper objectMapper) {
+        return create(baseUrl, objectMapper, null);
+    }
+
+    /**
+     * Creates a new builder instance with the provided base url. Initialized with a Jackson JSON converter using the
+     * provided object mapper, which reports the time spent converting each response to the metrics.
+     *
+     * @param baseUrl      the base url
+     * @param objectMapper the object mapper
+     * @param metrics      the metrics, or {@code null} for none
+     * @return a builder instance initialized for use with service classes
+     */
+    public Retrofit.Builder create(String baseUrl, ObjectMapper objectMapper, ApiMetrics metrics) {
         return new Retrofit.Builder()
                 .baseUrl(baseUrl)
                 .client(_okHttpClient)
-                .addConverterFactory(JacksonConverterFactory.create(objectMapper));
+                .addConverterFactory(JacksonConverterFactory.create(objectMapper, metrics));
     }
 }
@@ -0,0 +1,105 @@
+package com.constantcontact.v2;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A request body streaming a file from disk, e.g. the {@code data} part of a Library upload.
+ * <p>
+ * Unlike {@link RequestBody#create(MediaType, java.io.File)}, it never holds more than a few segments of the file in
+ * memory, whatever the file's size, and it reports its progress every 64 KiB. The file is read one segment at a time
+ * straight into the connection's buffer, and its size is read when the body is created, so the request is sent with
+ * a {@code Content-Length} rather than chunked. The file is opened again each time the body is written, so requests
+ * using it can be retried.
+ */
+public final class FileRequestBody extends RequestBody {
+    static final long SEGMENT_SIZE = 8192;
+
+    static final long PROGRESS_INTERVAL = 64 * 1024;
+
+    private final MediaType _contentType;
+
+    private final Path _path;
+
+    private final long _contentLength;
+
+    private final UploadProgressListener _progressListener;
+
+    private FileRequestBody(MediaType contentType, Path path, long contentLength,
+                            UploadProgressListener progressListener) {
+        _contentType = contentType;
+        _path = path;
+        _contentLength = contentLength;
+        _progressListener = progressListener;
+    }
+
+    /**
+     * Creates a body streaming the given file.
+     *
+     * @param contentType the media type of the file, or {@code null}
+     * @param path        the file
+     * @return the body
+     * @throws IOException if the size of the file can't be read
+     */
+    public static FileRequestBody create(MediaType contentType, Path path) throws IOException {
+        return create(contentType, path, null);
+    }
+
+    /**
+     * Creates a body streaming the given file, reporting its progress.
+     *
+     * @param contentType      the media type of the file, or {@code null}
+     * @param path             the file
+     * @param progressListener the listener, or {@code null}
+     * @return the body
+     * @throws IOException if the size of the file can't be read
+     */
+    public static FileRequestBody create(MediaType contentType, Path path, UploadProgressListener progressListener)
+            throws IOException {
+        return new FileRequestBody(contentType, path, Files.size(path), progressListener);
+    }
+
+    public Path getPath() {
+        return _path;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return _contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return _contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        long bytesWritten = 0;
+        long bytesReported = 0;
+        try (Source source = Okio.source(_path)) {
+            long read;
+            while ((read = source.read(sink.buffer(), SEGMENT_SIZE)) != -1) {
+                bytesWritten += read;
+                sink.emitCompleteSegments();
+                if (_progressListener != null
+                    && (bytesWritten - bytesReported >= PROGRESS_INTERVAL || bytesWritten == _contentLength)) {
+                    bytesReported = bytesWritten;
+                    _progressListener.onProgress(bytesWritten, _contentLength);
+                }
+            }
+        }
+
+        if (bytesWritten != _contentLength) {
+            throw new IOException("File " + _path + " changed during upload, expected " + _contentLength
+                                  + " bytes but read " + bytesWritten);
+        }
+    }
+}
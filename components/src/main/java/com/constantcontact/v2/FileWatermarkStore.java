@@ -0,0 +1,129 @@
+package com.constantcontact.v2;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * A {@link WatermarkStore} kept in a properties file. Every save rewrites the file through a temporary file that is
+ * then renamed over it, so the file always holds a complete set of watermarks. Watermarks are few and small, so the
+ * whole file is kept in memory.
+ */
+public class FileWatermarkStore implements WatermarkStore {
+    private static final String CREATED_SINCE = ".created_since";
+
+    private static final String PENDING_SINCE = ".pending_since";
+
+    private static final String NEXT_LINK = ".next_link";
+
+    private final File _file;
+
+    private Properties _properties;
+
+    /**
+     * Creates an instance. The file is read on first use and created on first save.
+     *
+     * @param file the properties file
+     */
+    public FileWatermarkStore(File file) {
+        _file = file;
+    }
+
+    @Override
+    public synchronized Watermark load(String key) throws IOException {
+        Properties properties = properties();
+        Date createdSince = date(properties.getProperty(key + CREATED_SINCE));
+        Date pendingSince = date(properties.getProperty(key + PENDING_SINCE));
+        String nextLink = properties.getProperty(key + NEXT_LINK);
+        if (createdSince == null && pendingSince == null && nextLink == null) {
+            return null;
+        }
+        return new Watermark(createdSince, pendingSince, nextLink);
+    }
+
+    @Override
+    public synchronized void save(String key, Watermark watermark) throws IOException {
+        Properties properties = (Properties) properties().clone();
+        put(properties, key + CREATED_SINCE, watermark.getCreatedSince());
+        put(properties, key + PENDING_SINCE, watermark.getPendingSince());
+        if (watermark.getNextLink() != null) {
+            properties.setProperty(key + NEXT_LINK, watermark.getNextLink());
+        } else {
+            properties.remove(key + NEXT_LINK);
+        }
+        write(properties);
+    }
+
+    @Override
+    public synchronized void remove(String key) throws IOException {
+        Properties properties = (Properties) properties().clone();
+        properties.remove(key + CREATED_SINCE);
+        properties.remove(key + PENDING_SINCE);
+        properties.remove(key + NEXT_LINK);
+        write(properties);
+    }
+
+    private Properties properties() throws IOException {
+        if (_properties == null) {
+            Properties properties = new Properties();
+            if (_file.exists()) {
+                try (InputStream in = new FileInputStream(_file)) {
+                    properties.load(in);
+                }
+            }
+            _properties = properties;
+        }
+        return _properties;
+    }
+
+    private void write(Properties properties) throws IOException {
+        File directory = _file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        File temp = File.createTempFile(_file.getName(), ".tmp", directory);
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                properties.store(out, "Constant Contact sync watermarks");
+                out.getFD().sync();
+            }
+            try {
+                Files.move(temp.toPath(), _file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), _file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+        // Only replace the cached copy once the file holds it
+        _properties = properties;
+    }
+
+    private static void put(Properties properties, String key, Date date) {
+        if (date != null) {
+            properties.setProperty(key, Long.toString(date.getTime()));
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    private static Date date(String value) throws IOException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new Date(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid watermark date: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.constantcontact.v2;
+
+import okhttp3.Protocol;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Connection pool, dispatcher, protocol and timeout settings used by {@link DefaultOkHttpClientBuilderFactory}.
+ * <p>
+ * {@link #defaults()} matches OkHttp's own defaults, notably a limit of 5 concurrent requests per host, which is the
+ * effective limit on concurrent calls to the API. {@link #highThroughput()} raises those limits for a client shared
+ * by many threads, and should usually be combined with a {@link RateLimiter} to stay within the API's rate limits.
+ */
+public class HttpClientSettings {
+    private long _connectTimeoutMillis = 5000;
+
+    private long _readTimeoutMillis = 10000;
+
+    private long _writeTimeoutMillis = 10000;
+
+    private int _maxIdleConnections = 5;
+
+    private long _keepAliveMillis = 5 * 60 * 1000;
+
+    private int _maxRequests = 64;
+
+    private int _maxRequestsPerHost = 5;
+
+    private List<Protocol> _protocols = Collections.unmodifiableList(Arrays.asList(Protocol.HTTP_2,
+                                                                                   Protocol.HTTP_1_1));
+
+    private File _cacheDirectory;
+
+    private long _cacheMaxBytes = 10 * 1024 * 1024;
+
+    public HttpClientSettings() {
+    }
+
+    /**
+     * @return the settings used when none are given, 5 requests per host and 5 idle connections
+     */
+    public static HttpClientSettings defaults() {
+        return new HttpClientSettings();
+    }
+
+    /**
+     * @return settings for a client shared by many threads, 64 requests per host and 32 idle connections
+     */
+    public static HttpClientSettings highThroughput() {
+        HttpClientSettings settings = new HttpClientSettings();
+        settings.setMaxRequests(256);
+        settings.setMaxRequestsPerHost(64);
+        settings.setMaxIdleConnections(32);
+        settings.setReadTimeoutMillis(30000);
+        return settings;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return _connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        _connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return _readTimeoutMillis;
+    }
+
+    public void setReadTimeoutMillis(long readTimeoutMillis) {
+        _readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public long getWriteTimeoutMillis() {
+        return _writeTimeoutMillis;
+    }
+
+    public void setWriteTimeoutMillis(long writeTimeoutMillis) {
+        _writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    public int getMaxIdleConnections() {
+        return _maxIdleConnections;
+    }
+
+    /**
+     * Sets the number of idle connections kept open for reuse.
+     *
+     * @param maxIdleConnections the number of connections
+     */
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        _maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return _keepAliveMillis;
+    }
+
+    /**
+     * Sets how long an idle connection is kept open.
+     *
+     * @param keepAliveMillis the duration in milliseconds
+     */
+    public void setKeepAliveMillis(long keepAliveMillis) {
+        _keepAliveMillis = keepAliveMillis;
+    }
+
+    public int getMaxRequests() {
+        return _maxRequests;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous calls run at once. Synchronous calls are not limited.
+     *
+     * @param maxRequests the number of calls
+     */
+    public void setMaxRequests(int maxRequests) {
+        _maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return _maxRequestsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous calls run at once against a single host. Synchronous calls are not
+     * limited.
+     *
+     * @param maxRequestsPerHost the number of calls
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        _maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public List<Protocol> getProtocols() {
+        return _protocols;
+    }
+
+    /**
+     * Sets the protocols to negotiate, in order of preference. Must include {@link Protocol#HTTP_1_1}; HTTP/2 is only
+     * used when the JVM supports ALPN.
+     *
+     * @param protocols the protocols
+     */
+    public void setProtocols(List<Protocol> protocols) {
+        if (!protocols.contains(Protocol.HTTP_1_1)) {
+            throw new IllegalArgumentException("protocols doesn't contain http/1.1: " + protocols);
+        }
+        _protocols = Collections.unmodifiableList(new ArrayList<>(protocols));
+    }
+
+    public File getCacheDirectory() {
+        return _cacheDirectory;
+    }
+
+    /**
+     * Sets the directory of OkHttp's HTTP cache, which honors the {@code Cache-Control} and validators sent by the
+     * server. For endpoints the server doesn't mark as cacheable, see {@link ResponseCache}.
+     *
+     * @param cacheDirectory the directory, used by a single client factory at a time, or {@code null} for no cache
+     */
+    public void setCacheDirectory(File cacheDirectory) {
+        _cacheDirectory = cacheDirectory;
+    }
+
+    public long getCacheMaxBytes() {
+        return _cacheMaxBytes;
+    }
+
+    /**
+     * Sets the maximum size of OkHttp's HTTP cache.
+     *
+     * @param cacheMaxBytes the size in bytes
+     */
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        _cacheMaxBytes = cacheMaxBytes;
+    }
+}
@@ -0,0 +1,160 @@
+package com.constantcontact.v2;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reports the latency, status and size of each request to an {@link ApiMetrics}. Added after the
+ * {@link RetryInterceptor} and {@link RateLimitingInterceptor}, so each attempt is measured on its own and time spent
+ * waiting for a retry or for the rate limiter isn't. Also a {@link RetryListener}, to count the retries.
+ */
+public class MetricsInterceptor implements Interceptor, RetryListener {
+    private final ApiMetrics _metrics;
+
+    public MetricsInterceptor(ApiMetrics metrics) {
+        _metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = request.method();
+        String route = route(request.url());
+        long requestBytes = request.body() != null ? request.body().contentLength() : 0;
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            _metrics.onFailure(method, route, e, System.nanoTime() - start);
+            throw e;
+        }
+        long headers = System.nanoTime();
+        _metrics.onResponse(method, route, response.code(), requestBytes, headers - start);
+
+        if (response.body() == null) {
+            return response;
+        }
+        return response.newBuilder()
+                       .body(new CountingResponseBody(response.body(), method, route, response.code(), headers))
+                       .build();
+    }
+
+    @Override
+    public void onRetry(Request request, int retry, int code, IOException failure, long delayMillis) {
+        _metrics.onRetry(request.method(), route(request.url()), retry, code);
+    }
+
+    /**
+     * Gets the route of a URL, its path with every segment containing a digit, other than the API version, replaced
+     * by {@code {id}}. Every ID used by the API contains digits, while no fixed path segment does.
+     *
+     * @param url the URL
+     * @return the route, e.g. {@code v2/lists/{id}/contacts}
+     */
+    static String route(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        StringBuilder route = new StringBuilder(url.encodedPath().length());
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.isEmpty() && i == segments.size() - 1) {
+                break;
+            }
+            if (i > 0) {
+                route.append('/');
+            }
+            route.append(i > 0 && containsDigit(segment) ? "{id}" : segment);
+        }
+        return route.toString();
+    }
+
+    private static boolean containsDigit(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the bytes read from a response body, reporting them once the body is exhausted or closed.
+     */
+    private final class CountingResponseBody extends ResponseBody {
+        private final ResponseBody _delegate;
+
+        private final BufferedSource _source;
+
+        private final String _method;
+
+        private final String _route;
+
+        private final int _code;
+
+        private final long _headersNanos;
+
+        private long _bytes;
+
+        private boolean _reported;
+
+        CountingResponseBody(ResponseBody delegate, String method, String route, int code, long headersNanos) {
+            _delegate = delegate;
+            _method = method;
+            _route = route;
+            _code = code;
+            _headersNanos = headersNanos;
+            _source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        report();
+                    } else {
+                        _bytes += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    report();
+                    super.close();
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return _delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return _delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return _source;
+        }
+
+        private void report() {
+            if (!_reported) {
+                _reported = true;
+                _metrics.onResponseBody(_method, _route, _code, _bytes, System.nanoTime() - _headersNanos);
+            }
+        }
+    }
+}
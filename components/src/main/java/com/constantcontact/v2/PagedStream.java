@@ -0,0 +1,26 @@
+package com.constantcontact.v2;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * A page of results that is parsed incrementally while the response body is read, instead of being materialized as a
+ * whole. Each result is parsed when {@link #next()} is called, so only one result is held in memory at a time.
+ * <p>
+ * The stream holds the open response body and must be closed, unless it has been iterated to the end, in which case
+ * it closes itself. Read and parse failures are reported by throwing a {@link PagedStreamException}.
+ *
+ * @param <T> the type of the results
+ */
+public interface PagedStream<T> extends Iterator<T>, Closeable {
+    /**
+     * Gets the link of the following page, in the same format as {@code Paged.getNextLink()}.
+     * <p>
+     * If the page's metadata follows its results in the response body, any results that have not been iterated yet
+     * are skipped in order to read it.
+     *
+     * @return the next link, or {@code null} if this is the last page
+     * @throws PagedStreamException if the stream was closed before the metadata was read
+     */
+    String getNextLink();
+}
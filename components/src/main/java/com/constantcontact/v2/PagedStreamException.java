@@ -0,0 +1,24 @@
+package com.constantcontact.v2;
+
+/**
+ * Thrown by a {@link PagedStream} when the response body could not be read or parsed.
+ */
+public class PagedStreamException extends RuntimeException {
+    /**
+     * Creates an instance.
+     *
+     * @param message the description of the failure
+     */
+    public PagedStreamException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param cause the underlying failure
+     */
+    public PagedStreamException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -1,11 +1,12 @@
 package com.constantcontact.v2;
 
-import java.util.Date;
+import com.constantcontact.v2.converter.jackson.Iso8601DateFormatter;
 
-import static com.constantcontact.v2.converter.jackson.JacksonConverterFactory.ISO_8601_DATE_FORMAT;
+import java.util.Date;
 
 /**
- * A date wrapper to Constant Contact API specific ISO-8601 date format for query parameters.
+ * A date wrapper to Constant Contact API specific ISO-8601 date format for query parameters. Formatting is
+ * thread-safe, see {@link Iso8601DateFormatter}.
  */
 public class QueryDate {
     private final Date date;
@@ -24,6 +25,6 @@ public class QueryDate {
 
     @Override
     public String toString() {
-        return ISO_8601_DATE_FORMAT.format(date);
+        return Iso8601DateFormatter.format(date);
     }
 }
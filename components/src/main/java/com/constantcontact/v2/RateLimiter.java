@@ -0,0 +1,24 @@
+package com.constantcontact.v2;
+
+/**
+ * Paces requests on the client side. Used by {@link RateLimitingInterceptor}, which calls {@link #acquire(String)}
+ * before each request and {@link #release(String)} once its response has been received.
+ *
+ * @see TokenBucketRateLimiter
+ */
+public interface RateLimiter {
+    /**
+     * Blocks until a request may be sent.
+     *
+     * @param key identifies whose limits apply, the API key for requests made through {@link RateLimitingInterceptor}
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void acquire(String key) throws InterruptedException;
+
+    /**
+     * Signals that a request admitted by {@link #acquire(String)} has completed.
+     *
+     * @param key the key passed to {@link #acquire(String)}
+     */
+    void release(String key);
+}
@@ -0,0 +1,40 @@
+package com.constantcontact.v2;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * Applies a {@link RateLimiter} to every request, keyed by the request's {@code api_key} query parameter. It must be
+ * added after the interceptor that sets the API key, which {@link DefaultOkHttpClientBuilderFactory} takes care of.
+ */
+public class RateLimitingInterceptor implements Interceptor {
+    private final RateLimiter _rateLimiter;
+
+    public RateLimitingInterceptor(RateLimiter rateLimiter) {
+        _rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String apiKey = request.url().queryParameter("api_key");
+        String key = apiKey != null ? apiKey : "";
+
+        try {
+            _rateLimiter.acquire(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+        }
+
+        try {
+            return chain.proceed(request);
+        } finally {
+            _rateLimiter.release(key);
+        }
+    }
+}
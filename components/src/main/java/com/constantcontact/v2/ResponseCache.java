@@ -0,0 +1,308 @@
+package com.constantcontact.v2;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory cache of GET responses from endpoints that rarely change, used by {@link ResponseCacheInterceptor}.
+ * Only endpoints matching a rule are cached, each for the rule's time to live; {@link #defaults()} covers account
+ * information, contact lists, library information and folders, and single campaigns. Once an entry expires it is
+ * revalidated with {@code If-None-Match} or {@code If-Modified-Since} when the response had an {@code ETag} or
+ * {@code Last-Modified}, and refetched otherwise.
+ * <p>
+ * Entries are keyed by URL, which includes the api key, and by a hash of the token, so accounts never share entries.
+ * The least recently used entries are evicted to stay within the size limit. A PUT, POST or DELETE evicts the entries
+ * of its resource and of the collections above it, e.g. a PUT to {@code v2/lists/1} evicts {@code v2/lists}, even
+ * when the call fails, and responses to GETs started before it aren't cached; other changes, such as a new contact
+ * changing a list's contact count, show once the entry expires.
+ */
+public class ResponseCache {
+    public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private final long _maxBytes;
+
+    private final long _maxEntryBytes;
+
+    private final List<Rule> _rules = new CopyOnWriteArrayList<>();
+
+    private final LinkedHashMap<String, Entry> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long _bytes;
+
+    private long _generation;
+
+    private long _hitCount;
+
+    private long _missCount;
+
+    private long _revalidationCount;
+
+    private long _evictionCount;
+
+    /**
+     * Creates a cache without rules.
+     *
+     * @param maxBytes      the maximum total size of the cached bodies and headers
+     * @param maxEntryBytes the maximum size of a single body; larger responses aren't cached
+     */
+    public ResponseCache(long maxBytes, long maxEntryBytes) {
+        _maxBytes = maxBytes;
+        _maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * @return a cache of {@link #DEFAULT_MAX_BYTES} with rules for the slowly changing endpoints
+     */
+    public static ResponseCache defaults() {
+        ResponseCache cache = new ResponseCache(DEFAULT_MAX_BYTES, DEFAULT_MAX_ENTRY_BYTES);
+        cache.addRule("v2/account/info", 5, TimeUnit.MINUTES);
+        cache.addRule("v2/account/verifiedemailaddresses", 5, TimeUnit.MINUTES);
+        cache.addRule("v2/lists", 1, TimeUnit.MINUTES);
+        cache.addRule("v2/lists/{listId}", 1, TimeUnit.MINUTES);
+        cache.addRule("v2/library/info", 5, TimeUnit.MINUTES);
+        cache.addRule("v2/library/folders", 1, TimeUnit.MINUTES);
+        cache.addRule("v2/library/folders/{folderId}", 1, TimeUnit.MINUTES);
+        cache.addRule("v2/emailmarketing/campaigns/{campaignId}", 1, TimeUnit.MINUTES);
+        return cache;
+    }
+
+    /**
+     * Caches the responses of an endpoint. The first matching rule applies.
+     *
+     * @param path     the path, as in the service annotations, where segments in braces match any value, e.g.
+     *                 {@code "v2/lists/{listId}"}
+     * @param duration how long responses are served without revalidation
+     * @param unit     the unit of the duration
+     */
+    public void addRule(String path, long duration, TimeUnit unit) {
+        StringBuilder regex = new StringBuilder("/");
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (regex.length() > 1) {
+                regex.append('/');
+            }
+            regex.append(segment.startsWith("{") && segment.endsWith("}") ? "[^/]+" : Pattern.quote(segment));
+        }
+        _rules.add(new Rule(Pattern.compile(regex.toString()), unit.toMillis(duration)));
+    }
+
+    public long getMaxEntryBytes() {
+        return _maxEntryBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return _hitCount;
+    }
+
+    /**
+     * @return the number of cacheable responses fetched because no entry could be served or revalidated
+     */
+    public synchronized long getMissCount() {
+        return _missCount;
+    }
+
+    /**
+     * @return the number of expired entries the server confirmed unchanged
+     */
+    public synchronized long getRevalidationCount() {
+        return _revalidationCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return _evictionCount;
+    }
+
+    /**
+     * @return the total size of the entries
+     */
+    public synchronized long getSize() {
+        return _bytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return _entries.size();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void clear() {
+        _generation++;
+        _entries.clear();
+        _bytes = 0;
+    }
+
+    /**
+     * @return how long responses of the URL are cached, or -1 if they aren't
+     */
+    long ttlMillis(HttpUrl url) {
+        String path = url.encodedPath();
+        for (Rule rule : _rules) {
+            if (rule._pattern.matcher(path).matches()) {
+                return rule._ttlMillis;
+            }
+        }
+        return -1;
+    }
+
+    synchronized Entry get(String key) {
+        return _entries.get(key);
+    }
+
+    synchronized long getGeneration() {
+        return _generation;
+    }
+
+    /**
+     * Caches a response that was read, unless an invalidation happened since the read started, as the response may
+     * be stale.
+     */
+    synchronized void put(String key, Entry entry, long generation) {
+        if (generation != _generation) {
+            return;
+        }
+        Entry previous = _entries.put(key, entry);
+        if (previous != null) {
+            _bytes -= previous._size;
+        }
+        _bytes += entry._size;
+
+        Iterator<Entry> entries = _entries.values().iterator();
+        while (_bytes > _maxBytes && entries.hasNext()) {
+            _bytes -= entries.next()._size;
+            entries.remove();
+            _evictionCount++;
+        }
+    }
+
+    /**
+     * Removes the entries of a resource, of the resources below it and of the collections above it.
+     */
+    synchronized void invalidate(String path) {
+        _generation++;
+        Iterator<Entry> entries = _entries.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (related(entry._path, path)) {
+                _bytes -= entry._size;
+                entries.remove();
+            }
+        }
+    }
+
+    synchronized void recordHit() {
+        _hitCount++;
+    }
+
+    synchronized void recordMiss() {
+        _missCount++;
+    }
+
+    synchronized void recordRevalidation() {
+        _revalidationCount++;
+    }
+
+    private static boolean related(String lhs, String rhs) {
+        String shorter = lhs.length() <= rhs.length() ? lhs : rhs;
+        String longer = shorter == lhs ? rhs : lhs;
+        return longer.startsWith(shorter)
+                && (longer.length() == shorter.length() || longer.charAt(shorter.length()) == '/');
+    }
+
+    private static final class Rule {
+        private final Pattern _pattern;
+
+        private final long _ttlMillis;
+
+        Rule(Pattern pattern, long ttlMillis) {
+            _pattern = pattern;
+            _ttlMillis = ttlMillis;
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    static final class Entry {
+        private final String _path;
+
+        private final int _code;
+
+        private final String _message;
+
+        private final Headers _headers;
+
+        private final MediaType _contentType;
+
+        private final byte[] _body;
+
+        private final long _expiresAt;
+
+        private final long _size;
+
+        Entry(String path, Response response, MediaType contentType, byte[] body, long expiresAt) {
+            _path = path;
+            _code = response.code();
+            _message = response.message();
+            _headers = response.headers();
+            _contentType = contentType;
+            _body = body;
+            _expiresAt = expiresAt;
+            _size = body.length + _headers.toString().length() + path.length();
+        }
+
+        private Entry(Entry entry, long expiresAt) {
+            _path = entry._path;
+            _code = entry._code;
+            _message = entry._message;
+            _headers = entry._headers;
+            _contentType = entry._contentType;
+            _body = entry._body;
+            _expiresAt = expiresAt;
+            _size = entry._size;
+        }
+
+        boolean isFresh(long now) {
+            return now < _expiresAt;
+        }
+
+        String getETag() {
+            return _headers.get("ETag");
+        }
+
+        String getLastModified() {
+            return _headers.get("Last-Modified");
+        }
+
+        Entry withExpiry(long expiresAt) {
+            return new Entry(this, expiresAt);
+        }
+
+        Response toResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(_code)
+                    .message(_message)
+                    .headers(_headers)
+                    .body(ResponseBody.create(_contentType, _body))
+                    .build();
+        }
+    }
+}
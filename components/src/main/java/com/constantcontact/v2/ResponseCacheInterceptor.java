@@ -0,0 +1,99 @@
+package com.constantcontact.v2;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ByteString;
+
+import java.io.IOException;
+
+/**
+ * Serves GET responses from a {@link ResponseCache}, revalidating expired entries with conditional requests, and
+ * evicts entries on writes. Must come after the interceptor adding the credentials, since entries are keyed by them.
+ */
+public class ResponseCacheInterceptor implements Interceptor {
+    private final ResponseCache _cache;
+
+    public ResponseCacheInterceptor(ResponseCache cache) {
+        _cache = cache;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = request.method();
+        if (!"GET".equals(method)) {
+            try {
+                return chain.proceed(request);
+            } finally {
+                // Also when the call failed, as the write may have reached the server
+                if (!"HEAD".equals(method) && !"OPTIONS".equals(method)) {
+                    _cache.invalidate(request.url().encodedPath());
+                }
+            }
+        }
+
+        long ttl = _cache.ttlMillis(request.url());
+        if (ttl < 0 || request.header("If-None-Match") != null || request.header("If-Modified-Since") != null) {
+            return chain.proceed(request);
+        }
+
+        String key = key(request);
+        long generation = _cache.getGeneration();
+        ResponseCache.Entry entry = _cache.get(key);
+        if (entry != null && entry.isFresh(System.currentTimeMillis()) && !request.cacheControl().noCache()) {
+            _cache.recordHit();
+            return entry.toResponse(request);
+        }
+
+        Request forwarded = request;
+        if (entry != null && (entry.getETag() != null || entry.getLastModified() != null)) {
+            Request.Builder conditional = request.newBuilder();
+            if (entry.getETag() != null) {
+                conditional.header("If-None-Match", entry.getETag());
+            }
+            if (entry.getLastModified() != null) {
+                conditional.header("If-Modified-Since", entry.getLastModified());
+            }
+            forwarded = conditional.build();
+        }
+
+        Response response = chain.proceed(forwarded);
+        if (response.code() == 304 && forwarded != request) {
+            response.close();
+            ResponseCache.Entry refreshed = entry.withExpiry(System.currentTimeMillis() + ttl);
+            _cache.put(key, refreshed, generation);
+            _cache.recordRevalidation();
+            return refreshed.toResponse(request);
+        }
+
+        if (response.code() != 200 || response.cacheControl().noStore()) {
+            // Not a response the cache could have held, so not a miss
+            return response;
+        }
+        _cache.recordMiss();
+
+        ResponseBody body = response.body();
+        BufferedSource source = body.source();
+        if (body.contentLength() > _cache.getMaxEntryBytes() || source.request(_cache.getMaxEntryBytes() + 1)) {
+            // Too large to cache, what was read so far stays buffered for the caller
+            return response;
+        }
+        byte[] bytes = source.readByteArray();
+        body.close();
+
+        ResponseCache.Entry stored = new ResponseCache.Entry(request.url().encodedPath(), response,
+                                                             body.contentType(), bytes,
+                                                             System.currentTimeMillis() + ttl);
+        _cache.put(key, stored, generation);
+        return response.newBuilder().body(ResponseBody.create(body.contentType(), bytes)).build();
+    }
+
+    private static String key(Request request) {
+        String authorization = request.header("Authorization");
+        String account = authorization != null ? ByteString.encodeUtf8(authorization).sha256().hex() : "";
+        return request.url() + " " + account;
+    }
+}
@@ -0,0 +1,153 @@
+package com.constantcontact.v2;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Retries idempotent requests (GET, HEAD, OPTIONS, PUT and DELETE) that fail with a network error, such as a read
+ * timeout, or with a 408, 429, 500, 502, 503 or 504 response. Retries wait for the response's {@code Retry-After}
+ * if it has one, or else use jittered exponential backoff, and are limited by the {@link RetryPolicy} budget.
+ * Since {@code @Url} next page links are plain GETs, long paginations resume at the failed page.
+ */
+public class RetryInterceptor implements Interceptor {
+    private final RetryPolicy _policy;
+
+    private final RetryListener _listener;
+
+    private final Random _random = new Random();
+
+    private double _budget;
+
+    public RetryInterceptor(RetryPolicy policy) {
+        this(policy, null);
+    }
+
+    /**
+     * Creates an instance notifying a listener of the retries, in addition to the policy's own listener.
+     *
+     * @param policy   the retry policy
+     * @param listener the listener, or {@code null} for none
+     */
+    public RetryInterceptor(RetryPolicy policy, RetryListener listener) {
+        _policy = policy;
+        _listener = listener;
+        _budget = policy.getMaxBudget();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isIdempotent(request.method())) {
+            return chain.proceed(request);
+        }
+        deposit();
+
+        int retries = 0;
+        while (true) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+                if (!isRetryable(response.code())) {
+                    return response;
+                }
+            } catch (IOException e) {
+                // OkHttp reports a cancelled call this way, and retrying it would fail the same way
+                if ("Canceled".equals(e.getMessage())) {
+                    throw e;
+                }
+                failure = e;
+            }
+
+            long delay = response != null ? retryAfterMillis(response) : -1;
+            if (delay < 0) {
+                delay = backoffMillis(retries + 1);
+            }
+            if (retries >= _policy.getMaxRetries() || delay > _policy.getMaxDelayMillis() || !withdraw()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            int code = response != null ? response.code() : -1;
+            RetryListener listener = _policy.getRetryListener();
+            if (listener != null) {
+                listener.onRetry(request, retries + 1, code, failure, delay);
+            }
+            if (_listener != null) {
+                _listener.onRetry(request, retries + 1, code, failure, delay);
+            }
+            if (response != null) {
+                response.close();
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+            retries++;
+        }
+    }
+
+    private static boolean isIdempotent(String method) {
+        switch (method) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+            case "PUT":
+            case "DELETE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Reads {@code Retry-After}, which is either a number of seconds or an HTTP date.
+     *
+     * @return the delay in milliseconds, or -1 if the header is missing or invalid
+     */
+    private static long retryAfterMillis(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    private long backoffMillis(int retry) {
+        long ceiling = Math.min(_policy.getMaxDelayMillis(), _policy.getBaseDelayMillis() << Math.min(retry - 1, 20));
+        synchronized (_random) {
+            return (long) (_random.nextDouble() * ceiling);
+        }
+    }
+
+    private synchronized void deposit() {
+        _budget = Math.min(_policy.getMaxBudget(), _budget + _policy.getBudgetRatio());
+    }
+
+    private synchronized boolean withdraw() {
+        if (_budget < 1) {
+            return false;
+        }
+        _budget -= 1;
+        return true;
+    }
+}
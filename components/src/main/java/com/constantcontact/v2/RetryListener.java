@@ -0,0 +1,21 @@
+package com.constantcontact.v2;
+
+import okhttp3.Request;
+
+import java.io.IOException;
+
+/**
+ * Notified by {@link RetryInterceptor} before each retry, e.g. to count retries.
+ */
+public interface RetryListener {
+    /**
+     * Called before waiting to retry a request.
+     *
+     * @param request     the request being retried
+     * @param retry       the number of the retry, starting at 1
+     * @param code        the status code of the failed attempt, or -1 if it failed with a network error
+     * @param failure     the network error, or {@code null}
+     * @param delayMillis the time to wait before the retry
+     */
+    void onRetry(Request request, int retry, int code, IOException failure, long delayMillis);
+}
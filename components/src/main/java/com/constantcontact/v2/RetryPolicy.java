@@ -0,0 +1,105 @@
+package com.constantcontact.v2;
+
+/**
+ * Configures {@link RetryInterceptor}.
+ * <p>
+ * Retries are paid for from a budget: every request adds {@link #getBudgetRatio()} of a retry to it, up to
+ * {@link #getMaxBudget()}, and every retry takes one. When most requests fail, as during an outage, the budget runs
+ * out and failures are returned right away instead of multiplying the load on the API.
+ */
+public class RetryPolicy {
+    private int _maxRetries = 3;
+
+    private long _baseDelayMillis = 250;
+
+    private long _maxDelayMillis = 10000;
+
+    private double _budgetRatio = 0.2;
+
+    private int _maxBudget = 20;
+
+    private RetryListener _retryListener;
+
+    public RetryPolicy() {
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * Sets the maximum number of retries of a single request.
+     *
+     * @param maxRetries the number of retries
+     */
+    public void setMaxRetries(int maxRetries) {
+        _maxRetries = maxRetries;
+    }
+
+    public long getBaseDelayMillis() {
+        return _baseDelayMillis;
+    }
+
+    /**
+     * Sets the base of the exponential backoff. The delay before retry {@code n} is a random value between 0 and
+     * {@code baseDelayMillis * 2^(n - 1)}, capped at {@link #getMaxDelayMillis()}.
+     *
+     * @param baseDelayMillis the base delay in milliseconds
+     */
+    public void setBaseDelayMillis(long baseDelayMillis) {
+        _baseDelayMillis = baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return _maxDelayMillis;
+    }
+
+    /**
+     * Sets the longest delay before a retry. A {@code Retry-After} longer than this is not waited for, and the
+     * response is returned instead.
+     *
+     * @param maxDelayMillis the maximum delay in milliseconds
+     */
+    public void setMaxDelayMillis(long maxDelayMillis) {
+        _maxDelayMillis = maxDelayMillis;
+    }
+
+    public double getBudgetRatio() {
+        return _budgetRatio;
+    }
+
+    /**
+     * Sets the fraction of a retry earned by each request.
+     *
+     * @param budgetRatio the ratio, e.g. 0.2 to allow one retry per five requests
+     */
+    public void setBudgetRatio(double budgetRatio) {
+        _budgetRatio = budgetRatio;
+    }
+
+    public int getMaxBudget() {
+        return _maxBudget;
+    }
+
+    /**
+     * Sets the number of retries that can be saved up, which is also the initial budget.
+     *
+     * @param maxBudget the maximum budget
+     */
+    public void setMaxBudget(int maxBudget) {
+        _maxBudget = maxBudget;
+    }
+
+    public RetryListener getRetryListener() {
+        return _retryListener;
+    }
+
+    /**
+     * Sets a listener notified before each retry.
+     *
+     * @param retryListener the listener, or {@code null} for none
+     */
+    public void setRetryListener(RetryListener retryListener) {
+        _retryListener = retryListener;
+    }
+}
@@ -0,0 +1,137 @@
+package com.constantcontact.v2;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves the one-time costs of the first calls to startup: Retrofit parses the annotations of a service method, and
+ * Jackson introspects its models, the first time the method is invoked, and the first request to a host opens a
+ * connection to it.
+ */
+public final class ServiceWarmUp {
+    private ServiceWarmUp() {
+    }
+
+    /**
+     * Invokes every method of a service without executing the returned calls, so Retrofit validates each method and
+     * creates its request and response converters. Invalid methods fail here rather than on their first use.
+     *
+     * @param serviceInterface the service interface
+     * @param service          the service created by Retrofit for it
+     * @param <T>              the type of the service
+     * @return the number of methods
+     * @throws IllegalArgumentException if a method is invalid
+     */
+    public static <T> int createServiceMethods(Class<T> serviceInterface, T service) {
+        Method[] methods = serviceInterface.getMethods();
+        for (Method method : methods) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = defaultValue(parameterTypes[i]);
+            }
+            try {
+                // Arguments are only applied when a call builds its request, so placeholders are fine
+                method.invoke(service, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+        return methods.length;
+    }
+
+    /**
+     * Opens connections to the base URL of a Retrofit instance, which then stay in the client's connection pool until
+     * they have been idle for its keep alive duration. Each connection is opened by a {@code HEAD} request that
+     * bypasses the client's interceptors. Over HTTP/2 every request shares a single connection, and no more than the
+     * dispatcher's per host limit are opened at once.
+     *
+     * @param retrofit    the Retrofit instance, using an {@link OkHttpClient} or a {@link TenantCallFactory}
+     * @param connections the number of requests to make concurrently
+     * @throws IOException if a request fails
+     */
+    public static void preconnect(Retrofit retrofit, int connections) throws IOException {
+        Call.Factory callFactory = retrofit.callFactory();
+        OkHttpClient client;
+        if (callFactory instanceof TenantCallFactory) {
+            client = ((TenantCallFactory) callFactory).getClient();
+        } else if (callFactory instanceof OkHttpClient) {
+            client = (OkHttpClient) callFactory;
+        } else {
+            throw new IllegalArgumentException("Cannot preconnect with " + callFactory.getClass().getName());
+        }
+
+        // The new client shares the connection pool and dispatcher of the original one
+        OkHttpClient.Builder builder = client.newBuilder();
+        builder.interceptors().clear();
+        builder.networkInterceptors().clear();
+        OkHttpClient bareClient = builder.build();
+
+        Request request = new Request.Builder().url(retrofit.baseUrl()).head().build();
+        final CountDownLatch done = new CountDownLatch(connections);
+        final AtomicReference<IOException> failure = new AtomicReference<>();
+        for (int i = 0; i < connections; i++) {
+            bareClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    failure.compareAndSet(null, e);
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while opening connections");
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        }
+        return 0d;
+    }
+}
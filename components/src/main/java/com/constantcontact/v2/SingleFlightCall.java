@@ -0,0 +1,289 @@
+package com.constantcontact.v2;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A call that shares the request of an identical call in flight, see {@link SingleFlightCallAdapterFactory}.
+ */
+final class SingleFlightCall<T> implements Call<T> {
+    private final Call<T> _delegate;
+
+    private final Type _responseType;
+
+    private final ConcurrentMap<List<Object>, Flight<?>> _flights;
+
+    private boolean _executed;
+
+    private volatile boolean _canceled;
+
+    private volatile Flight<T> _joined;
+
+    private volatile Listener<T> _listener;
+
+    SingleFlightCall(Call<T> delegate, Type responseType, ConcurrentMap<List<Object>, Flight<?>> flights) {
+        _delegate = delegate;
+        _responseType = responseType;
+        _flights = flights;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+        List<Object> key = key();
+        Flight<T> flight = new Flight<>();
+        Flight<T> existing = join(key, flight);
+        if (existing != null) {
+            _joined = existing;
+            existing.await(this);
+            checkCanceled();
+            return existing.response();
+        }
+
+        Response<T> response = null;
+        Throwable failure = null;
+        try {
+            response = _delegate.execute();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            // Whatever the outcome, so that the calls waiting for this one never hang
+            _flights.remove(key, flight);
+            flight.complete(response, failure);
+        }
+        return flight.response();
+    }
+
+    @Override
+    public void enqueue(final Callback<T> callback) {
+        markExecuted();
+        final List<Object> key = key();
+        final Flight<T> flight = new Flight<>();
+        Flight<T> existing = join(key, flight);
+        if (existing == null) {
+            try {
+                _delegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        _flights.remove(key, flight);
+                        flight.complete(response, null);
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        _flights.remove(key, flight);
+                        flight.complete(null, t);
+                    }
+                });
+            } catch (Throwable t) {
+                _flights.remove(key, flight);
+                flight.complete(null, t);
+                throw t;
+            }
+        }
+
+        Listener<T> listener = new Listener<T>() {
+            @Override
+            public void onComplete(Flight<T> completed) {
+                Response<T> response;
+                try {
+                    checkCanceled();
+                    response = completed.response();
+                } catch (Throwable t) {
+                    callback.onFailure(SingleFlightCall.this, t);
+                    return;
+                }
+                callback.onResponse(SingleFlightCall.this, response);
+            }
+        };
+        if (existing == null) {
+            flight.listen(listener);
+            return;
+        }
+        // Either this or cancel() sees the other, so a canceled call never waits for the flight
+        _listener = listener;
+        existing.listen(listener);
+        _joined = existing;
+        if (_canceled) {
+            existing.release(listener);
+        }
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return _executed;
+    }
+
+    @Override
+    public void cancel() {
+        _canceled = true;
+        _delegate.cancel();
+        Flight<T> joined = _joined;
+        if (joined != null) {
+            joined.release(_listener);
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return _canceled;
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new SingleFlightCall<>(_delegate.clone(), _responseType, _flights);
+    }
+
+    @Override
+    public Request request() {
+        return _delegate.request();
+    }
+
+    private synchronized void markExecuted() {
+        if (_executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        _executed = true;
+    }
+
+    private void checkCanceled() throws IOException {
+        if (_canceled) {
+            throw new IOException("Canceled");
+        }
+    }
+
+    private List<Object> key() {
+        // Calls through a shared client are only authorized when executed, so the credentials come from the context
+        Request request = _delegate.request();
+        return Arrays.<Object>asList(request.url().toString(), request.headers().toString(), _responseType,
+                                     TenantContext.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flight<T> join(List<Object> key, Flight<T> flight) {
+        // The response type is part of the key, so a flight found for it has the same type
+        return (Flight<T>) _flights.putIfAbsent(key, flight);
+    }
+
+    /**
+     * Notified once a flight has completed.
+     */
+    interface Listener<T> {
+        void onComplete(Flight<T> flight);
+    }
+
+    /**
+     * The outcome of one request, shared by every call waiting for it.
+     */
+    static final class Flight<T> {
+        private final List<Listener<T>> _listeners = new ArrayList<>();
+
+        private boolean _completed;
+
+        private Response<T> _response;
+
+        private MediaType _errorType;
+
+        private byte[] _errorBytes;
+
+        private Throwable _failure;
+
+        void complete(Response<T> response, Throwable failure) {
+            if (response != null && !response.isSuccessful() && response.errorBody() != null) {
+                // An error body can only be read once, so it is buffered for every caller
+                try (ResponseBody errorBody = response.errorBody()) {
+                    _errorType = errorBody.contentType();
+                    _errorBytes = errorBody.bytes();
+                } catch (IOException e) {
+                    response = null;
+                    failure = e;
+                }
+            }
+
+            List<Listener<T>> listeners;
+            synchronized (this) {
+                _response = response;
+                _failure = failure;
+                _completed = true;
+                listeners = new ArrayList<>(_listeners);
+                _listeners.clear();
+                notifyAll();
+            }
+            for (Listener<T> listener : listeners) {
+                listener.onComplete(this);
+            }
+        }
+
+        void listen(Listener<T> listener) {
+            synchronized (this) {
+                if (!_completed) {
+                    _listeners.add(listener);
+                    return;
+                }
+            }
+            listener.onComplete(this);
+        }
+
+        /**
+         * Waits until the flight has completed or the waiting call is canceled.
+         */
+        synchronized void await(Call<?> waiter) throws IOException {
+            try {
+                while (!_completed && !waiter.isCanceled()) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for an identical call");
+            }
+        }
+
+        /**
+         * Wakes the calls waiting for the flight so they can see they were canceled, and notifies the listener of a
+         * canceled call right away unless the flight already did.
+         */
+        void release(Listener<T> listener) {
+            boolean removed;
+            synchronized (this) {
+                notifyAll();
+                removed = listener != null && _listeners.remove(listener);
+            }
+            if (removed) {
+                listener.onComplete(this);
+            }
+        }
+
+        synchronized Response<T> response() throws IOException {
+            if (_failure instanceof IOException) {
+                throw (IOException) _failure;
+            }
+            if (_failure instanceof RuntimeException) {
+                throw (RuntimeException) _failure;
+            }
+            if (_failure instanceof Error) {
+                throw (Error) _failure;
+            }
+            if (_failure != null) {
+                throw new IOException(_failure);
+            }
+            if (_errorBytes != null) {
+                return Response.error(ResponseBody.create(_errorType, _errorBytes), _response.raw());
+            }
+            return _response;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A call adapter factory that coalesces identical GET calls: while a call is in flight, calls to the same URL with the
+ * same response type and credentials wait for it and share its response instead of making their own request.
+ * <p>
+ * Must be added before any other call adapter factory, which it delegates to, so it works with plain calls as well
+ * as with RxJava:
+ * <pre>{@code
+ * Retrofit retrofit = new DefaultRetrofitBuilderFactory(client).create()
+ *         .addCallAdapterFactory(SingleFlightCallAdapterFactory.create())
+ *         .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+ *         .build();
+ * }</pre>
+ * Successful responses share the same parsed body, which callers must therefore not modify. Each caller gets its own
+ * copy of an error body. Streamed responses, such as {@link PagedStream}, are never shared. Canceling the call that
+ * is making the request fails the calls waiting for it, while canceling a waiting call fails only that call, right
+ * away.
+ */
+public final class SingleFlightCallAdapterFactory extends CallAdapter.Factory {
+    private final ConcurrentMap<List<Object>, SingleFlightCall.Flight<?>> _flights = new ConcurrentHashMap<>();
+
+    private SingleFlightCallAdapterFactory() {
+    }
+
+    public static SingleFlightCallAdapterFactory create() {
+        return new SingleFlightCallAdapterFactory();
+    }
+
+    /**
+     * @return the number of requests currently shared by concurrent calls
+     */
+    public int getInFlightCount() {
+        return _flights.size();
+    }
+
+    @Override
+    public CallAdapter<?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        boolean get = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Streaming) {
+                return null;
+            }
+            get |= annotation instanceof GET;
+        }
+        if (!get) {
+            return null;
+        }
+
+        final CallAdapter<?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+        final Type responseType = delegate.responseType();
+        if (Closeable.class.isAssignableFrom(getRawType(responseType))) {
+            return null;
+        }
+        return new CallAdapter<Object>() {
+            @Override
+            public Type responseType() {
+                return responseType;
+            }
+
+            @Override
+            public <R> Object adapt(Call<R> call) {
+                return delegate.adapt(new SingleFlightCall<>(call, responseType, _flights));
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.constantcontact.v2;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Lets one {@link OkHttpClient}, and so one connection pool and dispatcher, serve many accounts. Each call is
+ * authorized with the {@link TenantCredentials} in the {@link TenantContext} of the thread that executes or enqueues
+ * it. Use with a client from {@link DefaultOkHttpClientBuilderFactory#createShared()}, which doesn't add credentials
+ * itself.
+ */
+public class TenantCallFactory implements Call.Factory {
+    private final OkHttpClient _client;
+
+    /**
+     * Creates an instance.
+     *
+     * @param client the shared client
+     */
+    public TenantCallFactory(OkHttpClient client) {
+        _client = client;
+    }
+
+    public OkHttpClient getClient() {
+        return _client;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        TenantCredentials credentials = TenantContext.get();
+        if (credentials == null) {
+            throw new IllegalStateException("No tenant credentials set for " + request.url().encodedPath()
+                                                    + ", use a CCApi2 tenant view or TenantContext");
+        }
+        return _client.newCall(CCApiInterceptor.authorize(request, credentials.getApiKey(), credentials.getToken()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.constantcontact.v2;
+
+/**
+ * Holds the {@link TenantCredentials} of the current thread, read by {@link TenantCallFactory} when a call is
+ * executed or enqueued.
+ * <pre>{@code
+ * TenantCredentials previous = TenantContext.set(credentials);
+ * try {
+ *     contactService.getContact(id).execute();
+ * } finally {
+ *     TenantContext.set(previous);
+ * }
+ * }</pre>
+ */
+public final class TenantContext {
+    private static final ThreadLocal<TenantCredentials> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the credentials of the current thread, or {@code null} if none are set
+     */
+    public static TenantCredentials get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the credentials of the current thread.
+     *
+     * @param credentials the credentials, or {@code null} to clear them
+     * @return the previous credentials, to be restored afterwards
+     */
+    public static TenantCredentials set(TenantCredentials credentials) {
+        TenantCredentials previous = CURRENT.get();
+        if (credentials == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(credentials);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,55 @@
+package com.constantcontact.v2;
+
+/**
+ * The api key and token of one account, used by calls made through a shared client, see {@link TenantCallFactory}.
+ */
+public final class TenantCredentials {
+    private final String _apiKey;
+
+    private final String _token;
+
+    /**
+     * Creates an instance.
+     *
+     * @param apiKey the api key
+     * @param token  the account's oauth2 token
+     */
+    public TenantCredentials(String apiKey, String token) {
+        if (apiKey == null || token == null) {
+            throw new IllegalArgumentException("apiKey and token are required");
+        }
+        _apiKey = apiKey;
+        _token = token;
+    }
+
+    public String getApiKey() {
+        return _apiKey;
+    }
+
+    public String getToken() {
+        return _token;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TenantCredentials)) {
+            return false;
+        }
+        TenantCredentials that = (TenantCredentials) o;
+        return _apiKey.equals(that._apiKey) && _token.equals(that._token);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * _apiKey.hashCode() + _token.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        // Never print the token
+        return "TenantCredentials{apiKey=" + _apiKey + "}";
+    }
+}
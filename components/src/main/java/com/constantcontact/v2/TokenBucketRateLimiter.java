@@ -0,0 +1,120 @@
+package com.constantcontact.v2;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RateLimiter} that gives each key its own token bucket and its own cap on requests in flight.
+ * <p>
+ * The bucket refills at {@code requestsPerSecond} and holds at most {@code burst} tokens. When it is empty, callers
+ * reserve future tokens in arrival order and sleep until their token is due, so throughput stays at the configured
+ * ceiling instead of bursting into throttling responses.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+    private final double _requestsPerSecond;
+
+    private final int _burst;
+
+    private final int _maxInFlight;
+
+    private final ConcurrentMap<String, Limits> _limits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param requestsPerSecond the sustained rate per key
+     * @param burst             the number of requests per key that may be sent at once after an idle period, at least 1
+     * @param maxInFlight       the maximum number of requests per key awaiting a response, or 0 for no limit
+     */
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxInFlight) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond <= 0");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst < 1");
+        }
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight < 0");
+        }
+        _requestsPerSecond = requestsPerSecond;
+        _burst = burst;
+        _maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void acquire(String key) throws InterruptedException {
+        Limits limits = limits(key);
+        if (limits.inFlight != null) {
+            limits.inFlight.acquire();
+        }
+
+        try {
+            long waitNanos = limits.reserve();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            if (limits.inFlight != null) {
+                limits.inFlight.release();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Limits limits = _limits.get(key);
+        if (limits != null && limits.inFlight != null) {
+            limits.inFlight.release();
+        }
+    }
+
+    private Limits limits(String key) {
+        Limits limits = _limits.get(key);
+        if (limits == null) {
+            Limits created = new Limits(_requestsPerSecond / TimeUnit.SECONDS.toNanos(1), _burst, _maxInFlight);
+            limits = _limits.putIfAbsent(key, created);
+            if (limits == null) {
+                limits = created;
+            }
+        }
+        return limits;
+    }
+
+    private static final class Limits {
+        final double tokensPerNano;
+
+        final int burst;
+
+        final Semaphore inFlight;
+
+        /**
+         * Available tokens, negative when callers have reserved tokens that have not been refilled yet.
+         */
+        private double tokens;
+
+        private long lastRefill;
+
+        Limits(double tokensPerNano, int burst, int maxInFlight) {
+            this.tokensPerNano = tokensPerNano;
+            this.burst = burst;
+            this.inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Takes a token, returning how long to wait until it is due.
+         */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+        }
+    }
+}
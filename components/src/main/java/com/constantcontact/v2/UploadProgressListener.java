@@ -0,0 +1,15 @@
+package com.constantcontact.v2;
+
+/**
+ * Notified by {@link FileRequestBody} as a file is written to the connection, e.g. to show an upload's progress.
+ */
+public interface UploadProgressListener {
+    /**
+     * Called as the file is written, and once it has been written entirely. When a request is retried, the file is
+     * written again and {@code bytesWritten} starts over.
+     *
+     * @param bytesWritten  the number of bytes written so far
+     * @param contentLength the size of the file
+     */
+    void onProgress(long bytesWritten, long contentLength);
+}
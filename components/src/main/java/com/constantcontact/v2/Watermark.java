@@ -0,0 +1,73 @@
+package com.constantcontact.v2;
+
+import java.util.Date;
+
+/**
+ * How far an incremental sync of one report has progressed, see {@link WatermarkStore}.
+ * <p>
+ * {@link #getCreatedSince()} is where the last completed sync ended. While a sync is running,
+ * {@link #getPendingSince()} holds where it will end once complete, and {@link #getNextLink()} the next page to
+ * fetch, so that an interrupted sync resumes at that page.
+ */
+public final class Watermark {
+    private final Date _createdSince;
+
+    private final Date _pendingSince;
+
+    private final String _nextLink;
+
+    /**
+     * Creates an instance.
+     *
+     * @param createdSince the end of the last completed sync, or {@code null} if none completed
+     * @param pendingSince the end of the running sync, or {@code null} if none is running
+     * @param nextLink     the next page of the running sync, or {@code null} if it hasn't fetched a page yet
+     */
+    public Watermark(Date createdSince, Date pendingSince, String nextLink) {
+        _createdSince = createdSince != null ? new Date(createdSince.getTime()) : null;
+        _pendingSince = pendingSince != null ? new Date(pendingSince.getTime()) : null;
+        _nextLink = nextLink;
+    }
+
+    public Date getCreatedSince() {
+        return _createdSince != null ? new Date(_createdSince.getTime()) : null;
+    }
+
+    public Date getPendingSince() {
+        return _pendingSince != null ? new Date(_pendingSince.getTime()) : null;
+    }
+
+    public String getNextLink() {
+        return _nextLink;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Watermark)) {
+            return false;
+        }
+        Watermark that = (Watermark) o;
+        return equal(_createdSince, that._createdSince) && equal(_pendingSince, that._pendingSince)
+                && equal(_nextLink, that._nextLink);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = _createdSince != null ? _createdSince.hashCode() : 0;
+        result = 31 * result + (_pendingSince != null ? _pendingSince.hashCode() : 0);
+        return 31 * result + (_nextLink != null ? _nextLink.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "Watermark{createdSince=" + _createdSince + ", pendingSince=" + _pendingSince + ", nextLink="
+                + _nextLink + "}";
+    }
+
+    private static boolean equal(Object lhs, Object rhs) {
+        return lhs == null ? rhs == null : lhs.equals(rhs);
+    }
+}
@@ -0,0 +1,36 @@
+package com.constantcontact.v2;
+
+import java.io.IOException;
+
+/**
+ * Persists the {@link Watermark Watermarks} of incremental syncs, keyed by report, e.g.
+ * {@code "campaign/1100394165290/opens"}. Implementations must be safe for use by multiple threads, and
+ * {@link #save(String, Watermark)} should be atomic so that a crash leaves either the old or the new watermark.
+ */
+public interface WatermarkStore {
+    /**
+     * Loads a watermark.
+     *
+     * @param key the report key
+     * @return the watermark, or {@code null} if the report was never synced
+     * @throws IOException if the store could not be read
+     */
+    Watermark load(String key) throws IOException;
+
+    /**
+     * Saves a watermark, replacing the previous one.
+     *
+     * @param key       the report key
+     * @param watermark the watermark
+     * @throws IOException if the store could not be written
+     */
+    void save(String key, Watermark watermark) throws IOException;
+
+    /**
+     * Removes a watermark, so that the next sync of the report starts over.
+     *
+     * @param key the report key
+     * @throws IOException if the store could not be written
+     */
+    void remove(String key) throws IOException;
+}
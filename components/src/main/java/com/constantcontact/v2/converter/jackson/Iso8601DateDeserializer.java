@@ -0,0 +1,39 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Deserializes {@link Date} fields with {@link Iso8601DateFormatter}. Numeric values are read as epoch milliseconds.
+ */
+public class Iso8601DateDeserializer extends StdDeserializer<Date> {
+    public Iso8601DateDeserializer() {
+        super(Date.class);
+    }
+
+    @Override
+    public Date deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(p.getLongValue());
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw ctxt.mappingException(Date.class, token);
+        }
+
+        String text = p.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Iso8601DateFormatter.parse(text);
+        } catch (IllegalArgumentException e) {
+            throw ctxt.weirdStringException(text, Date.class, e.getMessage());
+        }
+    }
+}
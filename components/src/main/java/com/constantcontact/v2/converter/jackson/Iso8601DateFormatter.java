@@ -0,0 +1,243 @@
+package com.constantcontact.v2.converter.jackson;
+
+import java.util.Date;
+
+/**
+ * Formats and parses the ISO-8601 dates used by the Constant Contact API, e.g. {@code 2016-03-02T15:41:26.000Z}.
+ * <p>
+ * Unlike {@link java.text.SimpleDateFormat}, all methods are thread-safe and lock-free, and never allocate a
+ * {@link java.util.Calendar}: UTC calendar fields are computed arithmetically from epoch milliseconds. The most
+ * recently formatted instant is cached, since the same query date tends to be formatted for many calls in a row.
+ */
+public final class Iso8601DateFormatter {
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final int FORMATTED_LENGTH = 24;
+
+    /**
+     * The last formatted instant. Entries are immutable, so publishing through a volatile field is enough.
+     */
+    private static volatile CacheEntry lastFormatted = new CacheEntry(0L, "1970-01-01T00:00:00.000Z");
+
+    private Iso8601DateFormatter() {
+    }
+
+    /**
+     * Formats a date in UTC as {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}.
+     *
+     * @param date the date
+     * @return the formatted date
+     */
+    public static String format(Date date) {
+        return format(date.getTime());
+    }
+
+    /**
+     * Formats an instant in UTC as {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}.
+     *
+     * @param millis milliseconds since the epoch
+     * @return the formatted date
+     */
+    public static String format(long millis) {
+        CacheEntry cached = lastFormatted;
+        if (cached.millis == millis) {
+            return cached.formatted;
+        }
+
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) (millis - days * MILLIS_PER_DAY);
+
+        // Civil date from days since the epoch, see http://howardhinnant.github.io/date_algorithms.html
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            throw new IllegalArgumentException("Year out of range: " + year);
+        }
+
+        char[] buffer = new char[FORMATTED_LENGTH];
+        write(buffer, 0, (int) year, 4);
+        buffer[4] = '-';
+        write(buffer, 5, month, 2);
+        buffer[7] = '-';
+        write(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        write(buffer, 11, millisOfDay / 3600000, 2);
+        buffer[13] = ':';
+        write(buffer, 14, millisOfDay / 60000 % 60, 2);
+        buffer[16] = ':';
+        write(buffer, 17, millisOfDay / 1000 % 60, 2);
+        buffer[19] = '.';
+        write(buffer, 20, millisOfDay % 1000, 3);
+        buffer[23] = 'Z';
+
+        String formatted = new String(buffer);
+        lastFormatted = new CacheEntry(millis, formatted);
+        return formatted;
+    }
+
+    /**
+     * Parses an ISO-8601 date.
+     *
+     * @param text the date
+     * @return the parsed date
+     * @throws IllegalArgumentException if the text is not a supported ISO-8601 date
+     * @see #parseMillis(String)
+     */
+    public static Date parse(String text) {
+        return new Date(parseMillis(text));
+    }
+
+    /**
+     * Parses an ISO-8601 date of the form {@code yyyy-MM-dd}, {@code yyyy-MM-ddTHH:mm:ss}, with optional fractional
+     * seconds, optionally followed by {@code Z} or an offset ({@code +HH:mm}, {@code +HHmm} or {@code +HH}). Dates
+     * without a zone designator are taken to be UTC.
+     *
+     * @param text the date
+     * @return milliseconds since the epoch
+     * @throws IllegalArgumentException if the text is not a supported ISO-8601 date
+     */
+    public static long parseMillis(String text) {
+        int length = text.length();
+        if (length < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw invalid(text);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            throw invalid(text);
+        }
+
+        long millisOfDay = 0;
+        int offsetMillis = 0;
+        if (length > 10) {
+            if (length < 19 || (text.charAt(10) != 'T' && text.charAt(10) != ' ')
+                    || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                throw invalid(text);
+            }
+            int hour = digits(text, 11, 2);
+            int minute = digits(text, 14, 2);
+            int second = digits(text, 17, 2);
+            if (hour > 23 || minute > 59 || second > 59) {
+                throw invalid(text);
+            }
+
+            int index = 19;
+            int fraction = 0;
+            if (index < length && text.charAt(index) == '.') {
+                index++;
+                int start = index;
+                while (index < length && isDigit(text.charAt(index))) {
+                    // Only millisecond precision is kept
+                    if (index - start < 3) {
+                        fraction = fraction * 10 + (text.charAt(index) - '0');
+                    }
+                    index++;
+                }
+                if (index == start) {
+                    throw invalid(text);
+                }
+                for (int i = index - start; i < 3; i++) {
+                    fraction *= 10;
+                }
+            }
+            millisOfDay = hour * 3600000L + minute * 60000L + second * 1000L + fraction;
+
+            if (index < length) {
+                char zone = text.charAt(index);
+                if (zone == 'Z' && index + 1 == length) {
+                    offsetMillis = 0;
+                } else if (zone == '+' || zone == '-') {
+                    int offsetHours = digits(text, index + 1, 2);
+                    int offsetMinutes = 0;
+                    int rest = length - (index + 3);
+                    if (rest == 3 && text.charAt(index + 3) == ':') {
+                        offsetMinutes = digits(text, index + 4, 2);
+                    } else if (rest == 2) {
+                        offsetMinutes = digits(text, index + 3, 2);
+                    } else if (rest != 0) {
+                        throw invalid(text);
+                    }
+                    offsetMillis = (offsetHours * 60 + offsetMinutes) * 60000;
+                    if (zone == '-') {
+                        offsetMillis = -offsetMillis;
+                    }
+                } else {
+                    throw invalid(text);
+                }
+            }
+        }
+
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY + millisOfDay - offsetMillis;
+    }
+
+    /**
+     * Days since the epoch of a civil date, see http://howardhinnant.github.io/date_algorithms.html
+     */
+    private static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return q;
+    }
+
+    private static void write(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int digits(String text, int offset, int count) {
+        if (offset + count > text.length()) {
+            throw invalid(text);
+        }
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                throw invalid(text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static IllegalArgumentException invalid(String text) {
+        return new IllegalArgumentException("Not an ISO-8601 date: " + text);
+    }
+
+    private static final class CacheEntry {
+        final long millis;
+
+        final String formatted;
+
+        CacheEntry(long millis, String formatted) {
+            this.millis = millis;
+            this.formatted = formatted;
+        }
+    }
+}
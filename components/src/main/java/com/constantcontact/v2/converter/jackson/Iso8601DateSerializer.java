@@ -0,0 +1,22 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Serializes {@link Date} fields with {@link Iso8601DateFormatter}.
+ */
+public class Iso8601DateSerializer extends StdSerializer<Date> {
+    public Iso8601DateSerializer() {
+        super(Date.class);
+    }
+
+    @Override
+    public void serialize(Date value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeString(Iso8601DateFormatter.format(value));
+    }
+}
@@ -1,25 +1,52 @@
 package com.constantcontact.v2.converter.jackson;
 
+import com.constantcontact.v2.ApiMetrics;
+import com.constantcontact.v2.PagedStream;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
 import retrofit2.Retrofit;
+import retrofit2.http.Body;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The converter factory used for Jackson JSON conversion
  */
 public class JacksonConverterFactory extends Converter.Factory {
-    public final static String ISO_8601_DATE_PATTERN = "yyyy-MM-dd'T'hh:mm:ss.ss'Z'";
+    public final static String ISO_8601_DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
 
+    /**
+     * Deprecated. {@link SimpleDateFormat} is not thread-safe, please use {@link Iso8601DateFormatter} instead.
+     */
+    @Deprecated
     public final static SimpleDateFormat ISO_8601_DATE_FORMAT = new SimpleDateFormat(ISO_8601_DATE_PATTERN);
 
+    static {
+        ISO_8601_DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    /**
+     * Types carrying the response type in service method signatures, by name so RxJava is not required.
+     */
+    private static final Set<String> WRAPPER_TYPES = new HashSet<>(Arrays.asList(
+            "retrofit2.Call", "retrofit2.Response", "rx.Observable", "rx.Single", PagedStream.class.getName()));
+
     private static String[] CAMPAIGN_CREATE_UPDATE_FIELDS = {
             "name",
             "subject",
@@ -51,24 +78,42 @@ public class JacksonConverterFactory extends Converter.Factory {
      * @return a new instance of the converter facotyr
      */
     public static JacksonConverterFactory create(ObjectMapper mapper) {
-        return new JacksonConverterFactory(mapper);
+        return new JacksonConverterFactory(mapper, null);
+    }
+
+    /**
+     * Create an instance using {@code mapper} for conversion, reporting the time spent converting each response body.
+     *
+     * @param mapper  the mapper that will be used by the factory when creating converters
+     * @param metrics the metrics receiving the conversion times, or {@code null} for none
+     * @return a new instance of the converter factory
+     */
+    public static JacksonConverterFactory create(ObjectMapper mapper, ApiMetrics metrics) {
+        return new JacksonConverterFactory(mapper, metrics);
     }
 
     private final ObjectMapper mapper;
     private final SimpleFilterProvider writerFilterProvider;
+    private final ApiMetrics metrics;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance.
      *
-     * @param mapper the object mapper used when creating converter instances.
+     * @param mapper  the object mapper used when creating converter instances.
+     * @param metrics the metrics receiving the conversion times, or {@code null}
      */
-    private JacksonConverterFactory(ObjectMapper mapper) {
+    private JacksonConverterFactory(ObjectMapper mapper, ApiMetrics metrics) {
         if (mapper == null) {
             throw new NullPointerException("mapper == null");
         }
         this.mapper = mapper;
+        this.metrics = metrics;
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).disable(SerializationFeature.WRITE_DATE_KEYS_AS_TIMESTAMPS);
-        mapper.getSerializationConfig().with(ISO_8601_DATE_FORMAT);
+        mapper.registerModule(new SimpleModule("Iso8601DateModule")
+                                      .addSerializer(Date.class, new Iso8601DateSerializer())
+                                      .addDeserializer(Date.class, new Iso8601DateDeserializer()));
 
         final SimpleBeanPropertyFilter campaignCreateUpdateFilter = SimpleBeanPropertyFilter.filterOutAllExcept(CAMPAIGN_CREATE_UPDATE_FIELDS);
         this.writerFilterProvider = new SimpleFilterProvider().addFilter("CampaignCreateUpdateFilter", campaignCreateUpdateFilter);
@@ -76,14 +121,19 @@ public class JacksonConverterFactory extends Converter.Factory {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * A {@link PagedStream} response type is converted without materializing the page, binding each element of the
+     * {@code results} array as it is iterated.
      */
     @Override
     public Converter<ResponseBody, ?> responseBodyConverter(Type type,
                                                             Annotation[] annotations,
                                                             Retrofit retrofit) {
-        JavaType javaType = mapper.getTypeFactory().constructType(type);
-        ObjectReader reader = mapper.readerFor(javaType);
-        return new JacksonResponseBodyConverter<>(reader);
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == PagedStream.class) {
+            Type resultType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return new JacksonPagedStreamConverter<>(reader(resultType));
+        }
+        return new JacksonResponseBodyConverter<>(reader(type), type, metrics);
     }
 
     /**
@@ -94,8 +144,78 @@ public class JacksonConverterFactory extends Converter.Factory {
                                                           Annotation[] parameterAnnotations,
                                                           Annotation[] methodAnnotations,
                                                           Retrofit retrofit) {
-        JavaType javaType = mapper.getTypeFactory().constructType(type);
-        ObjectWriter writer = mapper.writerFor(javaType).with(writerFilterProvider);
-        return new JacksonRequestBodyConverter<>(writer);
+        return new JacksonRequestBodyConverter<>(writer(type));
+    }
+
+    /**
+     * Builds the readers of the response types and the writers of the {@code @Body} types of every method of the
+     * services ahead of the first calls, instead of introspecting each model on its first use. Calls, responses and
+     * observables are unwrapped to the type they carry, and OkHttp types, which Retrofit passes through, are skipped.
+     *
+     * @param services the Retrofit service interfaces, e.g. {@code ContactService.class}
+     * @return the number of readers and writers built or already cached
+     */
+    public int warmUp(Class<?>... services) {
+        Set<Type> responseTypes = new HashSet<>();
+        Set<Type> bodyTypes = new HashSet<>();
+        for (Class<?> service : services) {
+            for (Method method : service.getMethods()) {
+                Type responseType = unwrap(method.getGenericReturnType());
+                if (isModel(responseType) && responseTypes.add(responseType)) {
+                    reader(responseType);
+                }
+
+                Type[] parameterTypes = method.getGenericParameterTypes();
+                Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    for (Annotation annotation : parameterAnnotations[i]) {
+                        if (annotation instanceof Body && isModel(parameterTypes[i])
+                            && bodyTypes.add(parameterTypes[i])) {
+                            writer(parameterTypes[i]);
+                        }
+                    }
+                }
+            }
+        }
+        return responseTypes.size() + bodyTypes.size();
+    }
+
+    ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            // Readers fetch their root deserializer when created, so a cached reader is ready to use
+            reader = mapper.readerFor(mapper.getTypeFactory().constructType(type));
+            ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+    ObjectWriter writer(Type type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            // Every writer gets the filters, as filtered models may be reached through any property
+            writer = mapper.writerFor(mapper.getTypeFactory().constructType(type)).with(writerFilterProvider);
+            ObjectWriter existing = writers.putIfAbsent(type, writer);
+            if (existing != null) {
+                writer = existing;
+            }
+        }
+        return writer;
+    }
+
+    private static Type unwrap(Type type) {
+        while (type instanceof ParameterizedType
+               && WRAPPER_TYPES.contains(((Class<?>) ((ParameterizedType) type).getRawType()).getName())) {
+            type = ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return type;
+    }
+
+    private boolean isModel(Type type) {
+        Class<?> rawType = mapper.getTypeFactory().constructType(type).getRawClass();
+        return rawType != Void.class && rawType != void.class && !rawType.getName().startsWith("okhttp3.");
     }
 }
@@ -0,0 +1,159 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.constantcontact.v2.PagedStream;
+import com.constantcontact.v2.PagedStreamException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link PagedStream} that walks the Jackson token stream of a paged response, binding one element of the
+ * {@code results} array at a time.
+ */
+final class JacksonPagedStream<T> implements PagedStream<T> {
+    private final ResponseBody _body;
+
+    private final ObjectReader _reader;
+
+    private final JsonParser _parser;
+
+    private String _nextLink;
+
+    private boolean _metaRead;
+
+    /**
+     * Whether the parser is inside the results array.
+     */
+    private boolean _inResults;
+
+    /**
+     * Whether the parser is positioned on the first token of a result that has not been returned yet.
+     */
+    private boolean _hasPending;
+
+    private boolean _closed;
+
+    JacksonPagedStream(ResponseBody body, ObjectReader reader) throws IOException {
+        _body = body;
+        _reader = reader;
+        _parser = reader.getFactory().createParser(body.byteStream());
+
+        if (_parser.nextToken() != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(_parser, "Expected a paged JSON object");
+        }
+        scanFields();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (_closed) {
+            return false;
+        }
+        if (_hasPending) {
+            return true;
+        }
+        if (!_inResults) {
+            return false;
+        }
+
+        try {
+            if (_parser.nextToken() == JsonToken.END_ARRAY) {
+                _inResults = false;
+                scanFields();
+                return false;
+            }
+            _hasPending = true;
+            return true;
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        _hasPending = false;
+        try {
+            return _reader.readValue(_parser);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public String getNextLink() {
+        if (_closed && !_metaRead) {
+            throw new PagedStreamException("Closed before the page's metadata was read");
+        }
+        try {
+            while (!_metaRead && hasNext()) {
+                _parser.skipChildren();
+                _hasPending = false;
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return _nextLink;
+    }
+
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+        _closed = true;
+        try {
+            _parser.close();
+        } catch (IOException ignored) {
+        } finally {
+            _body.close();
+        }
+    }
+
+    /**
+     * Advances through the fields of the root object until the results array is entered, reading the metadata along
+     * the way. Closes the stream once the root object ends.
+     */
+    private void scanFields() throws IOException {
+        while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = _parser.getCurrentName();
+            JsonToken token = _parser.nextToken();
+
+            if ("results".equals(name) && token == JsonToken.START_ARRAY) {
+                _inResults = true;
+                return;
+            } else if ("meta".equals(name) && token == JsonToken.START_OBJECT) {
+                JsonNode meta = _reader.readTree(_parser);
+                JsonNode nextLink = meta.path("pagination").path("next_link");
+                if (nextLink.isTextual()) {
+                    // Format this returns in is a full path, with a leading slash, which we don't want.
+                    _nextLink = nextLink.textValue().substring(1);
+                }
+                _metaRead = true;
+            } else {
+                _parser.skipChildren();
+            }
+        }
+        _metaRead = true;
+        close();
+    }
+
+    private PagedStreamException failure(IOException e) {
+        close();
+        return new PagedStreamException(e);
+    }
+}
@@ -0,0 +1,26 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.constantcontact.v2.PagedStream;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import java.io.IOException;
+
+final class JacksonPagedStreamConverter<T> implements Converter<ResponseBody, PagedStream<T>> {
+    private final ObjectReader resultReader;
+
+    JacksonPagedStreamConverter(ObjectReader resultReader) {
+        this.resultReader = resultReader;
+    }
+
+    @Override
+    public PagedStream<T> convert(ResponseBody value) throws IOException {
+        try {
+            return new JacksonPagedStream<>(value, resultReader);
+        } catch (IOException | RuntimeException e) {
+            value.close();
+            throw e;
+        }
+    }
+}
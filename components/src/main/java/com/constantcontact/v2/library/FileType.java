@@ -87,4 +87,33 @@ public enum FileType {
         }
         return PNG;
     }
+
+    /**
+     * @return the MIME type of files of this type, as accepted by {@link #createFromMimeType(String)}
+     */
+    public String getMimeType() {
+        switch (this) {
+            case JPG:
+                return "image/jpeg";
+            case GIF:
+                return "image/gif";
+            case PDF:
+                return "application/pdf";
+            case DOC:
+                return "application/vnd.ms-word";
+            case XLS:
+                return "application/vnd.ms-excel";
+            case PPT:
+                return "application/vnd.ms-powerpoint";
+            case DOCX:
+                return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            case XLSX:
+                return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            case PPTX:
+                return "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+            default:
+            case PNG:
+                return "image/png";
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package com.constantcontact.v2.spill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A codec writing records as JSON, for records with deep object graphs such as
+ * {@link com.constantcontact.v2.contacts.Contact}. Records are read back through their JSON mapping, like API
+ * responses, so unlike {@link SerializableCodec} files don't depend on the compiled form of the model classes, and
+ * only the record's type can be created when reading. Larger and slower than a dedicated codec like
+ * {@link TrackingReportCodec}.
+ *
+ * @param <T> the type of record
+ */
+public class JacksonCodec<T> implements RecordCodec<T> {
+    private final ObjectReader _reader;
+
+    private final ObjectWriter _writer;
+
+    /**
+     * Creates an instance using a default {@link ObjectMapper}.
+     *
+     * @param type the type of record
+     */
+    public JacksonCodec(Class<T> type) {
+        this(new ObjectMapper(), type);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param mapper the mapper
+     * @param type   the type of record
+     */
+    public JacksonCodec(ObjectMapper mapper, Class<T> type) {
+        _reader = mapper.readerFor(type);
+        // Records are stored whole, so filtered models such as Campaign keep every field
+        _writer = mapper.writerFor(type)
+                        .with(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Override
+    public void encode(T record, final DataOutput out) throws IOException {
+        _writer.writeValue(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        }, record);
+    }
+
+    @Override
+    public T decode(final ByteBuffer in) throws IOException {
+        if (in.hasArray()) {
+            return _reader.readValue(in.array(), in.arrayOffset() + in.position(), in.remaining());
+        }
+        return _reader.readValue(new InputStream() {
+            @Override
+            public int read() {
+                return in.hasRemaining() ? in.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!in.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, in.remaining());
+                in.get(b, off, count);
+                return count;
+            }
+        });
+    }
+}
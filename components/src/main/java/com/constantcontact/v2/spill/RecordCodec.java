@@ -0,0 +1,31 @@
+package com.constantcontact.v2.spill;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts records to and from the payloads of a spill file, see {@link SpillWriter}. {@link RecordIO} has helpers
+ * for strings and dates.
+ *
+ * @param <T> the type of record
+ */
+public interface RecordCodec<T> {
+    /**
+     * Writes a record.
+     *
+     * @param record the record
+     * @param out    the payload
+     * @throws IOException if the record could not be written
+     */
+    void encode(T record, DataOutput out) throws IOException;
+
+    /**
+     * Reads a record.
+     *
+     * @param in the payload, positioned at its start and limited to its end
+     * @return the record
+     * @throws IOException if the payload is invalid
+     */
+    T decode(ByteBuffer in) throws IOException;
+}
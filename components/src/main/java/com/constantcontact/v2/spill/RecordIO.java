@@ -0,0 +1,89 @@
+package com.constantcontact.v2.spill;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Date;
+
+/**
+ * Reads and writes nullable strings and dates for {@link RecordCodec RecordCodecs}. Strings are written as their
+ * UTF-8 length, or -1 for {@code null}, followed by their UTF-8 bytes; dates as milliseconds, or
+ * {@link Long#MIN_VALUE} for {@code null}.
+ */
+public final class RecordIO {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private RecordIO() {
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IOException("String of " + length + " bytes past end of record");
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    public static void writeDate(DataOutput out, Date value) throws IOException {
+        out.writeLong(value != null ? value.getTime() : NULL_DATE);
+    }
+
+    public static Date readDate(ByteBuffer in) {
+        long value = in.getLong();
+        return value != NULL_DATE ? new Date(value) : null;
+    }
+
+    /**
+     * Writes the ordinal of an enum constant as a byte, or -1 for {@code null}.
+     *
+     * @param out   the output
+     * @param value the constant
+     * @throws IOException if it could not be written
+     */
+    public static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value != null ? value.ordinal() : -1);
+    }
+
+    /**
+     * Reads an enum constant written by {@link #writeEnum(DataOutput, Enum)}.
+     *
+     * @param in     the input
+     * @param values the constants of the enum
+     * @param <E>    the enum
+     * @return the constant, or {@code null}
+     * @throws IOException if the ordinal is unknown
+     */
+    public static <E extends Enum<E>> E readEnum(ByteBuffer in, E[] values) throws IOException {
+        int ordinal = in.get();
+        if (ordinal < 0) {
+            return null;
+        }
+        if (ordinal >= values.length) {
+            throw new IOException("Unknown ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
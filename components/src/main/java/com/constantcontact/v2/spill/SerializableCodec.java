@@ -0,0 +1,110 @@
+package com.constantcontact.v2.spill;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * A codec using Java serialization, for records with deep object graphs such as
+ * {@link com.constantcontact.v2.contacts.Contact}, whose model classes are all {@link Serializable}. Larger and
+ * slower than a dedicated codec like {@link TrackingReportCodec}, but still avoids parsing JSON.
+ * <p>
+ * The model classes don't declare a {@code serialVersionUID}, so files can't be read by another version of the SDK;
+ * use it for files read by the process that wrote them, and {@link JacksonCodec} for files that are kept. Only
+ * classes of the SDK, {@code java.lang} and {@code java.util} are created when reading.
+ *
+ * @param <T> the type of record
+ */
+public class SerializableCodec<T extends Serializable> implements RecordCodec<T> {
+    private final Class<T> _type;
+
+    /**
+     * Creates an instance.
+     *
+     * @param type the type of record, checked when reading
+     */
+    public SerializableCodec(Class<T> type) {
+        _type = type;
+    }
+
+    @Override
+    public void encode(T record, final DataOutput out) throws IOException {
+        ObjectOutputStream objects = new ObjectOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        });
+        objects.writeObject(record);
+        objects.flush();
+    }
+
+    @Override
+    public T decode(final ByteBuffer in) throws IOException {
+        ObjectInputStream objects = new RestrictedObjectInputStream(new InputStream() {
+            @Override
+            public int read() {
+                return in.hasRemaining() ? in.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!in.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, in.remaining());
+                in.get(b, off, count);
+                return count;
+            }
+        });
+        try {
+            return _type.cast(objects.readObject());
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid record", e);
+        }
+    }
+
+    /**
+     * Refuses to create classes other than the models, their fields and arrays of them, so a tampered file can't
+     * instantiate arbitrary classes of the classpath.
+     */
+    private static final class RestrictedObjectInputStream extends ObjectInputStream {
+        RestrictedObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            int dimensions = 0;
+            while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+            String component = name.substring(dimensions);
+            if (dimensions > 0 && component.length() == 1) {
+                // An array of primitives
+                return super.resolveClass(desc);
+            }
+            if (dimensions > 0) {
+                component = component.substring(1, component.length() - 1);
+            }
+            if (!component.startsWith("com.constantcontact.v2.") && !component.startsWith("java.lang.")
+                && !component.startsWith("java.util.")) {
+                throw new InvalidClassException(name, "Not allowed in a spill file");
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.constantcontact.v2.spill;
+
+/**
+ * Thrown when iterating over a {@link SpillReader} reaches a record that could not be decoded.
+ */
+public class SpillException extends RuntimeException {
+    public SpillException(Throwable cause) {
+        super(cause);
+    }
+}
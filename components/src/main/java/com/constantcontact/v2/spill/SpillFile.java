@@ -0,0 +1,158 @@
+package com.constantcontact.v2.spill;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The layout of spill files: an 8 byte header, the magic number and the version, followed by records, each a 4 byte
+ * payload length, a 4 byte CRC32 of the length and payload, and the payload. The checksum lets a scan stop at a tail
+ * that was never written, e.g. the zeros left by a crash, rather than read it as records. Files are mapped in
+ * segments of 1 GB that overlap by the maximum record size, so that every record lies entirely within the segment it
+ * starts in.
+ */
+final class SpillFile {
+    static final int MAGIC = 0x43435350;
+
+    static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 8;
+
+    static final int RECORD_HEADER_SIZE = 8;
+
+    static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    static final long SEGMENT_SIZE = 1L << 30;
+
+    private SpillFile() {
+    }
+
+    static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not a spill file, too short");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a spill file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported spill file version " + version);
+        }
+    }
+
+    static MappedByteBuffer[] map(FileChannel channel, long size) throws IOException {
+        int count = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = i * SEGMENT_SIZE;
+            long length = Math.min(SEGMENT_SIZE + RECORD_HEADER_SIZE + MAX_RECORD_SIZE, size - start);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        }
+        return segments;
+    }
+
+    /**
+     * Finds every complete record, stopping at a record cut short or whose checksum doesn't match, e.g. after a crash
+     * while writing.
+     *
+     * @param segments the mapped segments
+     * @param size     the size of the file
+     * @param offsets  receives the offset of each record
+     * @return the end of the last complete record
+     */
+    static long scan(MappedByteBuffer[] segments, long size, Offsets offsets) {
+        CRC32 crc = new CRC32();
+        byte[] scratch = new byte[8192];
+        long offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= size) {
+            int segment = (int) (offset / SEGMENT_SIZE);
+            int position = (int) (offset - segment * SEGMENT_SIZE);
+            int length = segments[segment].getInt(position);
+            if (length < 0 || length > MAX_RECORD_SIZE || offset + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = segments[segment].duplicate();
+            payload.position(position + RECORD_HEADER_SIZE);
+            crc.reset();
+            updateLength(crc, length);
+            for (int remaining = length; remaining > 0; ) {
+                int count = Math.min(remaining, scratch.length);
+                payload.get(scratch, 0, count);
+                crc.update(scratch, 0, count);
+                remaining -= count;
+            }
+            if ((int) crc.getValue() != segments[segment].getInt(position + 4)) {
+                break;
+            }
+
+            if (offsets != null) {
+                offsets.add(offset);
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Computes the checksum written before a payload.
+     *
+     * @param crc     the checksum to reuse
+     * @param payload the payload
+     * @param length  the length of the payload
+     * @return the checksum
+     */
+    static int checksum(CRC32 crc, byte[] payload, int length) {
+        crc.reset();
+        updateLength(crc, length);
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static void updateLength(CRC32 crc, int length) {
+        // The length is checksummed too, so that an all zero record doesn't match
+        crc.update(length >>> 24);
+        crc.update(length >>> 16);
+        crc.update(length >>> 8);
+        crc.update(length);
+    }
+
+    /**
+     * A growable array of record offsets.
+     */
+    static final class Offsets {
+        private long[] _values = new long[1024];
+
+        private int _size;
+
+        void add(long offset) {
+            if (_size == _values.length) {
+                _values = Arrays.copyOf(_values, _size + (_size >> 1));
+            }
+            _values[_size++] = offset;
+        }
+
+        long get(int index) {
+            return _values[index];
+        }
+
+        int size() {
+            return _size;
+        }
+    }
+}
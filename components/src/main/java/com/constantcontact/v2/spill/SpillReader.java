@@ -0,0 +1,125 @@
+package com.constantcontact.v2.spill;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a spill file written by {@link SpillWriter}. The file is memory mapped, so records are read straight from the
+ * page cache without copying the file onto the heap, and any record can be read by index. The reader sees the
+ * records that were complete when it was opened.
+ * <p>
+ * Reading is thread safe. Mappings are released by the garbage collector once the reader is unreachable.
+ *
+ * @param <T> the type of record
+ */
+public class SpillReader<T> implements Iterable<T>, Closeable {
+    private final RecordCodec<T> _codec;
+
+    private final MappedByteBuffer[] _segments;
+
+    private final SpillFile.Offsets _offsets = new SpillFile.Offsets();
+
+    /**
+     * Opens a spill file.
+     *
+     * @param file  the file
+     * @param codec reads the records
+     * @throws IOException if the file could not be opened, or is not a spill file
+     */
+    public SpillReader(File file, RecordCodec<T> codec) throws IOException {
+        _codec = codec;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            SpillFile.checkHeader(channel);
+            long size = channel.size();
+            // Mappings stay valid once the channel is closed
+            _segments = SpillFile.map(channel, size);
+            SpillFile.scan(_segments, size, _offsets);
+        }
+    }
+
+    /**
+     * @return the number of records
+     */
+    public int size() {
+        return _offsets.size();
+    }
+
+    /**
+     * Gets the payload of a record without decoding or copying it.
+     *
+     * @param index the index of the record
+     * @return a read-only buffer over the payload
+     */
+    public ByteBuffer payload(int index) {
+        if (index < 0 || index >= _offsets.size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + _offsets.size());
+        }
+        long offset = _offsets.get(index);
+        int segment = (int) (offset / SpillFile.SEGMENT_SIZE);
+        int position = (int) (offset - segment * SpillFile.SEGMENT_SIZE);
+
+        ByteBuffer buffer = _segments[segment].asReadOnlyBuffer();
+        int length = buffer.getInt(position);
+        buffer.limit(position + SpillFile.RECORD_HEADER_SIZE + length);
+        buffer.position(position + SpillFile.RECORD_HEADER_SIZE);
+        return buffer.slice();
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param index the index of the record
+     * @return the record
+     * @throws IOException if the record could not be decoded
+     */
+    public T get(int index) throws IOException {
+        return _codec.decode(payload(index));
+    }
+
+    /**
+     * Iterates over every record in order. A record that could not be decoded is thrown as a {@link SpillException}.
+     *
+     * @return an iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int _next;
+
+            @Override
+            public boolean hasNext() {
+                return _next < _offsets.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return get(_next++);
+                } catch (IOException e) {
+                    throw new SpillException(e);
+                }
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the channel is closed once mapped
+    }
+}
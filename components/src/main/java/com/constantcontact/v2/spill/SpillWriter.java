@@ -0,0 +1,162 @@
+package com.constantcontact.v2.spill;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+
+/**
+ * Appends records to a spill file, to be read back with {@link SpillReader}. Opening an existing file continues it,
+ * dropping a last record that was cut short or fails its checksum, so a crawl can {@link #checkpoint()} as it goes
+ * and pick up where it stopped.
+ * <pre>{@code
+ * try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+ *     writer.appendAll(stream);
+ * }
+ * }</pre>
+ * Not thread safe.
+ *
+ * @param <T> the type of record
+ */
+public class SpillWriter<T> implements Closeable, Flushable {
+    private final RecordCodec<T> _codec;
+
+    private final RandomAccessFile _file;
+
+    private final FileChannel _channel;
+
+    private final DataOutputStream _out;
+
+    private final PayloadBuffer _payload = new PayloadBuffer();
+
+    private final DataOutputStream _payloadOut = new DataOutputStream(_payload);
+
+    private final CRC32 _crc = new CRC32();
+
+    private long _size;
+
+    /**
+     * Opens a spill file for appending, creating it if needed.
+     *
+     * @param file  the file
+     * @param codec writes the records
+     * @throws IOException if the file could not be opened, or is not a spill file
+     */
+    public SpillWriter(File file, RecordCodec<T> codec) throws IOException {
+        _codec = codec;
+        _file = new RandomAccessFile(file, "rw");
+        _channel = _file.getChannel();
+        try {
+            long end;
+            if (_channel.size() == 0) {
+                SpillFile.writeHeader(_channel);
+                end = SpillFile.HEADER_SIZE;
+            } else {
+                SpillFile.checkHeader(_channel);
+                SpillFile.Offsets offsets = new SpillFile.Offsets();
+                end = SpillFile.scan(SpillFile.map(_channel, _channel.size()), _channel.size(), offsets);
+                _size = offsets.size();
+                _channel.truncate(end);
+            }
+            _channel.position(end);
+        } catch (IOException e) {
+            _file.close();
+            throw e;
+        }
+        _out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(_channel), 64 * 1024));
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record the record
+     * @return the index of the record
+     * @throws IOException if the record could not be written, or is larger than 16 MB
+     */
+    public long append(T record) throws IOException {
+        _payload.reset();
+        _codec.encode(record, _payloadOut);
+        _payloadOut.flush();
+        if (_payload.size() > SpillFile.MAX_RECORD_SIZE) {
+            throw new IOException("Record of " + _payload.size() + " bytes is too large");
+        }
+
+        _out.writeInt(_payload.size());
+        _out.writeInt(SpillFile.checksum(_crc, _payload.array(), _payload.size()));
+        _payload.writeTo(_out);
+        return _size++;
+    }
+
+    /**
+     * Appends every remaining record, e.g. of a {@link com.constantcontact.v2.PagedStream}.
+     *
+     * @param records the records
+     * @return the number of records appended
+     * @throws IOException if a record could not be written
+     */
+    public long appendAll(Iterator<? extends T> records) throws IOException {
+        long count = 0;
+        while (records.hasNext()) {
+            append(records.next());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of records in the file
+     */
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Hands buffered records to the operating system, making them visible to new readers.
+     *
+     * @throws IOException if they could not be written
+     */
+    @Override
+    public void flush() throws IOException {
+        _out.flush();
+    }
+
+    /**
+     * Writes buffered records to the disk, so that they survive a crash.
+     *
+     * @throws IOException if they could not be written
+     */
+    public void checkpoint() throws IOException {
+        _out.flush();
+        _channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _out.flush();
+        } finally {
+            _file.close();
+        }
+    }
+
+    /**
+     * A payload buffer whose bytes can be checksummed without copying them.
+     */
+    private static final class PayloadBuffer extends ByteArrayOutputStream {
+        PayloadBuffer() {
+            super(256);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.constantcontact.v2.spill;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.ForwardReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.OptOutReport;
+import com.constantcontact.v2.tracking.SendReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+import com.constantcontact.v2.tracking.UnsubscribeSource;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A compact codec for every type of tracking report: the class of the report as a byte, the common fields, then the
+ * fields specific to the class.
+ */
+public class TrackingReportCodec implements RecordCodec<BaseTrackingReport> {
+    private static final byte BASE = 0;
+
+    private static final byte CLICK = 1;
+
+    private static final byte OPEN = 2;
+
+    private static final byte BOUNCE = 3;
+
+    private static final byte SEND = 4;
+
+    private static final byte FORWARD = 5;
+
+    private static final byte OPT_OUT = 6;
+
+    private static final TrackingReportType[] TYPES = TrackingReportType.values();
+
+    private static final BounceCode[] BOUNCE_CODES = BounceCode.values();
+
+    private static final UnsubscribeSource[] UNSUBSCRIBE_SOURCES = UnsubscribeSource.values();
+
+    @Override
+    public void encode(BaseTrackingReport report, DataOutput out) throws IOException {
+        if (report instanceof ClickReport) {
+            out.writeByte(CLICK);
+        } else if (report instanceof OpenReport) {
+            out.writeByte(OPEN);
+        } else if (report instanceof BounceReport) {
+            out.writeByte(BOUNCE);
+        } else if (report instanceof SendReport) {
+            out.writeByte(SEND);
+        } else if (report instanceof ForwardReport) {
+            out.writeByte(FORWARD);
+        } else if (report instanceof OptOutReport) {
+            out.writeByte(OPT_OUT);
+        } else {
+            out.writeByte(BASE);
+        }
+
+        RecordIO.writeEnum(out, report.getActivityType());
+        RecordIO.writeString(out, report.getCampaignId());
+        RecordIO.writeString(out, report.getContactId());
+        RecordIO.writeString(out, report.getEmailAddress());
+
+        if (report instanceof ClickReport) {
+            ClickReport click = (ClickReport) report;
+            RecordIO.writeDate(out, click.getClickDate());
+            RecordIO.writeString(out, click.getLinkId());
+            RecordIO.writeString(out, click.getLinkUri());
+        } else if (report instanceof OpenReport) {
+            RecordIO.writeDate(out, ((OpenReport) report).getOpenDate());
+        } else if (report instanceof BounceReport) {
+            BounceReport bounce = (BounceReport) report;
+            RecordIO.writeEnum(out, bounce.getBounceCode());
+            RecordIO.writeDate(out, bounce.getBounceDate());
+            RecordIO.writeString(out, bounce.getBounceDescription());
+            RecordIO.writeString(out, bounce.getBounceMessage());
+        } else if (report instanceof SendReport) {
+            RecordIO.writeDate(out, ((SendReport) report).getSendDate());
+        } else if (report instanceof ForwardReport) {
+            RecordIO.writeDate(out, ((ForwardReport) report).getForwardDate());
+        } else if (report instanceof OptOutReport) {
+            OptOutReport optOut = (OptOutReport) report;
+            RecordIO.writeDate(out, optOut.getUnsubscribeDate());
+            RecordIO.writeString(out, optOut.getUnsubscribeReason());
+            RecordIO.writeEnum(out, optOut.getUnsubscribeSource());
+        }
+    }
+
+    @Override
+    public BaseTrackingReport decode(ByteBuffer in) throws IOException {
+        byte kind = in.get();
+        TrackingReportType type = RecordIO.readEnum(in, TYPES);
+        String campaignId = RecordIO.readString(in);
+        String contactId = RecordIO.readString(in);
+        String emailAddress = RecordIO.readString(in);
+
+        BaseTrackingReport report;
+        switch (kind) {
+            case CLICK:
+                ClickReport click = new ClickReport();
+                click.setClickDate(RecordIO.readDate(in));
+                click.setLinkId(RecordIO.readString(in));
+                click.setLinkUri(RecordIO.readString(in));
+                report = click;
+                break;
+            case OPEN:
+                OpenReport open = new OpenReport();
+                open.setOpenDate(RecordIO.readDate(in));
+                report = open;
+                break;
+            case BOUNCE:
+                BounceReport bounce = new BounceReport();
+                bounce.setBounceCode(RecordIO.readEnum(in, BOUNCE_CODES));
+                bounce.setBounceDate(RecordIO.readDate(in));
+                bounce.setBounceDescription(RecordIO.readString(in));
+                bounce.setBounceMessage(RecordIO.readString(in));
+                report = bounce;
+                break;
+            case SEND:
+                SendReport send = new SendReport();
+                send.setSendDate(RecordIO.readDate(in));
+                report = send;
+                break;
+            case FORWARD:
+                ForwardReport forward = new ForwardReport();
+                forward.setForwardDate(RecordIO.readDate(in));
+                report = forward;
+                break;
+            case OPT_OUT:
+                OptOutReport optOut = new OptOutReport();
+                optOut.setUnsubscribeDate(RecordIO.readDate(in));
+                optOut.setUnsubscribeReason(RecordIO.readString(in));
+                optOut.setUnsubscribeSource(RecordIO.readEnum(in, UNSUBSCRIBE_SOURCES));
+                report = optOut;
+                break;
+            case BASE:
+                report = new BaseTrackingReport();
+                break;
+            default:
+                throw new IOException("Unknown report kind " + kind);
+        }
+
+        report.setActivityType(type);
+        report.setCampaignId(campaignId);
+        report.setContactId(contactId);
+        report.setEmailAddress(emailAddress);
+        return report;
+    }
+}
@@ -0,0 +1,188 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A map of {@code long} keys to {@code long} counts, using open addressing over two primitive arrays so that
+ * counting doesn't allocate. Not thread safe.
+ */
+public final class LongLongHashMap {
+    /**
+     * Visits the entries of a map.
+     */
+    public interface EntryVisitor {
+        void visit(long key, long value);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] _keys;
+
+    private long[] _values;
+
+    private int _size;
+
+    private boolean _hasEmptyKey;
+
+    private long _emptyKeyValue;
+
+    public LongLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a map sized for a number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public LongLongHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Adds to the value of a key, which starts at 0.
+     *
+     * @param key   the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public long add(long key, long delta) {
+        if (key == EMPTY) {
+            if (!_hasEmptyKey) {
+                _hasEmptyKey = true;
+                _size++;
+            }
+            return _emptyKeyValue += delta;
+        }
+
+        int mask = _keys.length - 1;
+        int slot = hash(key) & mask;
+        while (_keys[slot] != EMPTY) {
+            if (_keys[slot] == key) {
+                return _values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        _keys[slot] = key;
+        _values[slot] = delta;
+        if (++_size > _keys.length * 3 / 4) {
+            rehash(_keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key, or 0 if it was never added
+     */
+    public long get(long key) {
+        if (key == EMPTY) {
+            return _hasEmptyKey ? _emptyKeyValue : 0;
+        }
+
+        int mask = _keys.length - 1;
+        int slot = hash(key) & mask;
+        while (_keys[slot] != EMPTY) {
+            if (_keys[slot] == key) {
+                return _values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * @param key the key
+     * @return whether the key was ever added
+     */
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return _hasEmptyKey;
+        }
+
+        int mask = _keys.length - 1;
+        int slot = hash(key) & mask;
+        while (_keys[slot] != EMPTY) {
+            if (_keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Adds every value of another map to this one.
+     *
+     * @param other the other map
+     */
+    public void addAll(LongLongHashMap other) {
+        if (other._hasEmptyKey) {
+            add(EMPTY, other._emptyKeyValue);
+        }
+        long[] keys = other._keys;
+        long[] values = other._values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                add(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Visits every entry, in no particular order.
+     *
+     * @param visitor the visitor
+     */
+    public void forEach(EntryVisitor visitor) {
+        if (_hasEmptyKey) {
+            visitor.visit(EMPTY, _emptyKeyValue);
+        }
+        for (int i = 0; i < _keys.length; i++) {
+            if (_keys[i] != EMPTY) {
+                visitor.visit(_keys[i], _values[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        _keys = new long[capacity];
+        _values = new long[capacity];
+        Arrays.fill(_keys, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = _keys;
+        long[] values = _values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                int slot = hash(keys[i]) & mask;
+                while (_keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                _keys[slot] = keys[i];
+                _values[slot] = values[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        // Fibonacci hashing spreads sequential keys, such as hours, over the table
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,102 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Assigns each distinct string a dense {@code int} code, starting at 0, so that columns can store codes instead of
+ * strings. Uses open addressing over an {@code int} table to avoid boxing. Not thread safe.
+ */
+public final class StringDictionary {
+    private String[] _strings = new String[16];
+
+    private int[] _table = new int[32];
+
+    private int _size;
+
+    public StringDictionary() {
+        Arrays.fill(_table, -1);
+    }
+
+    /**
+     * Gets the code of a string, assigning the next code if the string is new.
+     *
+     * @param value the string
+     * @return the code
+     */
+    public int encode(String value) {
+        int mask = _table.length - 1;
+        int slot = slot(value, mask);
+        while (_table[slot] >= 0) {
+            if (_strings[_table[slot]].equals(value)) {
+                return _table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (_size == _strings.length) {
+            _strings = Arrays.copyOf(_strings, _size * 2);
+        }
+        int code = _size++;
+        _strings[code] = value;
+        _table[slot] = code;
+        if (_size * 2 > _table.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * Gets the code of a string without assigning one.
+     *
+     * @param value the string
+     * @return the code, or -1 if the string was never encoded
+     */
+    public int find(String value) {
+        int mask = _table.length - 1;
+        int slot = slot(value, mask);
+        while (_table[slot] >= 0) {
+            if (_strings[_table[slot]].equals(value)) {
+                return _table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @param code a code
+     * @return the string of the code
+     */
+    public String decode(int code) {
+        if (code < 0 || code >= _size) {
+            throw new IndexOutOfBoundsException("code " + code + ", size " + _size);
+        }
+        return _strings[code];
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    public int size() {
+        return _size;
+    }
+
+    private void rehash() {
+        int[] table = new int[_table.length * 2];
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        for (int code = 0; code < _size; code++) {
+            int slot = slot(_strings[code], mask);
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code;
+        }
+        _table = table;
+    }
+
+    private static int slot(String value, int mask) {
+        int h = value.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,263 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.ForwardReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.OptOutReport;
+import com.constantcontact.v2.tracking.SendReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Counts tracking activity as reports arrive: activity per type, clicks per link, bounces per {@link BounceCode} and
+ * activity per type per hour. Reports are counted and not kept, so memory grows with the number of distinct links
+ * and hours rather than with the number of reports.
+ * <p>
+ * Instances are not thread safe. To aggregate in parallel, give each worker its own instance and
+ * {@link #merge(TrackingAggregate) merge} them once done.
+ * <pre>{@code
+ * TrackingAggregate aggregate = new TrackingAggregate();
+ * while (stream.hasNext()) {
+ *     aggregate.add(stream.next());
+ * }
+ * long clicks = aggregate.getClickCount(linkId);
+ * }</pre>
+ */
+public class TrackingAggregate {
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+
+    private static final TrackingReportType[] TYPES = TrackingReportType.values();
+
+    private static final BounceCode[] BOUNCE_CODES = BounceCode.values();
+
+    private final long[] _countsByType = new long[TYPES.length];
+
+    private final long[] _bouncesByCode = new long[BOUNCE_CODES.length];
+
+    private final LongLongHashMap[] _countsByHour = new LongLongHashMap[TYPES.length];
+
+    private final LongLongHashMap _clicksByLink = new LongLongHashMap();
+
+    // Link IDs are numeric, this only holds those that aren't
+    private final Map<String, long[]> _clicksByOtherLink = new HashMap<>();
+
+    private long _total;
+
+    public TrackingAggregate() {
+        for (int i = 0; i < _countsByHour.length; i++) {
+            _countsByHour[i] = new LongLongHashMap();
+        }
+    }
+
+    /**
+     * Counts a report.
+     *
+     * @param report the report
+     */
+    public void add(BaseTrackingReport report) {
+        _total++;
+
+        Date date = null;
+        if (report instanceof ClickReport) {
+            ClickReport click = (ClickReport) report;
+            date = click.getClickDate();
+            addClick(click.getLinkId());
+        } else if (report instanceof OpenReport) {
+            date = ((OpenReport) report).getOpenDate();
+        } else if (report instanceof BounceReport) {
+            BounceReport bounce = (BounceReport) report;
+            date = bounce.getBounceDate();
+            if (bounce.getBounceCode() != null) {
+                _bouncesByCode[bounce.getBounceCode().ordinal()]++;
+            }
+        } else if (report instanceof SendReport) {
+            date = ((SendReport) report).getSendDate();
+        } else if (report instanceof ForwardReport) {
+            date = ((ForwardReport) report).getForwardDate();
+        } else if (report instanceof OptOutReport) {
+            date = ((OptOutReport) report).getUnsubscribeDate();
+        }
+
+        TrackingReportType type = report.getActivityType();
+        if (type != null) {
+            _countsByType[type.ordinal()]++;
+            if (date != null) {
+                _countsByHour[type.ordinal()].add(hour(date.getTime()), 1);
+            }
+        }
+    }
+
+    /**
+     * Counts every report.
+     *
+     * @param reports the reports
+     */
+    public void addAll(Iterable<? extends BaseTrackingReport> reports) {
+        addAll(reports.iterator());
+    }
+
+    /**
+     * Counts every remaining report, e.g. of a {@link com.constantcontact.v2.PagedStream}.
+     *
+     * @param reports the reports
+     */
+    public void addAll(Iterator<? extends BaseTrackingReport> reports) {
+        while (reports.hasNext()) {
+            add(reports.next());
+        }
+    }
+
+    /**
+     * Adds the counts of another aggregate to this one.
+     *
+     * @param other the other aggregate, which is left unchanged
+     */
+    public void merge(TrackingAggregate other) {
+        _total += other._total;
+        for (int i = 0; i < _countsByType.length; i++) {
+            _countsByType[i] += other._countsByType[i];
+            _countsByHour[i].addAll(other._countsByHour[i]);
+        }
+        for (int i = 0; i < _bouncesByCode.length; i++) {
+            _bouncesByCode[i] += other._bouncesByCode[i];
+        }
+        _clicksByLink.addAll(other._clicksByLink);
+        for (Map.Entry<String, long[]> entry : other._clicksByOtherLink.entrySet()) {
+            otherLinkCount(entry.getKey())[0] += entry.getValue()[0];
+        }
+    }
+
+    /**
+     * @return the number of reports counted
+     */
+    public long getTotalCount() {
+        return _total;
+    }
+
+    /**
+     * @param type the activity type
+     * @return the number of reports of the type
+     */
+    public long getCount(TrackingReportType type) {
+        return _countsByType[type.ordinal()];
+    }
+
+    /**
+     * @param code the bounce code
+     * @return the number of bounces with the code
+     */
+    public long getBounceCount(BounceCode code) {
+        return _bouncesByCode[code.ordinal()];
+    }
+
+    /**
+     * @param linkId the link ID
+     * @return the number of clicks of the link
+     */
+    public long getClickCount(String linkId) {
+        long numericId = numericLinkId(linkId);
+        if (numericId >= 0) {
+            return _clicksByLink.get(numericId);
+        }
+        long[] count = _clicksByOtherLink.get(linkId);
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * @return a snapshot of the number of clicks of each link, by link ID
+     */
+    public Map<String, Long> getClickCountsByLink() {
+        final Map<String, Long> counts = new HashMap<>(_clicksByLink.size() + _clicksByOtherLink.size());
+        _clicksByLink.forEach(new LongLongHashMap.EntryVisitor() {
+            @Override
+            public void visit(long key, long value) {
+                counts.put(Long.toString(key), value);
+            }
+        });
+        for (Map.Entry<String, long[]> entry : _clicksByOtherLink.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @param type the activity type
+     * @param hour any time within the hour
+     * @return the number of reports of the type within the hour
+     */
+    public long getHourlyCount(TrackingReportType type, Date hour) {
+        return _countsByHour[type.ordinal()].get(hour(hour.getTime()));
+    }
+
+    /**
+     * @param type the activity type
+     * @return a snapshot of the number of reports of the type per hour, by the start of each hour
+     */
+    public SortedMap<Date, Long> getHourlyCounts(TrackingReportType type) {
+        final SortedMap<Date, Long> counts = new TreeMap<>();
+        _countsByHour[type.ordinal()].forEach(new LongLongHashMap.EntryVisitor() {
+            @Override
+            public void visit(long key, long value) {
+                counts.put(new Date(key * MILLIS_PER_HOUR), value);
+            }
+        });
+        return Collections.unmodifiableSortedMap(counts);
+    }
+
+    private void addClick(String linkId) {
+        if (linkId == null) {
+            return;
+        }
+        long numericId = numericLinkId(linkId);
+        if (numericId >= 0) {
+            _clicksByLink.add(numericId, 1);
+        } else {
+            otherLinkCount(linkId)[0]++;
+        }
+    }
+
+    private long[] otherLinkCount(String linkId) {
+        long[] count = _clicksByOtherLink.get(linkId);
+        if (count == null) {
+            count = new long[1];
+            _clicksByOtherLink.put(linkId, count);
+        }
+        return count;
+    }
+
+    /**
+     * Parses a link ID without allocating.
+     *
+     * @return the ID, or -1 if it isn't a non-negative number of at most 18 digits
+     */
+    private static long numericLinkId(String linkId) {
+        int length = linkId.length();
+        if (length == 0 || length > 18 || (length > 1 && linkId.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = linkId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long hour(long millis) {
+        long hour = millis / MILLIS_PER_HOUR;
+        return millis < 0 && hour * MILLIS_PER_HOUR != millis ? hour - 1 : hour;
+    }
+}
@@ -0,0 +1,604 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.ForwardReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.OptOutReport;
+import com.constantcontact.v2.tracking.SendReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+import com.constantcontact.v2.tracking.UnsubscribeSource;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+
+/**
+ * Holds tracking reports in columns rather than as objects: strings are dictionary encoded, dates are stored as
+ * {@code long} milliseconds and enums as {@code byte} ordinals. A row takes about 21 bytes, plus 4 bytes for each
+ * type-specific column in use, such as the link of clicks; each distinct string is stored once.
+ * <p>
+ * Rows are appended with {@link #append(BaseTrackingReport)}, e.g. straight from a
+ * {@link com.constantcontact.v2.PagedStream}, and read by row index, with {@link #forEach(EventFilter, EventVisitor)}
+ * or with {@link #countBy(EventFilter, GroupKey)}. Instances are not thread safe while appending; once appending is
+ * done, they can be read by many threads.
+ * <pre>{@code
+ * TrackingEventStore store = new TrackingEventStore();
+ * store.appendAll(stream);
+ * LongLongHashMap clicksByLink = store.countBy(TrackingEventStore.ofType(TrackingReportType.EMAIL_CLICK),
+ *                                              TrackingEventStore.BY_LINK_ID);
+ * }</pre>
+ */
+public class TrackingEventStore {
+    /**
+     * Selects rows.
+     */
+    public interface EventFilter {
+        boolean accept(TrackingEventStore store, int row);
+    }
+
+    /**
+     * Visits rows.
+     */
+    public interface EventVisitor {
+        void visit(TrackingEventStore store, int row);
+    }
+
+    /**
+     * Computes the group of a row, e.g. a dictionary code or an ordinal.
+     */
+    public interface GroupKey {
+        long key(TrackingEventStore store, int row);
+    }
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    public static final EventFilter ALL = new EventFilter() {
+        @Override
+        public boolean accept(TrackingEventStore store, int row) {
+            return true;
+        }
+    };
+
+    /**
+     * Groups by {@link TrackingReportType} ordinal.
+     */
+    public static final GroupKey BY_TYPE = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            return store._types[row];
+        }
+    };
+
+    /**
+     * Groups by campaign ID code, see {@link #getCampaignIds()}.
+     */
+    public static final GroupKey BY_CAMPAIGN = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            return store._campaigns.get(row);
+        }
+    };
+
+    /**
+     * Groups by contact ID code, see {@link #getContactIds()}.
+     */
+    public static final GroupKey BY_CONTACT = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            return store._contacts.get(row);
+        }
+    };
+
+    /**
+     * Groups by link ID code, see {@link #getLinks()}.
+     */
+    public static final GroupKey BY_LINK_ID = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            return store._linkIds.get(row);
+        }
+    };
+
+    /**
+     * Groups by {@link BounceCode} ordinal.
+     */
+    public static final GroupKey BY_BOUNCE_CODE = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            return store._bounceCodes.get(row);
+        }
+    };
+
+    /**
+     * Groups by hour, as the number of hours since the epoch.
+     */
+    public static final GroupKey BY_HOUR = new GroupKey() {
+        @Override
+        public long key(TrackingEventStore store, int row) {
+            long date = store._dates[row];
+            return date == NO_DATE ? NO_DATE : floorDiv(date, MILLIS_PER_HOUR);
+        }
+    };
+
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+
+    private static final TrackingReportType[] TYPES = TrackingReportType.values();
+
+    private static final BounceCode[] BOUNCE_CODES = BounceCode.values();
+
+    private static final UnsubscribeSource[] UNSUBSCRIBE_SOURCES = UnsubscribeSource.values();
+
+    private final StringDictionary _campaignIds = new StringDictionary();
+
+    private final StringDictionary _contactIds = new StringDictionary();
+
+    private final StringDictionary _emailAddresses = new StringDictionary();
+
+    private final StringDictionary _links = new StringDictionary();
+
+    private final StringDictionary _texts = new StringDictionary();
+
+    private int _size;
+
+    private byte[] _types;
+
+    private long[] _dates;
+
+    private final IntColumn _campaigns = new IntColumn();
+
+    private final IntColumn _contacts = new IntColumn();
+
+    private final IntColumn _emails = new IntColumn();
+
+    private final IntColumn _linkIds = new IntColumn();
+
+    private final IntColumn _linkUris = new IntColumn();
+
+    private final ByteColumn _bounceCodes = new ByteColumn();
+
+    private final IntColumn _bounceDescriptions = new IntColumn();
+
+    private final IntColumn _bounceMessages = new IntColumn();
+
+    private final ByteColumn _unsubscribeSources = new ByteColumn();
+
+    private final IntColumn _unsubscribeReasons = new IntColumn();
+
+    public TrackingEventStore() {
+        this(1024);
+    }
+
+    /**
+     * Creates a store sized for a number of rows.
+     *
+     * @param expectedSize the expected number of rows
+     */
+    public TrackingEventStore(int expectedSize) {
+        _types = new byte[Math.max(16, expectedSize)];
+        _dates = new long[_types.length];
+    }
+
+    /**
+     * Appends a report as a new row.
+     *
+     * @param report the report
+     * @return the row index
+     */
+    public int append(BaseTrackingReport report) {
+        if (_size == _types.length) {
+            int capacity = Math.max(16, _size + (_size >> 1));
+            _types = Arrays.copyOf(_types, capacity);
+            _dates = Arrays.copyOf(_dates, capacity);
+        }
+        int row = _size;
+
+        TrackingReportType type = report.getActivityType();
+        _types[row] = (byte) (type != null ? type.ordinal() : -1);
+        _campaigns.set(row, encode(_campaignIds, report.getCampaignId()));
+        _contacts.set(row, encode(_contactIds, report.getContactId()));
+        _emails.set(row, encode(_emailAddresses, report.getEmailAddress()));
+
+        Date date = null;
+        if (report instanceof ClickReport) {
+            ClickReport click = (ClickReport) report;
+            date = click.getClickDate();
+            _linkIds.set(row, encode(_links, click.getLinkId()));
+            _linkUris.set(row, encode(_links, click.getLinkUri()));
+        } else if (report instanceof OpenReport) {
+            date = ((OpenReport) report).getOpenDate();
+        } else if (report instanceof BounceReport) {
+            BounceReport bounce = (BounceReport) report;
+            date = bounce.getBounceDate();
+            _bounceCodes.set(row, bounce.getBounceCode() != null ? bounce.getBounceCode().ordinal() : -1);
+            _bounceDescriptions.set(row, encode(_texts, bounce.getBounceDescription()));
+            _bounceMessages.set(row, encode(_texts, bounce.getBounceMessage()));
+        } else if (report instanceof SendReport) {
+            date = ((SendReport) report).getSendDate();
+        } else if (report instanceof ForwardReport) {
+            date = ((ForwardReport) report).getForwardDate();
+        } else if (report instanceof OptOutReport) {
+            OptOutReport optOut = (OptOutReport) report;
+            date = optOut.getUnsubscribeDate();
+            _unsubscribeSources.set(row, optOut.getUnsubscribeSource() != null
+                                         ? optOut.getUnsubscribeSource().ordinal() : -1);
+            _unsubscribeReasons.set(row, encode(_texts, optOut.getUnsubscribeReason()));
+        }
+        _dates[row] = date != null ? date.getTime() : NO_DATE;
+
+        _size++;
+        return row;
+    }
+
+    /**
+     * Appends every report.
+     *
+     * @param reports the reports
+     */
+    public void appendAll(Iterable<? extends BaseTrackingReport> reports) {
+        appendAll(reports.iterator());
+    }
+
+    /**
+     * Appends every remaining report, e.g. of a {@link com.constantcontact.v2.PagedStream}, without holding more
+     * than one of them at a time.
+     *
+     * @param reports the reports
+     */
+    public void appendAll(Iterator<? extends BaseTrackingReport> reports) {
+        while (reports.hasNext()) {
+            append(reports.next());
+        }
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Releases unused capacity, e.g. once a campaign is fully loaded.
+     */
+    public void trimToSize() {
+        _types = Arrays.copyOf(_types, Math.max(1, _size));
+        _dates = Arrays.copyOf(_dates, Math.max(1, _size));
+        for (IntColumn column : new IntColumn[]{_campaigns, _contacts, _emails, _linkIds, _linkUris,
+                _bounceDescriptions, _bounceMessages, _unsubscribeReasons}) {
+            column.trimToSize(_size);
+        }
+        _bounceCodes.trimToSize(_size);
+        _unsubscribeSources.trimToSize(_size);
+    }
+
+    public TrackingReportType getType(int row) {
+        int ordinal = _types[check(row)];
+        return ordinal >= 0 ? TYPES[ordinal] : null;
+    }
+
+    /**
+     * @param row the row index
+     * @return the date of the activity in milliseconds, or {@link #NO_DATE}
+     */
+    public long getDate(int row) {
+        return _dates[check(row)];
+    }
+
+    public String getCampaignId(int row) {
+        return decode(_campaignIds, _campaigns.get(check(row)));
+    }
+
+    public String getContactId(int row) {
+        return decode(_contactIds, _contacts.get(check(row)));
+    }
+
+    public String getEmailAddress(int row) {
+        return decode(_emailAddresses, _emails.get(check(row)));
+    }
+
+    public String getLinkId(int row) {
+        return decode(_links, _linkIds.get(check(row)));
+    }
+
+    public String getLinkUri(int row) {
+        return decode(_links, _linkUris.get(check(row)));
+    }
+
+    public BounceCode getBounceCode(int row) {
+        int ordinal = _bounceCodes.get(check(row));
+        return ordinal >= 0 ? BOUNCE_CODES[ordinal] : null;
+    }
+
+    public String getBounceDescription(int row) {
+        return decode(_texts, _bounceDescriptions.get(check(row)));
+    }
+
+    public String getBounceMessage(int row) {
+        return decode(_texts, _bounceMessages.get(check(row)));
+    }
+
+    public UnsubscribeSource getUnsubscribeSource(int row) {
+        int ordinal = _unsubscribeSources.get(check(row));
+        return ordinal >= 0 ? UNSUBSCRIBE_SOURCES[ordinal] : null;
+    }
+
+    public String getUnsubscribeReason(int row) {
+        return decode(_texts, _unsubscribeReasons.get(check(row)));
+    }
+
+    /**
+     * @return the dictionary of the codes used by {@link #BY_CAMPAIGN}
+     */
+    public StringDictionary getCampaignIds() {
+        return _campaignIds;
+    }
+
+    /**
+     * @return the dictionary of the codes used by {@link #BY_CONTACT}
+     */
+    public StringDictionary getContactIds() {
+        return _contactIds;
+    }
+
+    /**
+     * @return the dictionary of the codes used by {@link #BY_LINK_ID}
+     */
+    public StringDictionary getLinks() {
+        return _links;
+    }
+
+    /**
+     * Creates the report of a row, e.g. to hand a few rows to code expecting reports.
+     *
+     * @param row the row index
+     * @return a new report
+     */
+    public BaseTrackingReport toReport(int row) {
+        TrackingReportType type = getType(row);
+        Date date = _dates[row] != NO_DATE ? new Date(_dates[row]) : null;
+
+        BaseTrackingReport report;
+        if (type == TrackingReportType.EMAIL_CLICK) {
+            ClickReport click = new ClickReport();
+            click.setClickDate(date);
+            click.setLinkId(getLinkId(row));
+            click.setLinkUri(getLinkUri(row));
+            report = click;
+        } else if (type == TrackingReportType.EMAIL_OPEN) {
+            OpenReport open = new OpenReport();
+            open.setOpenDate(date);
+            report = open;
+        } else if (type == TrackingReportType.EMAIL_BOUNCE) {
+            BounceReport bounce = new BounceReport();
+            bounce.setBounceDate(date);
+            bounce.setBounceCode(getBounceCode(row));
+            bounce.setBounceDescription(getBounceDescription(row));
+            bounce.setBounceMessage(getBounceMessage(row));
+            report = bounce;
+        } else if (type == TrackingReportType.EMAIL_SEND) {
+            SendReport send = new SendReport();
+            send.setSendDate(date);
+            report = send;
+        } else if (type == TrackingReportType.EMAIL_FORWARD) {
+            ForwardReport forward = new ForwardReport();
+            forward.setForwardDate(date);
+            report = forward;
+        } else if (type == TrackingReportType.EMAIL_UNSUBSCRIBE) {
+            OptOutReport optOut = new OptOutReport();
+            optOut.setUnsubscribeDate(date);
+            optOut.setUnsubscribeSource(getUnsubscribeSource(row));
+            optOut.setUnsubscribeReason(getUnsubscribeReason(row));
+            report = optOut;
+        } else {
+            report = new BaseTrackingReport();
+        }
+        report.setActivityType(type);
+        report.setCampaignId(getCampaignId(row));
+        report.setContactId(getContactId(row));
+        report.setEmailAddress(getEmailAddress(row));
+        return report;
+    }
+
+    /**
+     * Visits every row accepted by a filter, in the order the rows were appended.
+     *
+     * @param filter  the filter, e.g. {@link #ALL}
+     * @param visitor the visitor
+     */
+    public void forEach(EventFilter filter, EventVisitor visitor) {
+        int size = _size;
+        for (int row = 0; row < size; row++) {
+            if (filter.accept(this, row)) {
+                visitor.visit(this, row);
+            }
+        }
+    }
+
+    /**
+     * Counts the rows accepted by a filter.
+     *
+     * @param filter the filter
+     * @return the number of rows
+     */
+    public int count(EventFilter filter) {
+        int count = 0;
+        int size = _size;
+        for (int row = 0; row < size; row++) {
+            if (filter.accept(this, row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the rows accepted by a filter per group.
+     *
+     * @param filter the filter
+     * @param group  the grouping, e.g. {@link #BY_LINK_ID}
+     * @return the number of rows per group key; rows without a value are counted under -1, or under
+     * {@link #NO_DATE} for {@link #BY_HOUR}
+     */
+    public LongLongHashMap countBy(EventFilter filter, GroupKey group) {
+        LongLongHashMap counts = new LongLongHashMap();
+        int size = _size;
+        for (int row = 0; row < size; row++) {
+            if (filter.accept(this, row)) {
+                counts.add(group.key(this, row), 1);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @param type the activity type
+     * @return a filter accepting rows of the type
+     */
+    public static EventFilter ofType(TrackingReportType type) {
+        final byte ordinal = (byte) type.ordinal();
+        return new EventFilter() {
+            @Override
+            public boolean accept(TrackingEventStore store, int row) {
+                return store._types[row] == ordinal;
+            }
+        };
+    }
+
+    /**
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return a filter accepting rows dated within the range
+     */
+    public static EventFilter between(Date from, Date to) {
+        final long start = from.getTime();
+        final long end = to.getTime();
+        return new EventFilter() {
+            @Override
+            public boolean accept(TrackingEventStore store, int row) {
+                long date = store._dates[row];
+                return date != NO_DATE && date >= start && date < end;
+            }
+        };
+    }
+
+    /**
+     * @param contactId the contact ID
+     * @return a filter accepting rows of the contact in this store
+     */
+    public EventFilter ofContact(String contactId) {
+        final int code = _contactIds.find(contactId);
+        return new EventFilter() {
+            @Override
+            public boolean accept(TrackingEventStore store, int row) {
+                return code >= 0 && store._contacts.get(row) == code;
+            }
+        };
+    }
+
+    /**
+     * @param filters the filters
+     * @return a filter accepting rows accepted by every filter
+     */
+    public static EventFilter and(final EventFilter... filters) {
+        return new EventFilter() {
+            @Override
+            public boolean accept(TrackingEventStore store, int row) {
+                for (EventFilter filter : filters) {
+                    if (!filter.accept(store, row)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= _size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + _size);
+        }
+        return row;
+    }
+
+    private static int encode(StringDictionary dictionary, String value) {
+        return value != null ? dictionary.encode(value) : -1;
+    }
+
+    private static String decode(StringDictionary dictionary, int code) {
+        return code >= 0 ? dictionary.decode(code) : null;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && (x < 0) != (y < 0)) ? q - 1 : q;
+    }
+
+    /**
+     * A column of codes that is only allocated once a row has a value, so that columns specific to one type of
+     * report cost nothing in stores without that type.
+     */
+    private static final class IntColumn {
+        private int[] _values;
+
+        int get(int row) {
+            return _values != null && row < _values.length ? _values[row] : -1;
+        }
+
+        void set(int row, int value) {
+            if (value < 0 && (_values == null || row >= _values.length)) {
+                // Rows past the end already read as -1
+                return;
+            }
+            if (_values == null) {
+                _values = new int[Math.max(16, row + 1)];
+                Arrays.fill(_values, -1);
+            } else if (row >= _values.length) {
+                int length = _values.length;
+                _values = Arrays.copyOf(_values, Math.max(row + 1, length + (length >> 1)));
+                Arrays.fill(_values, length, _values.length, -1);
+            }
+            _values[row] = value;
+        }
+
+        void trimToSize(int size) {
+            if (_values != null && _values.length > size) {
+                _values = Arrays.copyOf(_values, size);
+            }
+        }
+    }
+
+    /**
+     * A column of ordinals, allocated like {@link IntColumn}.
+     */
+    private static final class ByteColumn {
+        private byte[] _values;
+
+        int get(int row) {
+            return _values != null && row < _values.length ? _values[row] : -1;
+        }
+
+        void set(int row, int value) {
+            if (value < 0 && (_values == null || row >= _values.length)) {
+                return;
+            }
+            if (_values == null) {
+                _values = new byte[Math.max(16, row + 1)];
+                Arrays.fill(_values, (byte) -1);
+            } else if (row >= _values.length) {
+                int length = _values.length;
+                _values = Arrays.copyOf(_values, Math.max(row + 1, length + (length >> 1)));
+                Arrays.fill(_values, length, _values.length, (byte) -1);
+            }
+            _values[row] = (byte) value;
+        }
+
+        void trimToSize(int size) {
+            if (_values != null && _values.length > size) {
+                _values = Arrays.copyOf(_values, size);
+            }
+        }
+    }
+}
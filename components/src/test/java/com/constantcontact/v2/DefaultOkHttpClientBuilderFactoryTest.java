@@ -0,0 +1,59 @@
+package com.constantcontact.v2;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ */
+public class DefaultOkHttpClientBuilderFactoryTest {
+    @Test
+    public void expectThatDefaults_WillMatchPreviousClient() throws Exception {
+        OkHttpClient client = new DefaultOkHttpClientBuilderFactory().create("key", "token").build();
+
+        assertThat(client.readTimeoutMillis(), is(10000));
+        assertThat(client.connectTimeoutMillis(), is(5000));
+        assertThat(client.dispatcher().getMaxRequestsPerHost(), is(5));
+    }
+
+    @Test
+    public void expectThatSettings_WillBeApplied() throws Exception {
+        DefaultOkHttpClientBuilderFactory factory = new DefaultOkHttpClientBuilderFactory();
+        HttpClientSettings settings = HttpClientSettings.highThroughput();
+        settings.setProtocols(Collections.singletonList(Protocol.HTTP_1_1));
+        factory.setHttpClientSettings(settings);
+
+        OkHttpClient client = factory.create("key", "token").build();
+
+        assertThat(client.dispatcher().getMaxRequests(), is(256));
+        assertThat(client.dispatcher().getMaxRequestsPerHost(), is(64));
+        assertThat(client.readTimeoutMillis(), is(30000));
+        assertThat(client.protocols(), is(Collections.singletonList(Protocol.HTTP_1_1)));
+    }
+
+    @Test
+    public void expectThatClients_WillShareConnectionPoolAndDispatcher() throws Exception {
+        DefaultOkHttpClientBuilderFactory factory = new DefaultOkHttpClientBuilderFactory();
+        OkHttpClient first = factory.create("key", "first").build();
+        OkHttpClient second = factory.create("key", "second").build();
+
+        assertThat(second.connectionPool(), is(sameInstance(first.connectionPool())));
+        assertThat(second.dispatcher(), is(sameInstance(first.dispatcher())));
+
+        factory.setHttpClientSettings(HttpClientSettings.highThroughput());
+        OkHttpClient third = factory.create("key", "third").build();
+        assertThat(third.dispatcher(), is(not(sameInstance(first.dispatcher()))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectThatProtocolsWithoutHttp11_WillBeRejected() throws Exception {
+        HttpClientSettings.defaults().setProtocols(Collections.singletonList(Protocol.HTTP_2));
+    }
+}
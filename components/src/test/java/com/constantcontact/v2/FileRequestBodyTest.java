@@ -0,0 +1,71 @@
+package com.constantcontact.v2;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class FileRequestBodyTest {
+    @Rule
+    public TemporaryFolder _folder = new TemporaryFolder();
+
+    @Test
+    public void expectThatWriting_WillStreamFileAndReportProgress() throws Exception {
+        final byte[] content = new byte[(int) FileRequestBody.PROGRESS_INTERVAL * 2 + 100];
+        new Random(1).nextBytes(content);
+        Path path = _folder.newFile("image.png").toPath();
+        Files.write(path, content);
+
+        final List<Long> progress = new ArrayList<>();
+        FileRequestBody body = FileRequestBody.create(MediaType.parse("image/png"), path, new UploadProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                assertThat(contentLength, is((long) content.length));
+                progress.add(bytesWritten);
+            }
+        });
+
+        assertThat(body.contentLength(), is((long) content.length));
+        assertThat(body.contentType(), is(MediaType.parse("image/png")));
+
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+        assertThat(sink.readByteArray(), is(content));
+        assertThat(progress, contains(FileRequestBody.PROGRESS_INTERVAL, FileRequestBody.PROGRESS_INTERVAL * 2,
+                                      (long) content.length));
+
+        // Retries write the body again
+        body.writeTo(sink);
+        assertThat(sink.size(), is((long) content.length));
+    }
+
+    @Test
+    public void expectThatFileChangedAfterCreation_WillFailWriting() throws Exception {
+        Path path = _folder.newFile("report.pdf").toPath();
+        Files.write(path, new byte[1000]);
+        FileRequestBody body = FileRequestBody.create(null, path);
+
+        Files.write(path, new byte[10]);
+        try {
+            body.writeTo(new Buffer());
+            fail();
+        } catch (IOException e) {
+            assertThat(e.getMessage().contains("expected 1000 bytes but read 10"), is(true));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.constantcontact.v2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ */
+public class FileWatermarkStoreTest {
+    @Rule
+    public TemporaryFolder _folder = new TemporaryFolder();
+
+    @Test
+    public void expectThatSavedWatermarks_WillBeReadBack() throws Exception {
+        File file = new File(_folder.getRoot(), "sync/watermarks.properties");
+        Watermark opens = new Watermark(new Date(1000), new Date(2000), "v2/emailmarketing/campaigns/1/tracking/opens");
+        Watermark clicks = new Watermark(new Date(3000), null, null);
+
+        FileWatermarkStore store = new FileWatermarkStore(file);
+        store.save("campaign/1/opens", opens);
+        store.save("campaign/1/clicks", clicks);
+
+        FileWatermarkStore reopened = new FileWatermarkStore(file);
+        assertThat(reopened.load("campaign/1/opens"), is(opens));
+        assertThat(reopened.load("campaign/1/clicks"), is(clicks));
+        assertThat(reopened.load("campaign/2/opens"), is(nullValue()));
+    }
+
+    @Test
+    public void expectThatSaving_WillClearFieldsThatAreNoLongerSet() throws Exception {
+        FileWatermarkStore store = new FileWatermarkStore(_folder.newFile());
+        store.save("campaign/1/opens", new Watermark(null, new Date(2000), "next"));
+        store.save("campaign/1/opens", new Watermark(new Date(2000), null, null));
+
+        assertThat(store.load("campaign/1/opens"), is(new Watermark(new Date(2000), null, null)));
+    }
+
+    @Test
+    public void expectThatRemovedWatermarks_WillBeGone() throws Exception {
+        File file = _folder.newFile();
+        FileWatermarkStore store = new FileWatermarkStore(file);
+        store.save("campaign/1/opens", new Watermark(new Date(1000), null, null));
+        store.remove("campaign/1/opens");
+
+        assertThat(new FileWatermarkStore(file).load("campaign/1/opens"), is(nullValue()));
+        assertThat(_folder.getRoot().list().length, is(1));
+    }
+}
@@ -0,0 +1,119 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ */
+public class MetricsInterceptorTest {
+    private final List<String> _events = new CopyOnWriteArrayList<>();
+
+    private final ApiMetrics _metrics = new ApiMetrics() {
+        @Override
+        public void onResponse(String method, String route, int code, long requestBytes, long latencyNanos) {
+            _events.add("response " + method + " " + route + " " + code + " " + requestBytes);
+        }
+
+        @Override
+        public void onResponseBody(String method, String route, int code, long responseBytes, long durationNanos) {
+            _events.add("body " + method + " " + route + " " + code + " " + responseBytes);
+        }
+
+        @Override
+        public void onRetry(String method, String route, int retry, int code) {
+            _events.add("retry " + method + " " + route + " " + retry + " " + code);
+        }
+
+        @Override
+        public void onParse(Type type, long durationNanos, boolean success) {
+            _events.add("parse " + ((Class<?>) type).getSimpleName() + " " + success);
+        }
+    };
+
+    private MockWebServer _server;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatRoutes_WillReplaceIds() {
+        assertThat(route("v2/lists/1/contacts?limit=5"), is("v2/lists/{id}/contacts"));
+        assertThat(route("v2/emailmarketing/campaigns/1100394165290/tracking/"),
+                   is("v2/emailmarketing/campaigns/{id}/tracking"));
+        assertThat(route("v2/library/files/uploadstatus/17,18"), is("v2/library/files/uploadstatus/{id}"));
+    }
+
+    @Test
+    public void expectThatEachAttempt_WillBeReported() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(503));
+        _server.enqueue(new MockResponse().setBody("hello"));
+
+        RetryPolicy policy = new RetryPolicy();
+        policy.setBaseDelayMillis(1);
+        MetricsInterceptor interceptor = new MetricsInterceptor(_metrics);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(policy, interceptor))
+                .addInterceptor(interceptor)
+                .build();
+
+        Request request = new Request.Builder()
+                .url(_server.url("/v2/contacts/42"))
+                .put(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.body().string(), is("hello"));
+        }
+
+        assertThat(_events, contains("response PUT v2/contacts/{id} 503 2",
+                                     "retry PUT v2/contacts/{id} 1 503",
+                                     "body PUT v2/contacts/{id} 503 0",
+                                     "response PUT v2/contacts/{id} 200 2",
+                                     "body PUT v2/contacts/{id} 200 5"));
+    }
+
+    @Test
+    public void expectThatParsing_WillBeReported() throws IOException {
+        JacksonConverterFactory factory = JacksonConverterFactory.create(new ObjectMapper(), _metrics);
+        ResponseBody body = ResponseBody.create(MediaType.parse("application/json"), "{\"id\":\"1\"}");
+
+        Contact contact = (Contact) factory.responseBodyConverter(Contact.class, new Annotation[0], null).convert(body);
+
+        assertThat(contact.getId(), is("1"));
+        assertThat(_events, contains("parse Contact true"));
+    }
+
+    private static String route(String path) {
+        return MetricsInterceptor.route(HttpUrl.parse("https://api.constantcontact.com/" + path));
+    }
+}
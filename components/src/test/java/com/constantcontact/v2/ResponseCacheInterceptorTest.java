@@ -0,0 +1,217 @@
+package com.constantcontact.v2;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class ResponseCacheInterceptorTest {
+    private MockWebServer _server;
+
+    private ResponseCache _cache;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+        _cache = new ResponseCache(ResponseCache.DEFAULT_MAX_BYTES, 16);
+        _cache.addRule("v2/lists/{listId}", 1, TimeUnit.MINUTES);
+        _cache.addRule("v2/account/info", 0, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatFreshEntries_WillBeServedWithoutRequest() throws Exception {
+        _server.enqueue(new MockResponse().setBody("list"));
+        OkHttpClient client = client("token");
+
+        assertThat(get(client, "/v2/lists/1"), is("list"));
+        assertThat(get(client, "/v2/lists/1"), is("list"));
+
+        assertThat(_server.getRequestCount(), is(1));
+        assertThat(_cache.getHitCount(), is(1L));
+        assertThat(_cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void expectThatExpiredEntries_WillBeRevalidated() throws Exception {
+        _server.enqueue(new MockResponse().setBody("info").setHeader("ETag", "\"v1\""));
+        _server.enqueue(new MockResponse().setResponseCode(304));
+        OkHttpClient client = client("token");
+
+        assertThat(get(client, "/v2/account/info"), is("info"));
+        assertThat(get(client, "/v2/account/info"), is("info"));
+
+        _server.takeRequest();
+        RecordedRequest conditional = _server.takeRequest();
+        assertThat(conditional.getHeader("If-None-Match"), is("\"v1\""));
+        assertThat(_cache.getRevalidationCount(), is(1L));
+    }
+
+    @Test
+    public void expectThatWrites_WillInvalidateEntries() throws Exception {
+        _server.enqueue(new MockResponse().setBody("list"));
+        _server.enqueue(new MockResponse().setBody("{}"));
+        _server.enqueue(new MockResponse().setBody("renamed"));
+        OkHttpClient client = client("token");
+
+        assertThat(get(client, "/v2/lists/1"), is("list"));
+        Request put = new Request.Builder()
+                .url(_server.url("/v2/lists/1"))
+                .put(RequestBody.create(null, "{}"))
+                .build();
+        client.newCall(put).execute().close();
+        assertThat(get(client, "/v2/lists/1"), is("renamed"));
+
+        assertThat(_server.getRequestCount(), is(3));
+    }
+
+    @Test
+    public void expectThatFailedWrites_WillInvalidateEntries() throws Exception {
+        _server.enqueue(new MockResponse().setBody("list"));
+        _server.enqueue(new MockResponse().setBody("renamed"));
+        OkHttpClient client = client("token").newBuilder()
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) throws IOException {
+                        if (!chain.request().method().equals("GET")) {
+                            throw new IOException("timeout");
+                        }
+                        return chain.proceed(chain.request());
+                    }
+                })
+                .build();
+
+        assertThat(get(client, "/v2/lists/1"), is("list"));
+        Request put = new Request.Builder()
+                .url(_server.url("/v2/lists/1"))
+                .put(RequestBody.create(null, "{}"))
+                .build();
+        try {
+            client.newCall(put).execute();
+            fail();
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("timeout"));
+        }
+
+        assertThat(get(client, "/v2/lists/1"), is("renamed"));
+    }
+
+    @Test
+    public void expectThatReadsStartedBeforeWrites_WillNotBeCached() throws Exception {
+        final CountDownLatch written = new CountDownLatch(1);
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getMethod().equals("GET")) {
+                    written.await(5, TimeUnit.SECONDS);
+                    return new MockResponse().setBody("list");
+                }
+                return new MockResponse().setBody("{}");
+            }
+        });
+        final OkHttpClient client = client("token");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> read = executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return get(client, "/v2/lists/1");
+                }
+            });
+            while (_server.getRequestCount() == 0) {
+                Thread.sleep(10);
+            }
+            Request put = new Request.Builder()
+                    .url(_server.url("/v2/lists/1"))
+                    .put(RequestBody.create(null, "{}"))
+                    .build();
+            client.newCall(put).execute().close();
+            written.countDown();
+
+            assertThat(read.get(5, TimeUnit.SECONDS), is("list"));
+            assertThat(_cache.getEntryCount(), is(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void expectThatUncacheableResponses_WillNotCountAsMisses() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(404));
+        _server.enqueue(new MockResponse().setBody("list").setHeader("Cache-Control", "no-store"));
+        OkHttpClient client = client("token");
+
+        get(client, "/v2/lists/1");
+        get(client, "/v2/lists/2");
+
+        assertThat(_cache.getMissCount(), is(0L));
+        assertThat(_cache.getEntryCount(), is(0));
+    }
+
+    @Test
+    public void expectThatAccounts_WillNotShareEntries() throws Exception {
+        _server.enqueue(new MockResponse().setBody("first"));
+        _server.enqueue(new MockResponse().setBody("second"));
+
+        assertThat(get(client("first"), "/v2/lists/1"), is("first"));
+        assertThat(get(client("second"), "/v2/lists/1"), is("second"));
+        assertThat(_cache.getEntryCount(), is(2));
+    }
+
+    @Test
+    public void expectThatUnmatchedAndLargeResponses_WillNotBeCached() throws Exception {
+        _server.enqueue(new MockResponse().setBody("contacts"));
+        _server.enqueue(new MockResponse().setBody("contacts"));
+        _server.enqueue(new MockResponse().setBody("a list larger than the limit"));
+        OkHttpClient client = client("token");
+
+        get(client, "/v2/contacts");
+        get(client, "/v2/contacts");
+        assertThat(get(client, "/v2/lists/1"), is("a list larger than the limit"));
+
+        assertThat(_server.getRequestCount(), is(3));
+        assertThat(_cache.getEntryCount(), is(0));
+        assertThat(_cache.get(_server.url("/v2/lists/1") + " "), is(nullValue()));
+    }
+
+    private OkHttpClient client(String token) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new CCApiInterceptor("key", token))
+                .addInterceptor(new ResponseCacheInterceptor(_cache))
+                .build();
+    }
+
+    private String get(OkHttpClient client, String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(_server.url(path)).build()).execute()) {
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.constantcontact.v2;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ */
+public class RetryInterceptorTest {
+    private MockWebServer _server;
+
+    private RetryPolicy _policy;
+
+    private List<Integer> _retriedCodes;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        _retriedCodes = new ArrayList<>();
+        _policy = new RetryPolicy();
+        _policy.setBaseDelayMillis(1);
+        _policy.setRetryListener(new RetryListener() {
+            @Override
+            public void onRetry(Request request, int retry, int code, IOException failure, long delayMillis) {
+                _retriedCodes.add(code);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatGet_WillBeRetriedOnTransientStatus() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(503));
+        _server.enqueue(new MockResponse().setResponseCode(429));
+        _server.enqueue(new MockResponse().setBody("ok"));
+
+        Response response = execute(new Request.Builder().url(_server.url("/contacts")).build());
+
+        assertThat(response.body().string(), is("ok"));
+        assertThat(_server.getRequestCount(), is(3));
+        assertThat(_retriedCodes, contains(503, 429));
+    }
+
+    @Test
+    public void expectThatPost_WillNotBeRetried() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(503));
+
+        Response response = execute(new Request.Builder()
+                                            .url(_server.url("/contacts"))
+                                            .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                                            .build());
+
+        assertThat(response.code(), is(503));
+        assertThat(_server.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void expectThatClientError_WillNotBeRetried() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(404));
+
+        Response response = execute(new Request.Builder().url(_server.url("/contacts/1")).build());
+
+        assertThat(response.code(), is(404));
+        assertThat(_server.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void expectThatRetryAfter_WillBeHonored() throws Exception {
+        _server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        _server.enqueue(new MockResponse().setBody("ok"));
+
+        long start = System.currentTimeMillis();
+        Response response = execute(new Request.Builder().url(_server.url("/contacts")).build());
+
+        assertThat(response.code(), is(200));
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void expectThatRetryAfter_WillNotBeWaitedForPastMaxDelay() throws Exception {
+        _policy.setMaxDelayMillis(500);
+        _server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "3600"));
+
+        Response response = execute(new Request.Builder().url(_server.url("/contacts")).build());
+
+        assertThat(response.code(), is(503));
+        assertThat(_server.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void expectThatRetries_WillStopWhenBudgetIsSpent() throws Exception {
+        _policy.setMaxBudget(2);
+        _policy.setBudgetRatio(0);
+        for (int i = 0; i < 10; i++) {
+            _server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        Response response = execute(new Request.Builder().url(_server.url("/contacts")).build());
+
+        assertThat(response.code(), is(500));
+        assertThat(_server.getRequestCount(), is(3));
+    }
+
+    private Response execute(Request request) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(_policy)).build();
+        return client.newCall(request).execute();
+    }
+}
@@ -0,0 +1,298 @@
+package com.constantcontact.v2;
+
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class SingleFlightCallAdapterFactoryTest {
+    interface Service {
+        @GET("items/{id}")
+        Call<ResponseBody> getItem(@Path("id") String id);
+
+        @GET("items/{id}")
+        Call<String> getItemAsString(@Path("id") String id);
+
+        @GET("items/{id}")
+        Call<Integer> getItemAsNumber(@Path("id") String id);
+
+        @POST("items/{id}")
+        Call<ResponseBody> postItem(@Path("id") String id);
+    }
+
+    private final CountDownLatch _release = new CountDownLatch(1);
+
+    private MockWebServer _server;
+
+    private Service _service;
+
+    private SingleFlightCallAdapterFactory _factory;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                _release.await(5, TimeUnit.SECONDS);
+                if (request.getPath().endsWith("missing")) {
+                    return new MockResponse().setResponseCode(404).setBody("not found");
+                }
+                return new MockResponse().setBody(request.getPath());
+            }
+        });
+        _server.start();
+
+        _factory = SingleFlightCallAdapterFactory.create();
+        _service = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(new Converter.Factory() {
+                    @Override
+                    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                                            Retrofit retrofit) {
+                        if (type == Integer.class) {
+                            return new Converter<ResponseBody, Integer>() {
+                                @Override
+                                public Integer convert(ResponseBody value) {
+                                    throw new AssertionError("Broken converter");
+                                }
+                            };
+                        }
+                        if (type != String.class) {
+                            return null;
+                        }
+                        return new Converter<ResponseBody, String>() {
+                            @Override
+                            public String convert(ResponseBody value) throws IOException {
+                                return value.string();
+                            }
+                        };
+                    }
+                })
+                .addCallAdapterFactory(_factory)
+                .build()
+                .create(Service.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _release.countDown();
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatConcurrentIdenticalCalls_WillShareOneRequest() throws Exception {
+        final List<String> bodies = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(4);
+        Thread leader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    bodies.add(_service.getItemAsString("1").execute().body());
+                } catch (IOException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        leader.start();
+        _server.takeRequest();
+
+        for (int i = 0; i < 3; i++) {
+            _service.getItemAsString("1").enqueue(new Callback<String>() {
+                @Override
+                public void onResponse(Call<String> call, Response<String> response) {
+                    bodies.add(response.body());
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Call<String> call, Throwable t) {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(_factory.getInFlightCount(), is(1));
+        _release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(bodies, contains("/items/1", "/items/1", "/items/1", "/items/1"));
+        assertThat(_server.getRequestCount(), is(1));
+        assertThat(_factory.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void expectThatErrorBodies_WillBeReadableByEveryCall() throws Exception {
+        final List<String> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(2);
+        Callback<String> callback = new Callback<String>() {
+            @Override
+            public void onResponse(Call<String> call, Response<String> response) {
+                try {
+                    errors.add(response.code() + " " + response.errorBody().string());
+                } catch (IOException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }
+
+            @Override
+            public void onFailure(Call<String> call, Throwable t) {
+                done.countDown();
+            }
+        };
+
+        _service.getItemAsString("missing").enqueue(callback);
+        _server.takeRequest();
+        _service.getItemAsString("missing").enqueue(callback);
+        _release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(errors, contains("404 not found", "404 not found"));
+        assertThat(_server.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void expectThatErrors_WillCompleteTheFlight() throws Exception {
+        final List<Throwable> failures = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(2);
+        Thread leader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    _service.getItemAsNumber("1").execute();
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        leader.start();
+        _server.takeRequest();
+
+        _service.getItemAsNumber("1").enqueue(new Callback<Integer>() {
+            @Override
+            public void onResponse(Call<Integer> call, Response<Integer> response) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call<Integer> call, Throwable t) {
+                failures.add(t);
+                done.countDown();
+            }
+        });
+        _release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(failures.size(), is(2));
+        assertThat(failures.get(0), instanceOf(AssertionError.class));
+        assertThat(failures.get(1), instanceOf(AssertionError.class));
+        assertThat(_factory.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void expectThatCanceledWaitingCalls_WillFailRightAway() throws Exception {
+        Call<String> leader = _service.getItemAsString("1");
+        leader.enqueue(new Callback<String>() {
+            @Override
+            public void onResponse(Call<String> call, Response<String> response) {
+            }
+
+            @Override
+            public void onFailure(Call<String> call, Throwable t) {
+            }
+        });
+        _server.takeRequest();
+
+        final Call<String> executed = _service.getItemAsString("1");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response<String>> execution = executor.submit(new Callable<Response<String>>() {
+                @Override
+                public Response<String> call() throws Exception {
+                    return executed.execute();
+                }
+            });
+            final List<Throwable> failures = new CopyOnWriteArrayList<>();
+            final CountDownLatch failed = new CountDownLatch(1);
+            Call<String> enqueued = _service.getItemAsString("1");
+            enqueued.enqueue(new Callback<String>() {
+                @Override
+                public void onResponse(Call<String> call, Response<String> response) {
+                }
+
+                @Override
+                public void onFailure(Call<String> call, Throwable t) {
+                    failures.add(t);
+                    failed.countDown();
+                }
+            });
+
+            while (!executed.isExecuted()) {
+                Thread.sleep(10);
+            }
+            executed.cancel();
+            enqueued.cancel();
+
+            try {
+                execution.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause().getMessage(), is("Canceled"));
+            }
+            assertThat(failed.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(failures.get(0).getMessage(), is("Canceled"));
+            // The call making the request is unaffected
+            assertThat(_factory.getInFlightCount(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void expectThatOtherCalls_WillNotBeShared() throws Exception {
+        _release.countDown();
+
+        _service.getItemAsString("1").execute();
+        _service.getItemAsString("1").execute();
+        _service.getItem("1").execute().body().close();
+        _service.postItem("1").execute().body().close();
+
+        assertThat(_server.getRequestCount(), is(4));
+    }
+}
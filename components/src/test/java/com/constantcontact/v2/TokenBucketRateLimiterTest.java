@@ -0,0 +1,76 @@
+package com.constantcontact.v2;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ */
+public class TokenBucketRateLimiterTest {
+    @Test
+    public void expectThatAcquiring_WillPaceRequestsAfterBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 5, 0);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("key");
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lessThan(50L));
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire("key");
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(180L));
+    }
+
+    @Test
+    public void expectThatKeys_WillHaveSeparateBuckets() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 0);
+
+        long start = System.nanoTime();
+        limiter.acquire("a");
+        limiter.acquire("b");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lessThan(500L));
+    }
+
+    @Test
+    public void expectThatInFlightRequests_WillBeCapped() throws Exception {
+        final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10000, 10000, 2);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(8);
+
+        for (int t = 0; t < 8; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 10; i++) {
+                            limiter.acquire("key");
+                            int current = inFlight.incrementAndGet();
+                            synchronized (maxInFlight) {
+                                maxInFlight.set(Math.max(maxInFlight.get(), current));
+                            }
+                            Thread.sleep(1);
+                            inFlight.decrementAndGet();
+                            limiter.release("key");
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(maxInFlight.get(), is(2));
+    }
+}
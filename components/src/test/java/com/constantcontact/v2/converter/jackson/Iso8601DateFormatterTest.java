@@ -0,0 +1,99 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.constantcontact.v2.QueryDate;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class Iso8601DateFormatterTest {
+    private static final long DATE = 1456933286123L;
+
+    private static final String FORMATTED = "2016-03-02T15:41:26.123Z";
+
+    @Test
+    public void expectThatFormatting_WillUseUtcWithMilliseconds() {
+        assertThat(Iso8601DateFormatter.format(DATE), is(FORMATTED));
+        assertThat(Iso8601DateFormatter.format(new Date(0)), is("1970-01-01T00:00:00.000Z"));
+        assertThat(Iso8601DateFormatter.format(-1L), is("1969-12-31T23:59:59.999Z"));
+        assertThat(new QueryDate(DATE).toString(), is(FORMATTED));
+    }
+
+    @Test
+    public void expectThatParsing_WillAcceptApiVariants() {
+        assertThat(Iso8601DateFormatter.parseMillis(FORMATTED), is(DATE));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02T15:41:26.123456Z"), is(DATE));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02T15:41:26.1Z"), is(DATE - 23));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02T15:41:26Z"), is(DATE - 123));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02T10:41:26.123-05:00"), is(DATE));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02T16:41:26.123+0100"), is(DATE));
+        assertThat(Iso8601DateFormatter.parseMillis("2016-03-02"), is(1456876800000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectThatParsingGarbage_WillThrow() {
+        Iso8601DateFormatter.parseMillis("2016-03-02T15:41");
+    }
+
+    @Test
+    public void expectThatFormatting_WillMatchSimpleDateFormatAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final long seed = t;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        SimpleDateFormat reference = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+                        reference.setTimeZone(TimeZone.getTimeZone("UTC"));
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 20000; i++) {
+                            long millis = (long) (random.nextDouble() * 4102444800000L);
+                            String formatted = Iso8601DateFormatter.format(millis);
+                            if (!formatted.equals(reference.format(new Date(millis)))
+                                    || Iso8601DateFormatter.parseMillis(formatted) != millis) {
+                                return "mismatch for " + millis;
+                            }
+                        }
+                        return "ok";
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(), is("ok"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void expectThatModelDates_WillRoundTripThroughConverterMapper() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JacksonConverterFactory.create(mapper);
+
+        ClickReport report = new ClickReport();
+        report.setClickDate(new Date(DATE));
+        String json = mapper.writeValueAsString(report);
+
+        assertThat(json, containsString("\"click_date\":\"" + FORMATTED + "\""));
+        assertThat(mapper.readValue(json, ClickReport.class).getClickDate(), is(new Date(DATE)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.constantcontact.v2.PagedStream;
+import com.constantcontact.v2.campaigns.Campaign;
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.Response;
+import retrofit2.http.Body;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Url;
+
+import java.lang.annotation.Annotation;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class JacksonConverterFactoryTest {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    interface Service {
+        @GET("contacts/1")
+        Call<Contact> getContact();
+
+        @PUT("campaigns/1")
+        Call<Campaign> updateCampaign(@Body Campaign campaign);
+
+        @GET
+        Call<PagedStream<BaseTrackingReport>> streamReports(@Url String nextLink);
+
+        @GET("files/1")
+        Call<ResponseBody> getFile();
+
+        @DELETE("contacts/1")
+        Call<Response<Void>> deleteContact();
+
+        @POST("files")
+        Call<ResponseBody> uploadFile(@Body MultipartBody body);
+    }
+
+    static class CampaignHolder {
+        public Campaign campaign;
+    }
+
+    @Test
+    public void expectThatWarmUp_WillBuildReadersAndWritersOfServiceTypes() {
+        JacksonConverterFactory factory = JacksonConverterFactory.create(new ObjectMapper());
+
+        assertThat(factory.warmUp(Service.class), is(4));
+        assertThat(factory.reader(Contact.class), sameInstance(factory.reader(Contact.class)));
+        assertThat(factory.writer(Campaign.class), sameInstance(factory.writer(Campaign.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void expectThatFilters_WillApplyToFilteredModels() throws Exception {
+        JacksonConverterFactory factory = JacksonConverterFactory.create(new ObjectMapper());
+        Campaign campaign = new Campaign();
+        campaign.setId("1");
+        campaign.setName("Spring");
+        Contact contact = new Contact();
+        contact.setId("2");
+        CampaignHolder holder = new CampaignHolder();
+        holder.campaign = campaign;
+
+        Converter<Campaign, RequestBody> campaignConverter = (Converter<Campaign, RequestBody>) factory
+                .requestBodyConverter(Campaign.class, NO_ANNOTATIONS, NO_ANNOTATIONS, null);
+        Converter<Contact, RequestBody> contactConverter = (Converter<Contact, RequestBody>) factory
+                .requestBodyConverter(Contact.class, NO_ANNOTATIONS, NO_ANNOTATIONS, null);
+
+        String campaignJson = write(campaignConverter.convert(campaign));
+        assertThat(campaignJson, containsString("\"name\":\"Spring\""));
+        assertThat(campaignJson, not(containsString("\"id\"")));
+        assertThat(write(contactConverter.convert(contact)), containsString("\"id\":\"2\""));
+
+        Converter<CampaignHolder, RequestBody> holderConverter = (Converter<CampaignHolder, RequestBody>) factory
+                .requestBodyConverter(CampaignHolder.class, NO_ANNOTATIONS, NO_ANNOTATIONS, null);
+        String holderJson = write(holderConverter.convert(holder));
+        assertThat(holderJson, containsString("\"name\":\"Spring\""));
+        assertThat(holderJson, not(containsString("\"id\"")));
+    }
+
+    private static String write(RequestBody body) throws Exception {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readUtf8();
+    }
+}
@@ -0,0 +1,92 @@
+package com.constantcontact.v2.converter.jackson;
+
+import com.constantcontact.v2.PagedStream;
+import com.constantcontact.v2.PagedStreamException;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class JacksonPagedStreamTest {
+    private static final String REPORTS = "[{\"activity_type\":\"EMAIL_CLICK\",\"contact_id\":\"1\",\"link_id\":\"7\"},"
+            + "{\"activity_type\":\"EMAIL_BOUNCE\",\"contact_id\":\"2\",\"bounce_code\":\"B\"}]";
+
+    private static final String META = "{\"pagination\":{\"next_link\":\"/v2/contacts?next=abc\"}}";
+
+    @Test
+    public void expectThatResults_WillBeParsedOneAtATime() throws Exception {
+        PagedStream<BaseTrackingReport> stream = stream("{\"meta\":" + META + ",\"results\":" + REPORTS + "}");
+
+        assertThat(stream.getNextLink(), is("v2/contacts?next=abc"));
+        assertThat(stream.hasNext(), is(true));
+        BaseTrackingReport click = stream.next();
+        assertThat(click, instanceOf(ClickReport.class));
+        assertThat(((ClickReport) click).getLinkId(), is("7"));
+        BaseTrackingReport bounce = stream.next();
+        assertThat(bounce, instanceOf(BounceReport.class));
+        assertThat(bounce.getContactId(), is("2"));
+        assertThat(stream.hasNext(), is(false));
+    }
+
+    @Test
+    public void expectThatTrailingMeta_WillBeReadAfterResults() throws Exception {
+        PagedStream<BaseTrackingReport> stream = stream("{\"results\":" + REPORTS + ",\"meta\":" + META + "}");
+
+        assertThat(stream.next().getContactId(), is("1"));
+        assertThat(stream.getNextLink(), is("v2/contacts?next=abc"));
+        assertThat(stream.hasNext(), is(false));
+    }
+
+    @Test
+    public void expectThatMissingNextLink_WillReturnNull() throws Exception {
+        PagedStream<BaseTrackingReport> stream = stream("{\"meta\":{\"pagination\":{}},\"results\":[]}");
+
+        assertThat(stream.hasNext(), is(false));
+        assertThat(stream.getNextLink(), is(nullValue()));
+    }
+
+    @Test
+    public void expectThatClosedStream_WillEndIteration() throws Exception {
+        PagedStream<BaseTrackingReport> stream = stream("{\"results\":" + REPORTS + ",\"meta\":" + META + "}");
+        stream.next();
+        stream.close();
+
+        assertThat(stream.hasNext(), is(false));
+        try {
+            stream.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+        try {
+            stream.getNextLink();
+            fail();
+        } catch (PagedStreamException expected) {
+        }
+
+        PagedStream<BaseTrackingReport> read = stream("{\"meta\":" + META + ",\"results\":" + REPORTS + "}");
+        read.close();
+        assertThat(read.hasNext(), is(false));
+        assertThat(read.getNextLink(), is("v2/contacts?next=abc"));
+    }
+
+    private static PagedStream<BaseTrackingReport> stream(String json) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JacksonPagedStreamConverter<BaseTrackingReport> converter =
+                new JacksonPagedStreamConverter<>(mapper.readerFor(BaseTrackingReport.class));
+        return converter.convert(ResponseBody.create(MediaType.parse("application/json"), json));
+    }
+}
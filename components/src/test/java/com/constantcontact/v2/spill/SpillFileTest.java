@@ -0,0 +1,212 @@
+package com.constantcontact.v2.spill;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.EmailAddress;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.OptOutReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+import com.constantcontact.v2.tracking.UnsubscribeSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ */
+public class SpillFileTest {
+    @Rule
+    public TemporaryFolder _folder = new TemporaryFolder();
+
+    @Test
+    public void expectThatTrackingReports_WillReadBackAsWritten() throws Exception {
+        File file = _folder.newFile();
+        List<BaseTrackingReport> reports = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            reports.add(click("contact" + i, "link" + (i % 7)));
+        }
+        reports.add(bounce());
+        reports.add(optOut());
+
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            assertThat(writer.appendAll(reports.iterator()), is(1002L));
+        }
+
+        SpillReader<BaseTrackingReport> reader = new SpillReader<>(file, new TrackingReportCodec());
+        assertThat(reader.size(), is(1002));
+        assertThat((BounceReport) reader.get(1000), is((BounceReport) reports.get(1000)));
+        assertThat((OptOutReport) reader.get(1001), is((OptOutReport) reports.get(1001)));
+        assertThat((ClickReport) reader.get(500), is((ClickReport) reports.get(500)));
+
+        int index = 0;
+        for (BaseTrackingReport report : reader) {
+            assertThat(report.getContactId(), is(reports.get(index++).getContactId()));
+        }
+        assertThat(index, is(1002));
+    }
+
+    @Test
+    public void expectThatContacts_WillReadBackAsWritten() throws Exception {
+        File file = _folder.newFile();
+        Contact contact = new Contact();
+        contact.setId("1");
+        contact.setFirstName("Ada");
+        EmailAddress email = new EmailAddress();
+        email.setEmailAddress("ada@example.com");
+        contact.setEmailAddresses(new EmailAddress[]{email});
+
+        try (SpillWriter<Contact> writer = new SpillWriter<>(file, new SerializableCodec<>(Contact.class))) {
+            writer.append(contact);
+        }
+
+        SpillReader<Contact> reader = new SpillReader<>(file, new SerializableCodec<>(Contact.class));
+        assertThat(reader.get(0), is(contact));
+    }
+
+    @Test
+    public void expectThatContacts_WillReadBackAsWrittenAsJson() throws Exception {
+        File file = _folder.newFile();
+        Contact contact = new Contact();
+        contact.setId("1");
+        contact.setFirstName("Ada");
+        EmailAddress email = new EmailAddress();
+        email.setEmailAddress("ada@example.com");
+        contact.setEmailAddresses(new EmailAddress[]{email});
+
+        try (SpillWriter<Contact> writer = new SpillWriter<>(file, new JacksonCodec<>(Contact.class))) {
+            writer.append(contact);
+            writer.append(new Contact());
+        }
+
+        SpillReader<Contact> reader = new SpillReader<>(file, new JacksonCodec<>(Contact.class));
+        assertThat(reader.size(), is(2));
+        assertThat(reader.get(0), is(contact));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void expectThatSerializedClassesOutsideModels_WillBeRejected() throws Exception {
+        File file = _folder.newFile();
+        ArrayList<Object> record = new ArrayList<>();
+        record.add(new File("/etc/passwd"));
+        try (SpillWriter<ArrayList> writer = new SpillWriter<>(file, new SerializableCodec<>(ArrayList.class))) {
+            writer.append(record);
+        }
+
+        new SpillReader<>(file, new SerializableCodec<>(ArrayList.class)).get(0);
+    }
+
+    @Test
+    public void expectThatZeroFilledTail_WillNotBeReadAsRecords() throws Exception {
+        File file = _folder.newFile();
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            writer.append(click("a", "l"));
+            writer.append(click("b", "l"));
+        }
+        // Simulate a crash after the file was extended but before the records reached the disk
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() + 4096);
+        }
+
+        SpillReader<BaseTrackingReport> reader = new SpillReader<>(file, new TrackingReportCodec());
+        assertThat(reader.size(), is(2));
+
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            assertThat(writer.size(), is(2L));
+            writer.append(click("c", "l"));
+        }
+        reader = new SpillReader<>(file, new TrackingReportCodec());
+        assertThat(reader.size(), is(3));
+        assertThat(reader.get(2).getContactId(), is("c"));
+    }
+
+    @Test
+    public void expectThatCorruptRecord_WillEndTheFile() throws Exception {
+        File file = _folder.newFile();
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            writer.append(click("a", "l"));
+            writer.append(click("b", "l"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 1);
+        }
+
+        assertThat(new SpillReader<>(file, new TrackingReportCodec()).size(), is(1));
+    }
+
+    @Test
+    public void expectThatReopening_WillAppendAfterLastCompleteRecord() throws Exception {
+        File file = _folder.newFile();
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            writer.append(click("a", "l"));
+            writer.append(click("b", "l"));
+        }
+        // Simulate a crash in the middle of writing the second record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (SpillWriter<BaseTrackingReport> writer = new SpillWriter<>(file, new TrackingReportCodec())) {
+            assertThat(writer.size(), is(1L));
+            writer.append(click("c", "l"));
+            writer.checkpoint();
+        }
+
+        SpillReader<BaseTrackingReport> reader = new SpillReader<>(file, new TrackingReportCodec());
+        assertThat(reader.size(), is(2));
+        assertThat(reader.get(0).getContactId(), is("a"));
+        assertThat(reader.get(1).getContactId(), is("c"));
+    }
+
+    @Test(expected = IOException.class)
+    public void expectThatOtherFiles_WillBeRejected() throws Exception {
+        File file = _folder.newFile();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeBytes("{\"results\":[]}");
+        }
+        new SpillReader<>(file, new TrackingReportCodec());
+    }
+
+    private static ClickReport click(String contactId, String linkId) {
+        ClickReport report = new ClickReport();
+        report.setActivityType(TrackingReportType.EMAIL_CLICK);
+        report.setCampaignId("1100394165290");
+        report.setContactId(contactId);
+        report.setEmailAddress(contactId + "@example.com");
+        report.setClickDate(new Date(1000));
+        report.setLinkId(linkId);
+        report.setLinkUri("http://example.com/\u00e9");
+        return report;
+    }
+
+    private static BounceReport bounce() {
+        BounceReport report = new BounceReport();
+        report.setActivityType(TrackingReportType.EMAIL_BOUNCE);
+        report.setBounceCode(BounceCode.F);
+        report.setBounceMessage("Mailbox full");
+        return report;
+    }
+
+    private static OptOutReport optOut() {
+        OptOutReport report = new OptOutReport();
+        report.setActivityType(TrackingReportType.EMAIL_UNSUBSCRIBE);
+        report.setUnsubscribeDate(new Date(2000));
+        report.setUnsubscribeSource(UnsubscribeSource.values()[0]);
+        report.setUnsubscribeReason("Too many emails");
+        return report;
+    }
+}
@@ -0,0 +1,61 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class LongLongHashMapTest {
+    @Test
+    public void expectThatCounts_WillMatchHashMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000) - 2500;
+            map.add(key, 1);
+            Long count = expected.get(key);
+            expected.put(key, count == null ? 1 : count + 1);
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey()), is(entry.getValue()));
+        }
+        assertThat(map.get(10000), is(0L));
+        assertThat(map.containsKey(10000), is(false));
+    }
+
+    @Test
+    public void expectThatSentinelKey_WillBeCounted() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.add(Long.MIN_VALUE, 3);
+        map.add(0, 1);
+
+        assertThat(map.get(Long.MIN_VALUE), is(3L));
+        assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void expectThatAddAll_WillSumValues() {
+        LongLongHashMap first = new LongLongHashMap();
+        first.add(1, 2);
+        first.add(2, 1);
+        LongLongHashMap second = new LongLongHashMap();
+        second.add(2, 5);
+        second.add(Long.MIN_VALUE, 1);
+
+        first.addAll(second);
+
+        assertThat(first.get(1), is(2L));
+        assertThat(first.get(2), is(6L));
+        assertThat(first.get(Long.MIN_VALUE), is(1L));
+        assertThat(first.size(), is(3));
+    }
+}
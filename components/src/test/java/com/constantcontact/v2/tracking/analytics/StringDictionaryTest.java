@@ -0,0 +1,31 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class StringDictionaryTest {
+    @Test
+    public void expectThatStrings_WillGetDenseStableCodes() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 10000; i++) {
+            assertThat(dictionary.encode("contact" + i), is(i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertThat(dictionary.encode("contact" + i), is(i));
+            assertThat(dictionary.decode(i), is("contact" + i));
+        }
+
+        assertThat(dictionary.size(), is(10000));
+        assertThat(dictionary.find("contact42"), is(42));
+        assertThat(dictionary.find("missing"), is(-1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void expectThatUnknownCode_WillBeRejected() {
+        new StringDictionary().decode(0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class TrackingAggregateTest {
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Test
+    public void expectThatReports_WillBeCountedByTypeLinkCodeAndHour() {
+        TrackingAggregate aggregate = new TrackingAggregate();
+        aggregate.add(click("1100394163400", 10 * HOUR + 5));
+        aggregate.add(click("1100394163400", 10 * HOUR + 7));
+        aggregate.add(click("custom", 11 * HOUR));
+        aggregate.add(open(10 * HOUR + 1));
+        aggregate.add(bounce(BounceCode.F));
+
+        assertThat(aggregate.getTotalCount(), is(5L));
+        assertThat(aggregate.getCount(TrackingReportType.EMAIL_CLICK), is(3L));
+        assertThat(aggregate.getCount(TrackingReportType.EMAIL_OPEN), is(1L));
+        assertThat(aggregate.getClickCount("1100394163400"), is(2L));
+        assertThat(aggregate.getClickCount("custom"), is(1L));
+        assertThat(aggregate.getClickCount("missing"), is(0L));
+        assertThat(aggregate.getBounceCount(BounceCode.F), is(1L));
+        assertThat(aggregate.getHourlyCount(TrackingReportType.EMAIL_CLICK, new Date(10 * HOUR + 30)), is(2L));
+
+        SortedMap<Date, Long> hourly = aggregate.getHourlyCounts(TrackingReportType.EMAIL_CLICK);
+        assertThat(hourly.size(), is(2));
+        assertThat(hourly.firstKey(), is(new Date(10 * HOUR)));
+
+        Map<String, Long> byLink = aggregate.getClickCountsByLink();
+        assertThat(byLink.get("1100394163400"), is(2L));
+        assertThat(byLink.get("custom"), is(1L));
+    }
+
+    @Test
+    public void expectThatMerging_WillMatchAggregatingTogether() {
+        TrackingAggregate first = new TrackingAggregate();
+        first.add(click("1", HOUR));
+        first.add(bounce(BounceCode.B));
+        TrackingAggregate second = new TrackingAggregate();
+        second.add(click("1", HOUR));
+        second.add(click("x", 2 * HOUR));
+        second.add(bounce(BounceCode.B));
+
+        first.merge(second);
+
+        assertThat(first.getTotalCount(), is(5L));
+        assertThat(first.getClickCount("1"), is(2L));
+        assertThat(first.getClickCount("x"), is(1L));
+        assertThat(first.getBounceCount(BounceCode.B), is(2L));
+        assertThat(first.getHourlyCount(TrackingReportType.EMAIL_CLICK, new Date(HOUR)), is(2L));
+        assertThat(second.getTotalCount(), is(3L));
+    }
+
+    private static ClickReport click(String linkId, long date) {
+        ClickReport report = new ClickReport();
+        report.setActivityType(TrackingReportType.EMAIL_CLICK);
+        report.setLinkId(linkId);
+        report.setClickDate(new Date(date));
+        return report;
+    }
+
+    private static OpenReport open(long date) {
+        OpenReport report = new OpenReport();
+        report.setActivityType(TrackingReportType.EMAIL_OPEN);
+        report.setOpenDate(new Date(date));
+        return report;
+    }
+
+    private static BounceReport bounce(BounceCode code) {
+        BounceReport report = new BounceReport();
+        report.setActivityType(TrackingReportType.EMAIL_BOUNCE);
+        report.setBounceCode(code);
+        return report;
+    }
+}
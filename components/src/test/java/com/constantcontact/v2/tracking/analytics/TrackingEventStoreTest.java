@@ -0,0 +1,109 @@
+package com.constantcontact.v2.tracking.analytics;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceCode;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.TrackingReportType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class TrackingEventStoreTest {
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Test
+    public void expectThatRows_WillReadBackAsAppended() {
+        TrackingEventStore store = new TrackingEventStore(1);
+        ClickReport click = click("c1", "l1", 5 * HOUR);
+        BounceReport bounce = bounce("c2", BounceCode.F);
+        OpenReport open = open("c1", HOUR);
+        store.append(click);
+        store.append(bounce);
+        store.append(open);
+        store.trimToSize();
+        store.append(open("c3", 2 * HOUR));
+
+        assertThat(store.size(), is(4));
+        assertThat((ClickReport) store.toReport(0), is(click));
+        assertThat((BounceReport) store.toReport(1), is(bounce));
+        assertThat((OpenReport) store.toReport(2), is(open));
+        assertThat(store.getLinkId(2), is(nullValue()));
+        assertThat(store.getBounceCode(0), is(nullValue()));
+        assertThat(store.getContactId(3), is("c3"));
+        assertThat(store.getDate(1), is(TrackingEventStore.NO_DATE));
+    }
+
+    @Test
+    public void expectThatRows_WillBeFilteredAndGrouped() {
+        TrackingEventStore store = new TrackingEventStore();
+        store.append(click("c1", "l1", HOUR));
+        store.append(click("c2", "l1", HOUR + 10));
+        store.append(click("c1", "l2", 3 * HOUR));
+        store.append(open("c1", HOUR));
+        store.append(bounce("c3", BounceCode.B));
+
+        TrackingEventStore.EventFilter clicks = TrackingEventStore.ofType(TrackingReportType.EMAIL_CLICK);
+        LongLongHashMap byLink = store.countBy(clicks, TrackingEventStore.BY_LINK_ID);
+        assertThat(byLink.get(store.getLinks().find("l1")), is(2L));
+        assertThat(byLink.get(store.getLinks().find("l2")), is(1L));
+
+        LongLongHashMap byHour = store.countBy(TrackingEventStore.ALL, TrackingEventStore.BY_HOUR);
+        assertThat(byHour.get(1), is(3L));
+        assertThat(byHour.get(TrackingEventStore.NO_DATE), is(1L));
+
+        assertThat(store.count(TrackingEventStore.and(clicks, store.ofContact("c1"))), is(2));
+        assertThat(store.count(TrackingEventStore.between(new Date(HOUR), new Date(2 * HOUR))), is(3));
+        assertThat(store.count(store.ofContact("missing")), is(0));
+
+        final List<String> contacts = new ArrayList<>();
+        TrackingEventStore.EventFilter bounces = TrackingEventStore.ofType(TrackingReportType.EMAIL_BOUNCE);
+        store.forEach(bounces, new TrackingEventStore.EventVisitor() {
+            @Override
+            public void visit(TrackingEventStore store, int row) {
+                contacts.add(store.getContactId(row));
+            }
+        });
+        assertThat(contacts.toString(), is("[c3]"));
+    }
+
+    private static ClickReport click(String contactId, String linkId, long date) {
+        ClickReport report = new ClickReport();
+        fill(report, TrackingReportType.EMAIL_CLICK, contactId);
+        report.setLinkId(linkId);
+        report.setLinkUri("http://example.com/" + linkId);
+        report.setClickDate(new Date(date));
+        return report;
+    }
+
+    private static OpenReport open(String contactId, long date) {
+        OpenReport report = new OpenReport();
+        fill(report, TrackingReportType.EMAIL_OPEN, contactId);
+        report.setOpenDate(new Date(date));
+        return report;
+    }
+
+    private static BounceReport bounce(String contactId, BounceCode code) {
+        BounceReport report = new BounceReport();
+        fill(report, TrackingReportType.EMAIL_BOUNCE, contactId);
+        report.setBounceCode(code);
+        report.setBounceDescription("Mailbox full");
+        return report;
+    }
+
+    private static void fill(BaseTrackingReport report, TrackingReportType type, String contactId) {
+        report.setActivityType(type);
+        report.setCampaignId("1100394165290");
+        report.setContactId(contactId);
+        report.setEmailAddress(contactId + "@example.com");
+    }
+}
@@ -6,6 +6,8 @@ import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 
+import java.io.IOException;
+
 /**
  */
 public class CCApi2 {
@@ -46,17 +48,19 @@ public class CCApi2 {
 
     private final Retrofit _retrofit;
 
-    protected AccountService _accountService;
+    private final Object _lock = new Object();
+
+    protected volatile AccountService _accountService;
 
-    protected CampaignService _campaignService;
+    protected volatile CampaignService _campaignService;
 
-    protected ContactService _contactService;
+    protected volatile ContactService _contactService;
 
-    protected LibraryService _libraryService;
+    protected volatile LibraryService _libraryService;
 
-    protected CampaignTrackingService _campaignTrackingService;
+    protected volatile CampaignTrackingService _campaignTrackingService;
 
-    protected ContactTrackingService _contactTrackingService;
+    protected volatile ContactTrackingService _contactTrackingService;
 
     /**
      * A convenience constructor that handles all initialization of api wrappers.
@@ -83,6 +87,70 @@ public class CCApi2 {
         _retrofit = retrofit;
     }
 
+    /**
+     * Creates an instance that serves many accounts over one client, and so one connection pool and dispatcher. Its
+     * services can only be used through the views returned by {@link #forTenant(String, String)}.
+     * <pre>{@code
+     * OkHttpClient client = new DefaultOkHttpClientBuilderFactory().createShared().build();
+     * CCApi2 shared = CCApi2.createShared(client);
+     * ...
+     * Contact contact = shared.forTenant(apiKey, token).getContactService().getContact(id).execute().body();
+     * }</pre>
+     *
+     * @param sharedClient a client from {@link DefaultOkHttpClientBuilderFactory#createShared()}
+     * @return an instance shared by every account
+     */
+    public static CCApi2 createShared(OkHttpClient sharedClient) {
+        Retrofit.Builder builder = new DefaultRetrofitBuilderFactory(sharedClient).create();
+        builder.callFactory(new TenantCallFactory(sharedClient));
+        builder.addCallAdapterFactory(RxJavaCallAdapterFactory.create());
+        return new CCApi2(builder.build());
+    }
+
+    /**
+     * Gets a view of this instance for one account. Views are cheap to create and share the services, client and
+     * connections of this instance, which must have been created with {@link #createShared(OkHttpClient)}.
+     *
+     * @param apiKey the api key
+     * @param token  the account's oauth2 token
+     * @return a view whose calls are authorized for the account
+     * @throws IllegalStateException if this instance wasn't created with {@link #createShared(OkHttpClient)}, since
+     *                               its calls would then use its own account's credentials
+     */
+    public CCApi2 forTenant(String apiKey, String token) {
+        if (!(_retrofit.callFactory() instanceof TenantCallFactory)) {
+            throw new IllegalStateException("forTenant requires an instance created with createShared");
+        }
+        return new TenantCCApi2(this, new TenantCredentials(apiKey, token));
+    }
+
+    /**
+     * Moves the cost of the first call to each endpoint to startup: creates every service, has Retrofit validate
+     * every service method and create its converters, which builds the Jackson (de)serializers of every model, and
+     * opens connections to the API.
+     * <pre>{@code
+     * CCApi2 api = new CCApi2(apiKey, token);
+     * api.warmUp(4);
+     * }</pre>
+     *
+     * @param connections the number of connections to open, see {@link ServiceWarmUp#preconnect(Retrofit, int)}, or 0
+     *                    to not make any request
+     * @return the number of service methods created
+     * @throws IOException if a connection could not be opened
+     */
+    public int warmUp(int connections) throws IOException {
+        int methods = ServiceWarmUp.createServiceMethods(AccountService.class, getAccountService())
+                + ServiceWarmUp.createServiceMethods(CampaignService.class, getCampaignService())
+                + ServiceWarmUp.createServiceMethods(ContactService.class, getContactService())
+                + ServiceWarmUp.createServiceMethods(LibraryService.class, getLibraryService())
+                + ServiceWarmUp.createServiceMethods(CampaignTrackingService.class, getCampaignTrackingService())
+                + ServiceWarmUp.createServiceMethods(ContactTrackingService.class, getContactTrackingService());
+        if (connections > 0) {
+            ServiceWarmUp.preconnect(_retrofit, connections);
+        }
+        return methods;
+    }
+
     /**
      * Gets the rest adapter.
      *
@@ -98,15 +166,18 @@ public class CCApi2 {
      * @return the account service
      */
     public AccountService getAccountService() {
-        if (_accountService == null) {
-            synchronized (CCApi2.class) {
-                if (_accountService == null) {
-                    _accountService = _retrofit.create(AccountService.class);
+        AccountService service = _accountService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _accountService;
+                if (service == null) {
+                    service = _retrofit.create(AccountService.class);
+                    _accountService = service;
                 }
             }
         }
 
-        return _accountService;
+        return service;
     }
 
     /**
@@ -115,15 +186,18 @@ public class CCApi2 {
      * @return the campaign service
      */
     public CampaignService getCampaignService() {
-        if (_campaignService == null) {
-            synchronized (CCApi2.class) {
-                if (_campaignService == null) {
-                    _campaignService = _retrofit.create(CampaignService.class);
+        CampaignService service = _campaignService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _campaignService;
+                if (service == null) {
+                    service = _retrofit.create(CampaignService.class);
+                    _campaignService = service;
                 }
             }
         }
 
-        return _campaignService;
+        return service;
     }
 
     /**
@@ -132,15 +206,18 @@ public class CCApi2 {
      * @return the contact service
      */
     public ContactService getContactService() {
-        if (_contactService == null) {
-            synchronized (CCApi2.class) {
-                if (_contactService == null) {
-                    _contactService = _retrofit.create(ContactService.class);
+        ContactService service = _contactService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _contactService;
+                if (service == null) {
+                    service = _retrofit.create(ContactService.class);
+                    _contactService = service;
                 }
             }
         }
 
-        return _contactService;
+        return service;
     }
 
     /**
@@ -149,15 +226,18 @@ public class CCApi2 {
      * @return the library service
      */
     public LibraryService getLibraryService() {
-        if (_libraryService == null) {
-            synchronized (CCApi2.class) {
-                if (_libraryService == null) {
-                    _libraryService = _retrofit.create(LibraryService.class);
+        LibraryService service = _libraryService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _libraryService;
+                if (service == null) {
+                    service = _retrofit.create(LibraryService.class);
+                    _libraryService = service;
                 }
             }
         }
 
-        return _libraryService;
+        return service;
     }
 
     /**
@@ -166,15 +246,18 @@ public class CCApi2 {
      * @return the campaign tracking service
      */
     public CampaignTrackingService getCampaignTrackingService() {
-        if (_campaignTrackingService == null) {
-            synchronized (CCApi2.class) {
-                if (_campaignTrackingService == null) {
-                    _campaignTrackingService = _retrofit.create(CampaignTrackingService.class);
+        CampaignTrackingService service = _campaignTrackingService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _campaignTrackingService;
+                if (service == null) {
+                    service = _retrofit.create(CampaignTrackingService.class);
+                    _campaignTrackingService = service;
                 }
             }
         }
 
-        return _campaignTrackingService;
+        return service;
     }
 
     /**
@@ -183,14 +266,17 @@ public class CCApi2 {
      * @return the contact tracking service
      */
     public ContactTrackingService getContactTrackingService() {
-        if (_contactTrackingService == null) {
-            synchronized (CCApi2.class) {
-                if (_contactTrackingService == null) {
-                    _contactTrackingService = _retrofit.create(ContactTrackingService.class);
+        ContactTrackingService service = _contactTrackingService;
+        if (service == null) {
+            synchronized (_lock) {
+                service = _contactTrackingService;
+                if (service == null) {
+                    service = _retrofit.create(ContactTrackingService.class);
+                    _contactTrackingService = service;
                 }
             }
         }
 
-        return _contactTrackingService;
+        return service;
     }
 }
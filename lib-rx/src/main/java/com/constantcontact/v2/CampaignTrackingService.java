@@ -209,4 +209,28 @@ public interface CampaignTrackingService {
      */
     @GET
     Observable<Paged<BaseTrackingReport>> getAllReports(@Url String nextLink);
+
+    /**
+     * Get a {@link PagedStream} of {@link BaseTrackingReport} from a {@link Campaign}, which parses each report as
+     * it is iterated instead of materializing the whole page
+     *
+     * @param campaignId       The Campaign ID
+     * @param createdSinceDate Date to specify retrieval of reports that have been created since then, in ISO-8601 format
+     * @param limit            Page size to return (1 - 500)
+     * @return                 a streamed page of BaseTrackingReports, which must be iterated to the end or closed
+     */
+    @GET("v2/emailmarketing/campaigns/{campaignId}/tracking")
+    Observable<PagedStream<BaseTrackingReport>> streamAllReports(@Path("campaignId") String campaignId,
+                                                                 @Query("created_since") QueryDate createdSinceDate,
+                                                                 @Query("limit") int limit);
+
+    /**
+     * Get a {@link PagedStream} of {@link BaseTrackingReport} from a {@link Campaign} from a previous call's
+     * next link.
+     *
+     * @param nextLink Value of {@link PagedStream#getNextLink()} or {@link Paged#getNextLink()} of the previous page
+     * @return         a streamed page of BaseTrackingReports, which must be iterated to the end or closed
+     */
+    @GET
+    Observable<PagedStream<BaseTrackingReport>> streamAllReports(@Url String nextLink);
 }
@@ -1,6 +1,7 @@
 package com.constantcontact.v2;
 
 import com.constantcontact.v2.library.*;
+import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.Response;
 import retrofit2.http.*;
@@ -73,7 +74,7 @@ public interface LibraryService {
      * @return an Observable that emits a {@link retrofit2.Response}
      */
     @DELETE("v2/library/folders/{folderId}")
-    Observable<Response> deleteFolder(@Path("folderId") String folderId);
+    Observable<Response<Void>> deleteFolder(@Path("folderId") String folderId);
 
     /**
      * Get a {@link Paged} collection of {@link File}
@@ -94,8 +95,8 @@ public interface LibraryService {
      * @param nextLink Value of the link found in the meta of the original call
      * @return an Observable that emits Paged Files
      */
-    @GET("v2/library/files?next={next}")
-    Observable<Paged<File>> getFiles(@Path("next") String nextLink);
+    @GET
+    Observable<Paged<File>> getFiles(@Url String nextLink);
 
     /**
      * Get a {@link Paged} collection of {@link File} from a specific {@link Folder}.
@@ -117,12 +118,11 @@ public interface LibraryService {
     /**
      * Get a {@link Paged} collection of {@link File} from a specific {@link Folder}.
      *
-     * @param folderId The Folder ID
-     * @param nextLink Value of the link found in the meta of the original call
+     * @param nextLink Value of the link found in the meta of the original call, which identifies the Folder
      * @return an Observable that emits Paged Files
      */
-    @GET("v2/library/folders/{folderId}/files?next={next}")
-    Observable<Paged<File>> getFilesByFolder(@Path("folderId") String folderId, @Path("next") String nextLink);
+    @GET
+    Observable<Paged<File>> getFilesByFolder(@Url String nextLink);
 
     /**
      * Get a specific {@link File}
@@ -151,7 +151,7 @@ public interface LibraryService {
      * @return an Observable that emits an Array of updated Files
      */
     @PUT("v2/library/folders/{folderId}/files")
-    Observable<File> moveFiles(@Path("folderId") String folderId, @Body String[] fileIds);
+    Observable<File[]> moveFiles(@Path("folderId") String folderId, @Body String[] fileIds);
 
     /**
      * Delete a {@link File}
@@ -217,4 +217,29 @@ public interface LibraryService {
                                           @Part("file_type") RequestBody fileType,
                                           @Part("folder_id") RequestBody folderId,
                                           @Part("source") RequestBody source);
+
+    /**
+     * Upload a new {@link File} to the Library as a single multipart body, e.g. one streaming the file from disk:
+     * <pre>{@code
+     * MultipartBody body = new MultipartBody.Builder()
+     *         .setType(MultipartBody.FORM)
+     *         .addFormDataPart("data", fileName, FileRequestBody.create(MediaType.parse(fileType.getMimeType()), path))
+     *         .addFormDataPart("description", description)
+     *         .addFormDataPart("file_name", fileName)
+     *         .addFormDataPart("file_type", fileType.toString())
+     *         .addFormDataPart("folder_id", folderId)
+     *         .addFormDataPart("source", FileSource.MY_COMPUTER.toString())
+     *         .build();
+     * }</pre>
+     * The body keeps its own {@code Content-Type}, including the multipart boundary, and the empty response isn't
+     * parsed.
+     *
+     * @param body the multipart form with the same parts as {@link #uploadFile(RequestBody, RequestBody, RequestBody,
+     *             RequestBody, RequestBody, RequestBody)}
+     * @return an Observable that emits a {@link retrofit2.Response} - the File's new ID is the last segment of its
+     * {@code Location} header
+     * @see <a href="https://developer.constantcontact.com/docs/mylibrary-files-api/file-add-multipart-post.html">API Docs</a>
+     */
+    @POST("v2/library/files")
+    Observable<Response<Void>> uploadFile(@Body MultipartBody body);
 }
@@ -0,0 +1,129 @@
+package com.constantcontact.v2;
+
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.observables.SyncOnSubscribe;
+import rx.schedulers.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates back-pressured {@link Observable Observables} over a chain of {@link Paged} responses, following
+ * {@link Paged#getNextLink()} until the last page. Example:
+ * <pre>{@code
+ * final ContactService service = api.getContactService();
+ * PagedObservable.results(service.getContacts(ContactService.MAX_PAGE_LIMIT, ContactStatus.ACTIVE),
+ *         new Func1<String, Observable<Paged<Contact>>>() {
+ *             public Observable<Paged<Contact>> call(String nextLink) {
+ *                 return service.getContacts(nextLink);
+ *             }
+ *         }, 2)
+ *         .subscribe(...);
+ * }</pre>
+ */
+public final class PagedObservable {
+    /**
+     * The default number of pages fetched ahead of the subscriber.
+     */
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
+    private PagedObservable() {
+    }
+
+    /**
+     * Creates an observable that emits each page as it is requested. A page is only fetched once the subscriber has
+     * requested it, and fetching happens on the subscribing thread.
+     *
+     * @param firstPage the observable for the first page
+     * @param nextPage  creates the observable for the page at a next link
+     * @param <T>       the type of the paged results
+     * @return an observable of pages
+     */
+    public static <T> Observable<Paged<T>> pages(final Observable<Paged<T>> firstPage,
+                                                 final Func1<String, Observable<Paged<T>>> nextPage) {
+        return Observable.create(SyncOnSubscribe.createStateful(
+                new Func0<String>() {
+                    @Override
+                    public String call() {
+                        return null;
+                    }
+                },
+                new Func2<String, Observer<? super Paged<T>>, String>() {
+                    @Override
+                    public String call(String nextLink, Observer<? super Paged<T>> observer) {
+                        Observable<Paged<T>> source = nextLink == null ? firstPage : nextPage.call(nextLink);
+                        Paged<T> page = source.toBlocking().single();
+                        observer.onNext(page);
+
+                        String link = page.getNextLink();
+                        if (link == null) {
+                            observer.onCompleted();
+                        }
+                        return link;
+                    }
+                }));
+    }
+
+    /**
+     * Creates an observable that emits every result of every page, with the
+     * {@link #DEFAULT_PREFETCH_DEPTH default prefetch depth}.
+     *
+     * @param firstPage the observable for the first page
+     * @param nextPage  creates the observable for the page at a next link
+     * @param <T>       the type of the paged results
+     * @return an observable of results
+     */
+    public static <T> Observable<T> results(Observable<Paged<T>> firstPage,
+                                            Func1<String, Observable<Paged<T>>> nextPage) {
+        return results(firstPage, nextPage, DEFAULT_PREFETCH_DEPTH);
+    }
+
+    /**
+     * Creates an observable that emits every result of every page. Pages are fetched on {@link Schedulers#io()},
+     * up to {@code prefetchDepth} pages ahead of the subscriber, and results are emitted on {@link Schedulers#io()}.
+     *
+     * @param firstPage     the observable for the first page
+     * @param nextPage      creates the observable for the page at a next link
+     * @param prefetchDepth the maximum number of pages fetched ahead of the subscriber, at least 1
+     * @param <T>           the type of the paged results
+     * @return an observable of results
+     */
+    public static <T> Observable<T> results(Observable<Paged<T>> firstPage,
+                                            Func1<String, Observable<Paged<T>>> nextPage, int prefetchDepth) {
+        return results(firstPage, nextPage, prefetchDepth, Schedulers.io());
+    }
+
+    /**
+     * Creates an observable that emits every result of every page. Pages are fetched on {@link Schedulers#io()},
+     * up to {@code prefetchDepth} pages ahead of the subscriber, and results are emitted on {@code scheduler}.
+     *
+     * @param firstPage     the observable for the first page
+     * @param nextPage      creates the observable for the page at a next link
+     * @param prefetchDepth the maximum number of pages fetched ahead of the subscriber, at least 1
+     * @param scheduler     the scheduler results are emitted on
+     * @param <T>           the type of the paged results
+     * @return an observable of results
+     */
+    public static <T> Observable<T> results(Observable<Paged<T>> firstPage,
+                                            Func1<String, Observable<Paged<T>>> nextPage, int prefetchDepth,
+                                            Scheduler scheduler) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("prefetchDepth < 1");
+        }
+        return pages(firstPage, nextPage)
+                .subscribeOn(Schedulers.io())
+                .observeOn(scheduler, prefetchDepth)
+                .concatMapIterable(new Func1<Paged<T>, Iterable<T>>() {
+                    @Override
+                    public Iterable<T> call(Paged<T> page) {
+                        List<T> results = page.getResults();
+                        return results != null ? results : Collections.<T>emptyList();
+                    }
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.constantcontact.v2;
+
+/**
+ * A view of a shared {@link CCApi2} for one account, see {@link CCApi2#forTenant(String, String)}.
+ */
+final class TenantCCApi2 extends CCApi2 {
+    private final CCApi2 _shared;
+
+    private final TenantCredentials _credentials;
+
+    TenantCCApi2(CCApi2 shared, TenantCredentials credentials) {
+        super(shared.getRestAdapter());
+        _shared = shared;
+        _credentials = credentials;
+    }
+
+    @Override
+    public CCApi2 forTenant(String apiKey, String token) {
+        return _shared.forTenant(apiKey, token);
+    }
+
+    @Override
+    public AccountService getAccountService() {
+        return TenantServices.wrap(AccountService.class, _shared.getAccountService(), _credentials);
+    }
+
+    @Override
+    public CampaignService getCampaignService() {
+        return TenantServices.wrap(CampaignService.class, _shared.getCampaignService(), _credentials);
+    }
+
+    @Override
+    public ContactService getContactService() {
+        return TenantServices.wrap(ContactService.class, _shared.getContactService(), _credentials);
+    }
+
+    @Override
+    public LibraryService getLibraryService() {
+        return TenantServices.wrap(LibraryService.class, _shared.getLibraryService(), _credentials);
+    }
+
+    @Override
+    public CampaignTrackingService getCampaignTrackingService() {
+        return TenantServices.wrap(CampaignTrackingService.class, _shared.getCampaignTrackingService(),
+                                   _credentials);
+    }
+
+    @Override
+    public ContactTrackingService getContactTrackingService() {
+        return TenantServices.wrap(ContactTrackingService.class, _shared.getContactTrackingService(),
+                                   _credentials);
+    }
+}
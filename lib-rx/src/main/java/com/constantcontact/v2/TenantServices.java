@@ -0,0 +1,57 @@
+package com.constantcontact.v2;
+
+import rx.Observable;
+import rx.Subscriber;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps the services of a shared {@link CCApi2} so that the observables they return belong to one account. The
+ * credentials are set in the {@link TenantContext} while subscribing, which is when the underlying call is executed,
+ * so this also holds with {@code subscribeOn}.
+ */
+final class TenantServices {
+    private TenantServices() {
+    }
+
+    static <S> S wrap(Class<S> service, final S delegate, final TenantCredentials credentials) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[]{service},
+                                                   new InvocationHandler() {
+                                                       @Override
+                                                       public Object invoke(Object proxy, Method method,
+                                                                            Object[] args) throws Throwable {
+                                                           if (method.getDeclaringClass() == Object.class) {
+                                                               return method.invoke(this, args);
+                                                           }
+
+                                                           Object result;
+                                                           try {
+                                                               result = method.invoke(delegate, args);
+                                                           } catch (InvocationTargetException e) {
+                                                               throw e.getCause();
+                                                           }
+                                                           if (result instanceof Observable) {
+                                                               return wrap((Observable<?>) result, credentials);
+                                                           }
+                                                           return result;
+                                                       }
+                                                   }));
+    }
+
+    private static <T> Observable<T> wrap(final Observable<T> observable, final TenantCredentials credentials) {
+        return Observable.create(new Observable.OnSubscribe<T>() {
+            @Override
+            public void call(Subscriber<? super T> subscriber) {
+                TenantCredentials previous = TenantContext.set(credentials);
+                try {
+                    observable.unsafeSubscribe(subscriber);
+                } finally {
+                    TenantContext.set(previous);
+                }
+            }
+        });
+    }
+}
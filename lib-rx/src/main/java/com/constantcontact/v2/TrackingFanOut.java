@@ -0,0 +1,51 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * Fetches the tracking activity of many campaigns concurrently, as one stream of reports.
+ * <pre>{@code
+ * TrackingFanOut.allReports(api.getCampaignTrackingService(), campaignIds, null,
+ *                           CampaignTrackingService.MAX_PAGE_LIMIT, 16)
+ *               .subscribe(...);
+ * }</pre>
+ */
+public final class TrackingFanOut {
+    private TrackingFanOut() {
+    }
+
+    /**
+     * Creates an observable that merges the activity of every campaign, see
+     * {@link CampaignTrackingService#getAllReports}. Each campaign is crawled with {@link PagedObservable#results},
+     * so results of one campaign keep their order, but results of different campaigns are interleaved.
+     *
+     * @param service          the service used for every call
+     * @param campaignIds      the campaign IDs
+     * @param createdSinceDate the date to fetch activity since, or {@code null} for all activity
+     * @param limit            the page size (1-500)
+     * @param maxConcurrency   the maximum number of campaigns crawled at once
+     * @return an observable of every report
+     */
+    public static Observable<BaseTrackingReport> allReports(final CampaignTrackingService service,
+                                                            Iterable<String> campaignIds,
+                                                            final String createdSinceDate, final int limit,
+                                                            int maxConcurrency) {
+        final Func1<String, Observable<Paged<BaseTrackingReport>>> nextPage =
+                new Func1<String, Observable<Paged<BaseTrackingReport>>>() {
+                    @Override
+                    public Observable<Paged<BaseTrackingReport>> call(String nextLink) {
+                        return service.getAllReports(nextLink);
+                    }
+                };
+        return Observable.from(campaignIds)
+                .flatMap(new Func1<String, Observable<BaseTrackingReport>>() {
+                    @Override
+                    public Observable<BaseTrackingReport> call(String campaignId) {
+                        return PagedObservable.results(service.getAllReports(campaignId, createdSinceDate, limit),
+                                                       nextPage);
+                    }
+                }, maxConcurrency);
+    }
+}
@@ -0,0 +1,68 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class PagedObservableTest {
+    private MockWebServer _server;
+
+    private ContactService _contactService;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                .build();
+        _contactService = retrofit.create(ContactService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatResults_WillFollowNextLinks() throws Exception {
+        _server.enqueue(new MockResponse().setBody(
+                "{\"meta\":{\"pagination\":{\"next_link\":\"/v2/contacts?next=2\"}},\"results\":[{\"id\":\"1\"},{\"id\":\"2\"}]}"));
+        _server.enqueue(new MockResponse().setBody(
+                "{\"meta\":{\"pagination\":{}},\"results\":[{\"id\":\"3\"}]}"));
+
+        List<Contact> contacts = PagedObservable.results(_contactService.getContacts(2, null),
+                new Func1<String, Observable<Paged<Contact>>>() {
+                    @Override
+                    public Observable<Paged<Contact>> call(String nextLink) {
+                        return _contactService.getContacts(nextLink);
+                    }
+                }, 2).toList().toBlocking().single();
+
+        List<String> ids = new ArrayList<>();
+        for (Contact contact : contacts) {
+            ids.add(contact.getId());
+        }
+        assertThat(ids.toString(), is("[1, 2, 3]"));
+        assertThat(_server.getRequestCount(), is(2));
+    }
+}
@@ -0,0 +1,67 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import rx.schedulers.Schedulers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class TenantCCApi2Test {
+    private MockWebServer _server;
+
+    private CCApi2 _shared;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        OkHttpClient client = new DefaultOkHttpClientBuilderFactory().createShared().build();
+        _shared = new CCApi2(new DefaultRetrofitBuilderFactory(client).create(_server.url("/").toString())
+                                     .callFactory(new TenantCallFactory(client))
+                                     .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                                     .build());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatTenantViews_WillAuthorizeOnTheSubscribingThread() throws Exception {
+        _server.enqueue(new MockResponse().setBody("{\"id\":\"1\"}"));
+
+        Contact contact = _shared.forTenant("key", "first").getContactService().getContact("1")
+                                 .subscribeOn(Schedulers.io())
+                                 .toBlocking()
+                                 .single();
+
+        assertThat(contact.getId(), is("1"));
+        assertThat(_server.takeRequest().getHeader("Authorization"), is("Bearer first"));
+    }
+
+    @Test
+    public void expectThatWarmUp_WillNotSubscribeToAnyService() throws Exception {
+        _server.enqueue(new MockResponse());
+
+        assertThat(_shared.forTenant("key", "first").warmUp(1) > 0, is(true));
+
+        assertThat(_server.getRequestCount(), is(1));
+        assertThat(_server.takeRequest().getMethod(), is("HEAD"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void expectThatTenantViewOfUnsharedInstance_WillBeRejected() throws Exception {
+        new CCApi2("key", "token").forTenant("other", "other-token");
+    }
+}
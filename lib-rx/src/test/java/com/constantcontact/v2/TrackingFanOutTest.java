@@ -0,0 +1,67 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class TrackingFanOutTest {
+    private MockWebServer _server;
+
+    private CampaignTrackingService _service;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String campaignId = request.getPath().split("/")[4];
+                String body = "{\"meta\":{\"pagination\":{" + (request.getPath().contains("next=2") ? "" :
+                        "\"next_link\":\"/v2/emailmarketing/campaigns/" + campaignId + "/tracking?next=2\"")
+                        + "}},\"results\":[{\"activity_type\":\"EMAIL_OPEN\",\"campaign_id\":\"" + campaignId + "\"}]}";
+                return new MockResponse().setBody(body);
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                .build();
+        _service = retrofit.create(CampaignTrackingService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatEveryCampaign_WillBeMergedIntoOneStream() throws Exception {
+        List<BaseTrackingReport> reports = TrackingFanOut
+                .allReports(_service, Arrays.asList("c0", "c1", "c2", "c3", "c4"), null, 500, 3)
+                .toList()
+                .toBlocking()
+                .single();
+
+        assertThat(reports.size(), is(10));
+        assertThat(_server.getRequestCount(), is(10));
+    }
+}
@@ -0,0 +1,196 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one call per item with bounded concurrency, retrying items that fail with a network error, a 429 or a 5xx
+ * response using jittered exponential backoff. Items of calls that aren't idempotent are only retried when the call
+ * can't have reached the server, i.e. on a 429 or when the connection couldn't be made. Items are read from the
+ * source lazily, so at most twice the concurrency of them are waiting or in flight at a time. Every outcome,
+ * including its item and response body, is kept until the report is returned, so the report grows with the number
+ * of items.
+ */
+final class BulkExecutor {
+    /**
+     * Creates the call for a single item.
+     */
+    interface Operation<I, R> {
+        Call<R> call(I item);
+    }
+
+    /**
+     * An operation whose calls are idempotent for some items only, e.g. an update but not a create, overriding the
+     * executor's setting per item.
+     */
+    interface MixedOperation<I, R> extends Operation<I, R> {
+        boolean isIdempotent(I item);
+    }
+
+    private static final Comparator<BulkResult<?, ?>> BY_INDEX = new Comparator<BulkResult<?, ?>>() {
+        @Override
+        public int compare(BulkResult<?, ?> lhs, BulkResult<?, ?> rhs) {
+            return lhs.getIndex() < rhs.getIndex() ? -1 : (lhs.getIndex() == rhs.getIndex() ? 0 : 1);
+        }
+    };
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ctct-bulk-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final int _concurrency;
+
+    private final int _maxRetries;
+
+    private final long _retryDelayMillis;
+
+    private final boolean _idempotent;
+
+    private final Random _random = new Random();
+
+    BulkExecutor(int concurrency, int maxRetries, long retryDelayMillis) {
+        this(concurrency, maxRetries, retryDelayMillis, true);
+    }
+
+    BulkExecutor(int concurrency, int maxRetries, long retryDelayMillis, boolean idempotent) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries < 0");
+        }
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis < 0");
+        }
+        _concurrency = concurrency;
+        _maxRetries = maxRetries;
+        _retryDelayMillis = retryDelayMillis;
+        _idempotent = idempotent;
+    }
+
+    <I, R> BulkReport<I, R> execute(Iterator<? extends I> items, final Operation<I, R> operation)
+            throws InterruptedException {
+        final ConcurrentLinkedQueue<BulkResult<I, R>> results = new ConcurrentLinkedQueue<>();
+        final Semaphore window = new Semaphore(_concurrency * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(_concurrency, THREAD_FACTORY);
+        try {
+            int index = 0;
+            while (items.hasNext()) {
+                final I item = items.next();
+                final int itemIndex = index++;
+
+                window.acquire();
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            results.add(attempt(itemIndex, item, operation));
+                        } finally {
+                            window.release();
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting, large imports can take a long time
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<BulkResult<I, R>> sorted = new ArrayList<>(results);
+        Collections.sort(sorted, BY_INDEX);
+        return new BulkReport<>(sorted);
+    }
+
+    private <I, R> BulkResult<I, R> attempt(int index, I item, Operation<I, R> operation) {
+        int attempts = 0;
+        while (true) {
+            attempts++;
+
+            Response<R> response = null;
+            IOException failure = null;
+            try {
+                response = operation.call(item).execute();
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                return new BulkResult<>(index, item, null, -1, e.toString(), e, attempts);
+            }
+
+            if (response != null && response.isSuccessful()) {
+                return new BulkResult<>(index, item, response.body(), response.code(), null, null, attempts);
+            }
+
+            if (!isRetryable(isIdempotent(operation, item), response, failure) || attempts > _maxRetries) {
+                if (failure != null) {
+                    return new BulkResult<>(index, item, null, -1, failure.toString(), failure, attempts);
+                }
+                return new BulkResult<>(index, item, null, response.code(), errorMessage(response), null, attempts);
+            }
+
+            try {
+                Thread.sleep(backoff(attempts));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new BulkResult<>(index, item, null, -1, e.toString(), e, attempts);
+            }
+        }
+    }
+
+    private <I> boolean isIdempotent(Operation<I, ?> operation, I item) {
+        if (operation instanceof MixedOperation) {
+            return ((MixedOperation<I, ?>) operation).isIdempotent(item);
+        }
+        return _idempotent;
+    }
+
+    private static boolean isRetryable(boolean idempotent, Response<?> response, IOException failure) {
+        if (failure != null) {
+            return idempotent || failure instanceof ConnectException || failure instanceof UnknownHostException;
+        }
+        return response.code() == 429 || (idempotent && response.code() >= 500);
+    }
+
+    private long backoff(int attempt) {
+        long delay = _retryDelayMillis << Math.min(attempt - 1, 16);
+        synchronized (_random) {
+            // Full jitter, so items that failed together do not retry together
+            return (long) (_random.nextDouble() * delay);
+        }
+    }
+
+    private static String errorMessage(Response<?> response) {
+        try {
+            return response.errorBody() != null ? response.errorBody().string() : response.message();
+        } catch (IOException e) {
+            return response.message();
+        }
+    }
+}
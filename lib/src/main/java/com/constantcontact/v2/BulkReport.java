@@ -0,0 +1,61 @@
+package com.constantcontact.v2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The per-item outcome of a bulk operation, in submission order.
+ *
+ * @param <I> the type of the submitted items
+ * @param <R> the type of the response body
+ */
+public class BulkReport<I, R> {
+    private final List<BulkResult<I, R>> _results;
+
+    private final int _failureCount;
+
+    BulkReport(List<BulkResult<I, R>> results) {
+        _results = Collections.unmodifiableList(results);
+
+        int failures = 0;
+        for (BulkResult<I, R> result : results) {
+            if (!result.isSuccessful()) {
+                failures++;
+            }
+        }
+        _failureCount = failures;
+    }
+
+    /**
+     * Gets every result, ordered by {@link BulkResult#getIndex()}.
+     *
+     * @return the results
+     */
+    public List<BulkResult<I, R>> getResults() {
+        return _results;
+    }
+
+    /**
+     * Gets the results of the items that failed after all retries.
+     *
+     * @return the failed results
+     */
+    public List<BulkResult<I, R>> getFailures() {
+        List<BulkResult<I, R>> failures = new ArrayList<>(_failureCount);
+        for (BulkResult<I, R> result : _results) {
+            if (!result.isSuccessful()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    public int getSuccessCount() {
+        return _results.size() - _failureCount;
+    }
+
+    public int getFailureCount() {
+        return _failureCount;
+    }
+}
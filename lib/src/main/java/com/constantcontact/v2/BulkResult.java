@@ -0,0 +1,105 @@
+package com.constantcontact.v2;
+
+/**
+ * The outcome of a single item of a bulk operation.
+ *
+ * @param <I> the type of the submitted items
+ * @param <R> the type of the response body
+ */
+public class BulkResult<I, R> {
+    private final int _index;
+
+    private final I _item;
+
+    private final R _result;
+
+    private final int _code;
+
+    private final String _errorMessage;
+
+    private final Throwable _error;
+
+    private final int _attempts;
+
+    BulkResult(int index, I item, R result, int code, String errorMessage, Throwable error, int attempts) {
+        _index = index;
+        _item = item;
+        _result = result;
+        _code = code;
+        _errorMessage = errorMessage;
+        _error = error;
+        _attempts = attempts;
+    }
+
+    /**
+     * Gets the position of the item in the submitted sequence.
+     *
+     * @return the zero-based index
+     */
+    public int getIndex() {
+        return _index;
+    }
+
+    /**
+     * Gets the submitted item.
+     *
+     * @return the item
+     */
+    public I getItem() {
+        return _item;
+    }
+
+    /**
+     * Gets the response body of the successful call.
+     *
+     * @return the body, or {@code null} if the item failed
+     */
+    public R getResult() {
+        return _result;
+    }
+
+    /**
+     * Gets the HTTP status code of the last attempt.
+     *
+     * @return the status code, or -1 if no response was received
+     */
+    public int getCode() {
+        return _code;
+    }
+
+    /**
+     * Gets the error body of an unsuccessful response, or the message of the failure.
+     *
+     * @return the error message, or {@code null} if the item succeeded
+     */
+    public String getErrorMessage() {
+        return _errorMessage;
+    }
+
+    /**
+     * Gets the failure of the last attempt when no response was received.
+     *
+     * @return the failure, or {@code null}
+     */
+    public Throwable getError() {
+        return _error;
+    }
+
+    /**
+     * Gets the number of calls made for the item, including retries.
+     *
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return _attempts;
+    }
+
+    /**
+     * Whether the item succeeded.
+     *
+     * @return {@code true} if the last attempt returned a 2xx response
+     */
+    public boolean isSuccessful() {
+        return _code >= 200 && _code < 300;
+    }
+}
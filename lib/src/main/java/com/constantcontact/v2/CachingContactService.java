@@ -0,0 +1,387 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.ContactList;
+import com.constantcontact.v2.contacts.ContactStatus;
+import com.constantcontact.v2.contacts.EmailAddress;
+import com.constantcontact.v2.contacts.OptInSource;
+import com.constantcontact.v2.contacts.SignupFormRequest;
+import com.constantcontact.v2.contacts.SignupFormResponse;
+import org.apache.commons.lang3.SerializationUtils;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ContactService} that caches the {@link Contact Contacts} it reads, by ID and by email address.
+ * <p>
+ * {@link #getContact(String)} and {@link #getContactsByEmail(String)} return a completed call on a hit, and populate
+ * the cache on a miss. Contacts returned by {@link #createContact}/{@link #updateContact} replace the cached ones,
+ * and {@link #unsubscribeContact} evicts the contact. Changes made through other clients are picked up once entries
+ * expire. The least recently used entries are evicted beyond the maximum number of entries. Every other method is
+ * passed through to the wrapped service.
+ * <pre>{@code
+ * CachingContactService contacts = new CachingContactService(api.getContactService(), 10000, 5, TimeUnit.MINUTES);
+ * Contact contact = contacts.getContact(contactId).execute().body();
+ * }</pre>
+ * Callers get their own copy of each cached contact, so they are free to modify it.
+ */
+public class CachingContactService implements ContactService {
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final ContactService _delegate;
+
+    private final int _maxEntries;
+
+    private final long _ttlMillis;
+
+    private final LinkedHashMap<String, Entry> _byId = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, String> _idByEmail = new HashMap<>();
+
+    private long _generation;
+
+    private long _hitCount;
+
+    private long _missCount;
+
+    private long _evictionCount;
+
+    /**
+     * Creates an instance caching up to {@link #DEFAULT_MAX_ENTRIES} contacts for {@link #DEFAULT_TTL_MILLIS}.
+     *
+     * @param delegate the service making the calls
+     */
+    public CachingContactService(ContactService delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param delegate   the service making the calls
+     * @param maxEntries the maximum number of cached contacts
+     * @param ttl        how long a contact is cached after it was read or written
+     * @param unit       the unit of the ttl
+     */
+    public CachingContactService(ContactService delegate, int maxEntries, long ttl, TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries < 1");
+        }
+        _delegate = delegate;
+        _maxEntries = maxEntries;
+        _ttlMillis = unit.toMillis(ttl);
+    }
+
+    public synchronized long getHitCount() {
+        return _hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return _missCount;
+    }
+
+    /**
+     * @return the number of contacts evicted to stay within the maximum number of entries, not counting expired ones
+     */
+    public synchronized long getEvictionCount() {
+        return _evictionCount;
+    }
+
+    public synchronized int getSize() {
+        return _byId.size();
+    }
+
+    /**
+     * Evicts every contact.
+     */
+    public synchronized void clear() {
+        _generation++;
+        _byId.clear();
+        _idByEmail.clear();
+    }
+
+    /**
+     * Evicts a contact, e.g. after it was changed through another client.
+     *
+     * @param contactId Contact's ID
+     */
+    public synchronized void invalidate(String contactId) {
+        _generation++;
+        remove(contactId);
+    }
+
+    @Override
+    public Call<Paged<Contact>> getContactsByEmail(String email) {
+        Call<Paged<Contact>> call = _delegate.getContactsByEmail(email);
+        Contact cached = lookupByEmail(email);
+        if (cached != null) {
+            List<Contact> results = new ArrayList<>();
+            results.add(cached);
+            Paged<Contact> paged = new Paged<>();
+            paged.setResults(results);
+            return new CompletedCall<>(paged, call);
+        }
+
+        final long generation = getGeneration();
+        return new ObservingCall<>(call, new ObservingCall.Observer<Paged<Contact>>() {
+            @Override
+            public void onResponse(Response<Paged<Contact>> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().getResults() != null) {
+                    for (Contact contact : response.body().getResults()) {
+                        putRead(contact, generation);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+            }
+        });
+    }
+
+    @Override
+    public Call<Paged<Contact>> getContacts(int limit, ContactStatus status) {
+        return _delegate.getContacts(limit, status);
+    }
+
+    @Override
+    public Call<Paged<Contact>> getContacts(int limit, QueryDate date, ContactStatus status) {
+        return _delegate.getContacts(limit, date, status);
+    }
+
+    @Override
+    public Call<Paged<Contact>> getContacts(String listId, int limit, QueryDate date) {
+        return _delegate.getContacts(listId, limit, date);
+    }
+
+    @Override
+    public Call<Paged<Contact>> getContacts(String nextLink) {
+        return _delegate.getContacts(nextLink);
+    }
+
+    @Override
+    public Call<PagedStream<Contact>> streamContacts(int limit, QueryDate date, ContactStatus status) {
+        return _delegate.streamContacts(limit, date, status);
+    }
+
+    @Override
+    public Call<PagedStream<Contact>> streamContacts(String nextLink) {
+        return _delegate.streamContacts(nextLink);
+    }
+
+    @Override
+    public Call<Contact> createContact(Contact contact, OptInSource optInSource) {
+        Call<Contact> call = _delegate.createContact(contact, optInSource);
+        return new ObservingCall<>(call, new ObservingCall.Observer<Contact>() {
+            @Override
+            public void onResponse(Response<Contact> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    putWritten(response.body());
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+            }
+        });
+    }
+
+    @Override
+    public Call<Contact> getContact(String contactId) {
+        Call<Contact> call = _delegate.getContact(contactId);
+        Contact cached = lookupById(contactId);
+        if (cached != null) {
+            return new CompletedCall<>(cached, call);
+        }
+
+        final long generation = getGeneration();
+        return new ObservingCall<>(call, new ObservingCall.Observer<Contact>() {
+            @Override
+            public void onResponse(Response<Contact> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    putRead(response.body(), generation);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+            }
+        });
+    }
+
+    @Override
+    public Call<Contact> updateContact(Contact contact, final String contactId, OptInSource optInSource) {
+        Call<Contact> call = _delegate.updateContact(contact, contactId, optInSource);
+        return new ObservingCall<>(call, new ObservingCall.Observer<Contact>() {
+            @Override
+            public void onResponse(Response<Contact> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    putWritten(response.body());
+                } else {
+                    invalidate(contactId);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                // The update may still have reached the server
+                invalidate(contactId);
+            }
+        });
+    }
+
+    @Override
+    public Call<Response<Void>> unsubscribeContact(final String contactId) {
+        Call<Response<Void>> call = _delegate.unsubscribeContact(contactId);
+        return new ObservingCall<>(call, new ObservingCall.Observer<Response<Void>>() {
+            @Override
+            public void onResponse(Response<Response<Void>> response) {
+                invalidate(contactId);
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                invalidate(contactId);
+            }
+        });
+    }
+
+    @Override
+    public Call<List<ContactList>> getContactLists(QueryDate modifiedSince) {
+        return _delegate.getContactLists(modifiedSince);
+    }
+
+    @Override
+    public Call<ContactList> createContactList(ContactList contactList) {
+        return _delegate.createContactList(contactList);
+    }
+
+    @Override
+    public Call<ContactList> getContactList(String listId) {
+        return _delegate.getContactList(listId);
+    }
+
+    @Override
+    public Call<ContactList> updateContactList(ContactList contactList, String listId) {
+        return _delegate.updateContactList(contactList, listId);
+    }
+
+    @Override
+    public Call<Response<Void>> deleteContactList(String listId) {
+        return _delegate.deleteContactList(listId);
+    }
+
+    @Override
+    public Call<SignupFormResponse> createCustomSignupForm(SignupFormRequest signupFormRequest) {
+        return _delegate.createCustomSignupForm(signupFormRequest);
+    }
+
+    private synchronized long getGeneration() {
+        return _generation;
+    }
+
+    private synchronized Contact lookupById(String contactId) {
+        Entry entry = contactId != null ? _byId.get(contactId) : null;
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            remove(contactId);
+            entry = null;
+        }
+        if (entry == null) {
+            _missCount++;
+            return null;
+        }
+        _hitCount++;
+        return SerializationUtils.clone(entry.contact);
+    }
+
+    private synchronized Contact lookupByEmail(String email) {
+        String contactId = email != null ? _idByEmail.get(email.toLowerCase(Locale.ROOT)) : null;
+        if (contactId == null) {
+            _missCount++;
+            return null;
+        }
+        return lookupById(contactId);
+    }
+
+    /**
+     * Caches a contact that was read, unless a write happened since the read started, as the contact may be stale.
+     */
+    private synchronized void putRead(Contact contact, long generation) {
+        if (generation == _generation) {
+            put(contact);
+        }
+    }
+
+    private synchronized void putWritten(Contact contact) {
+        _generation++;
+        put(contact);
+    }
+
+    private void put(Contact contact) {
+        if (contact.getId() == null) {
+            return;
+        }
+        remove(contact.getId());
+
+        Contact copy = SerializationUtils.clone(contact);
+        _byId.put(copy.getId(), new Entry(copy, System.currentTimeMillis() + _ttlMillis));
+        if (copy.getEmailAddresses() != null) {
+            for (EmailAddress emailAddress : copy.getEmailAddresses()) {
+                if (emailAddress != null && emailAddress.getEmailAddress() != null) {
+                    _idByEmail.put(emailAddress.getEmailAddress().toLowerCase(Locale.ROOT), copy.getId());
+                }
+            }
+        }
+
+        Iterator<Map.Entry<String, Entry>> eldest = _byId.entrySet().iterator();
+        while (_byId.size() > _maxEntries) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            removeEmails(evicted.getKey(), evicted.getValue().contact);
+            _evictionCount++;
+        }
+    }
+
+    private void remove(String contactId) {
+        Entry entry = _byId.remove(contactId);
+        if (entry != null) {
+            removeEmails(contactId, entry.contact);
+        }
+    }
+
+    private void removeEmails(String contactId, Contact contact) {
+        if (contact.getEmailAddresses() == null) {
+            return;
+        }
+        for (EmailAddress emailAddress : contact.getEmailAddresses()) {
+            if (emailAddress != null && emailAddress.getEmailAddress() != null) {
+                String email = emailAddress.getEmailAddress().toLowerCase(Locale.ROOT);
+                if (contactId.equals(_idByEmail.get(email))) {
+                    _idByEmail.remove(email);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Contact contact;
+
+        final long expiresAt;
+
+        Entry(Contact contact, long expiresAt) {
+            this.contact = contact;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.constantcontact.v2;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * A call that completes with a response known in advance, such as a cache hit, without making a request. The
+ * unexecuted call it replaces provides the {@link #request()}.
+ */
+final class CompletedCall<T> implements Call<T> {
+    private final T _body;
+
+    private final Call<T> _original;
+
+    private boolean _executed;
+
+    private volatile boolean _canceled;
+
+    CompletedCall(T body, Call<T> original) {
+        _body = body;
+        _original = original;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+        if (_canceled) {
+            throw new IOException("Canceled");
+        }
+        return Response.success(_body);
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+        if (_canceled) {
+            callback.onFailure(this, new IOException("Canceled"));
+        } else {
+            callback.onResponse(this, Response.success(_body));
+        }
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return _executed;
+    }
+
+    @Override
+    public void cancel() {
+        _canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return _canceled;
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new CompletedCall<>(_body, _original.clone());
+    }
+
+    @Override
+    public Request request() {
+        return _original.request();
+    }
+
+    private synchronized void markExecuted() {
+        if (_executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        _executed = true;
+    }
+}
@@ -0,0 +1,158 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.ContactStatus;
+import com.constantcontact.v2.contacts.OptInSource;
+import retrofit2.Call;
+
+import java.util.Iterator;
+
+/**
+ * Imports and exports large numbers of {@link Contact Contacts} through a {@link ContactService}.
+ * <p>
+ * The v2 contacts endpoints accept a single contact per call, so an import runs one call per contact: contacts with
+ * an ID are updated, the others are created. Calls run with bounded concurrency over the service's shared client,
+ * and updates that fail with a network error, a 429 or a 5xx response are retried with exponential backoff. A create
+ * isn't idempotent, so it is only retried when it can't have reached the server, because the connection couldn't be
+ * made or the response was a 429; otherwise it could create the contact twice.
+ * <pre>{@code
+ * ContactBulkOperations bulk = new ContactBulkOperations(api.getContactService(), OptInSource.ACTION_BY_OWNER);
+ * bulk.setConcurrency(16);
+ * BulkReport<Contact, Contact> report = bulk.importContacts(contacts);
+ * for (BulkResult<Contact, Contact> failure : report.getFailures()) {
+ *     // ...
+ * }
+ * }</pre>
+ */
+public class ContactBulkOperations {
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 500;
+
+    private final ContactService _contactService;
+
+    private final OptInSource _optInSource;
+
+    private int _concurrency = DEFAULT_CONCURRENCY;
+
+    private int _maxRetries = DEFAULT_MAX_RETRIES;
+
+    private long _retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
+    /**
+     * Creates an instance.
+     *
+     * @param contactService the service used for every call
+     * @param optInSource    who is creating or updating the contacts
+     */
+    public ContactBulkOperations(ContactService contactService, OptInSource optInSource) {
+        _contactService = contactService;
+        _optInSource = optInSource;
+    }
+
+    public int getConcurrency() {
+        return _concurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrent calls.
+     *
+     * @param concurrency the number of calls, at least 1
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        _concurrency = concurrency;
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * Sets the number of times a failed contact is retried.
+     *
+     * @param maxRetries the number of retries, 0 to disable
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries < 0");
+        }
+        _maxRetries = maxRetries;
+    }
+
+    public long getRetryDelayMillis() {
+        return _retryDelayMillis;
+    }
+
+    /**
+     * Sets the base delay of the exponential backoff between retries.
+     *
+     * @param retryDelayMillis the delay before the first retry, in milliseconds, at least 0
+     */
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis < 0");
+        }
+        _retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Creates or updates every contact, blocking until all of them have completed.
+     *
+     * @param contacts the contacts, read lazily
+     * @return the outcome of each contact, where the result is the contact returned by the server
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<Contact, Contact> importContacts(Iterable<Contact> contacts) throws InterruptedException {
+        return importContacts(contacts.iterator());
+    }
+
+    /**
+     * Creates or updates every contact, blocking until all of them have completed.
+     *
+     * @param contacts the contacts, read lazily
+     * @return the outcome of each contact, where the result is the contact returned by the server
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<Contact, Contact> importContacts(Iterator<Contact> contacts) throws InterruptedException {
+        BulkExecutor executor = new BulkExecutor(_concurrency, _maxRetries, _retryDelayMillis);
+        return executor.execute(contacts, new BulkExecutor.MixedOperation<Contact, Contact>() {
+            @Override
+            public Call<Contact> call(Contact contact) {
+                if (contact.getId() != null) {
+                    return _contactService.updateContact(contact, contact.getId(), _optInSource);
+                }
+                return _contactService.createContact(contact, _optInSource);
+            }
+
+            @Override
+            public boolean isIdempotent(Contact contact) {
+                return contact.getId() != null;
+            }
+        });
+    }
+
+    /**
+     * Exports contacts, fetching the following pages in the background.
+     *
+     * @param limit         Size of page to fetch (1-500)
+     * @param modifiedSince Date to specify retrieval of contacts that have been modified since then, or {@code null}
+     * @param status        Retrieve contacts with only the chosen {@link ContactStatus}, or {@code null}
+     * @param prefetchDepth the maximum number of pages fetched ahead of the caller
+     * @return an iterable over every matching contact
+     */
+    public PageIterable<Contact> exportContacts(int limit, QueryDate modifiedSince, ContactStatus status,
+                                                int prefetchDepth) {
+        return new PageIterable<>(_contactService.getContacts(limit, modifiedSince, status),
+                                  new PagedCallFactory<Contact>() {
+                                      @Override
+                                      public Call<Paged<Contact>> create(String nextLink) {
+                                          return _contactService.getContacts(nextLink);
+                                      }
+                                  }, prefetchDepth);
+    }
+}
@@ -76,6 +76,28 @@ public interface ContactService {
     @GET
     Call<Paged<Contact>> getContacts(@Url String nextLink);
 
+    /**
+     * Get a {@link PagedStream} of {@link Contact}, which parses each Contact as it is iterated instead of
+     * materializing the whole page
+     *
+     * @param limit  Size of page to return (1-500)
+     * @param date   Date to specify retrieval of contacts that have been modified since then, in ISO-8601 format
+     * @param status Retrieve contacts with only the chosen {@link ContactStatus}
+     * @return a streamed page of Contacts, which must be iterated to the end or closed
+     */
+    @GET("v2/contacts")
+    Call<PagedStream<Contact>> streamContacts(@Query("limit") int limit, @Query("modified_since") QueryDate date,
+                                             @Query("status") ContactStatus status);
+
+    /**
+     * Get a {@link PagedStream} of {@link Contact} from a previous call's next link
+     *
+     * @param nextLink Value of {@link PagedStream#getNextLink()} or {@link Paged#getNextLink()} of the previous page
+     * @return a streamed page of Contacts, which must be iterated to the end or closed
+     */
+    @GET
+    Call<PagedStream<Contact>> streamContacts(@Url String nextLink);
+
     /**
      * Create an individual {@link Contact}
      *
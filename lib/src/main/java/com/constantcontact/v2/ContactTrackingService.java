@@ -201,4 +201,28 @@ public interface ContactTrackingService {
      */
     @GET
     Call<Paged<BaseTrackingReport>> getAllReports(@Url String nextLink);
+
+    /**
+     * Get a {@link PagedStream} of {@link BaseTrackingReport} from a {@link Contact}, which parses each report as
+     * it is iterated instead of materializing the whole page
+     *
+     * @param contactId        The Contact ID
+     * @param createdSinceDate Date to specify retrieval of reports that have been created since then, in ISO-8601 format
+     * @param limit            Page size to return (1 - 500)
+     * @return                 a streamed page of BaseTrackingReports, which must be iterated to the end or closed
+     */
+    @GET("v2/contacts/{contactId}/tracking")
+    Call<PagedStream<BaseTrackingReport>> streamAllReports(@Path("contactId") String contactId,
+                                                           @Query("created_since") QueryDate createdSinceDate,
+                                                           @Query("limit") int limit);
+
+    /**
+     * Get a {@link PagedStream} of {@link BaseTrackingReport} from a {@link Contact} from a previous call's
+     * next link.
+     *
+     * @param nextLink Value of {@link PagedStream#getNextLink()} or {@link Paged#getNextLink()} of the previous page
+     * @return         a streamed page of BaseTrackingReports, which must be iterated to the end or closed
+     */
+    @GET
+    Call<PagedStream<BaseTrackingReport>> streamAllReports(@Url String nextLink);
 }
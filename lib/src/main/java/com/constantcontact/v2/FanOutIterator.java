@@ -0,0 +1,180 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterates over the results of several paginated reports at once, see {@link TrackingFanOut}. Each report is crawled
+ * page by page on its own worker thread, and pages are handed over through a bounded buffer, so workers stop
+ * fetching when the caller falls behind. Results of one report keep their order, but results of different reports
+ * are interleaved as their pages arrive.
+ * <p>
+ * If a page could not be fetched, the iterator throws a {@link PagingException} and stops every worker. Call
+ * {@link #close()} when stopping early.
+ *
+ * @param <T> the type of the results
+ */
+public final class FanOutIterator<T> implements Iterator<T>, Closeable {
+    private static final Object DONE = new Object();
+
+    private static final long HAND_OFF_WAIT_MILLIS = 100;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ctct-fanout-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final BlockingQueue<Object> _buffer;
+
+    private final ExecutorService _executor;
+
+    private volatile boolean _closed;
+
+    private int _remaining;
+
+    private Iterator<T> _current = Collections.emptyIterator();
+
+    FanOutIterator(List<TrackingReportQuery<T>> queries, final QueryDate createdSince, final int pageLimit,
+                   int concurrency, int bufferPages) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        if (bufferPages < 1) {
+            throw new IllegalArgumentException("bufferPages < 1");
+        }
+        _buffer = new ArrayBlockingQueue<>(bufferPages);
+        _remaining = queries.size();
+        _executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, queries.size())), THREAD_FACTORY);
+        for (final TrackingReportQuery<T> query : queries) {
+            _executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    crawl(query, createdSince, pageLimit);
+                }
+            });
+        }
+        _executor.shutdown();
+    }
+
+    private void crawl(TrackingReportQuery<T> query, QueryDate createdSince, int pageLimit) {
+        try {
+            Object outcome;
+            try {
+                Call<Paged<T>> call = query.first(createdSince, pageLimit);
+                while (call != null && !_closed) {
+                    Response<Paged<T>> response = call.execute();
+                    if (!response.isSuccessful()) {
+                        throw new PagingException(response.code(), response.message());
+                    }
+
+                    Paged<T> page = response.body();
+                    if (page.getResults() != null && !page.getResults().isEmpty() && !handOff(page.getResults())) {
+                        return;
+                    }
+                    String nextLink = page.getNextLink();
+                    call = nextLink != null ? query.next(nextLink) : null;
+                }
+                outcome = DONE;
+            } catch (IOException e) {
+                outcome = new PagingException(e);
+            } catch (PagingException e) {
+                outcome = e;
+            } catch (RuntimeException e) {
+                outcome = new PagingException(e);
+            }
+            handOff(outcome);
+        } catch (InterruptedException e) {
+            // Closed, nobody is waiting for the rest
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for room in the buffer, giving up once the iterator is closed, even if the interrupt sent by
+     * {@link #close()} was consumed by the call in progress.
+     *
+     * @return whether the item was buffered
+     */
+    private boolean handOff(Object item) throws InterruptedException {
+        while (!_closed) {
+            if (_buffer.offer(item, HAND_OFF_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        while (!_current.hasNext()) {
+            if (_remaining == 0) {
+                return false;
+            }
+
+            Object item;
+            try {
+                item = _buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new PagingException(e);
+            }
+
+            if (item == DONE) {
+                _remaining--;
+            } else if (item instanceof PagingException) {
+                close();
+                throw (PagingException) item;
+            } else {
+                _current = ((List<T>) item).iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return _current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stops every worker. Results that were already fetched are dropped.
+     */
+    @Override
+    public void close() {
+        _closed = true;
+        _remaining = 0;
+        _current = Collections.emptyIterator();
+        _executor.shutdownNow();
+        _buffer.clear();
+    }
+}
@@ -0,0 +1,295 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.library.FileStatus;
+import com.constantcontact.v2.library.FileUploadStatus;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for uploaded files to be processed by the Library, see {@link LibraryService#getFileUploadStatus(String)}.
+ * <p>
+ * Rather than one status call per file, the IDs of every pending file are polled together, up to
+ * {@link #MAX_BATCH_SIZE} per call, from a single background thread. Polls start at the minimum interval and back
+ * off up to the maximum interval while no file completes, or when the API is throttling or unavailable. Each file's
+ * future completes with its status once it is {@link FileStatus#ACTIVE}, {@link FileStatus#FAILED},
+ * {@link FileStatus#VIRUS_FOUND} or {@link FileStatus#DELETED}, or fails if its status can't be read.
+ * <pre>{@code
+ * BulkReport<Path, String> uploads = uploader.uploadAll(files, folderId, FileSource.MY_COMPUTER);
+ * try (FileUploadPoller poller = new FileUploadPoller(api.getLibraryService())) {
+ *     for (Map.Entry<Path, Future<FileUploadStatus>> entry : poller.trackAll(uploads).entrySet()) {
+ *         FileUploadStatus status = entry.getValue().get(5, TimeUnit.MINUTES);
+ *         // ...
+ *     }
+ * }
+ * }</pre>
+ */
+public class FileUploadPoller implements Closeable {
+    public static final int MAX_BATCH_SIZE = 50;
+
+    public static final long DEFAULT_MIN_INTERVAL_MILLIS = 1000;
+
+    public static final long DEFAULT_MAX_INTERVAL_MILLIS = 30000;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ctct-upload-status-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final LibraryService _libraryService;
+
+    private final long _minIntervalMillis;
+
+    private final long _maxIntervalMillis;
+
+    private final ScheduledExecutorService _executor;
+
+    private final Runnable _pollTask = new Runnable() {
+        @Override
+        public void run() {
+            poll();
+        }
+    };
+
+    private final Map<String, UploadStatusFuture> _pending = new LinkedHashMap<>();
+
+    private long _intervalMillis;
+
+    private ScheduledFuture<?> _nextPoll;
+
+    private boolean _closed;
+
+    private final AtomicInteger _pollCount = new AtomicInteger();
+
+    /**
+     * Creates an instance polling every second at first, and at most every 30 seconds.
+     *
+     * @param libraryService the service used for every call
+     */
+    public FileUploadPoller(LibraryService libraryService) {
+        this(libraryService, DEFAULT_MIN_INTERVAL_MILLIS, DEFAULT_MAX_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param libraryService    the service used for every call
+     * @param minIntervalMillis the interval between polls while files are completing
+     * @param maxIntervalMillis the longest interval between polls
+     */
+    public FileUploadPoller(LibraryService libraryService, long minIntervalMillis, long maxIntervalMillis) {
+        if (minIntervalMillis < 1) {
+            throw new IllegalArgumentException("minIntervalMillis < 1");
+        }
+        if (maxIntervalMillis < minIntervalMillis) {
+            throw new IllegalArgumentException("maxIntervalMillis < minIntervalMillis");
+        }
+        _libraryService = libraryService;
+        _minIntervalMillis = minIntervalMillis;
+        _maxIntervalMillis = maxIntervalMillis;
+        _intervalMillis = minIntervalMillis;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+        executor.allowCoreThreadTimeOut(true);
+        _executor = executor;
+    }
+
+    /**
+     * Starts waiting for a file. Tracking a file that is already pending returns the same future.
+     *
+     * @param fileId the ID of the uploaded file
+     * @return a future completing with the file's final status; cancel it to stop waiting
+     */
+    public synchronized Future<FileUploadStatus> track(String fileId) {
+        if (_closed) {
+            throw new IllegalStateException("Closed");
+        }
+
+        UploadStatusFuture future = _pending.get(fileId);
+        if (future == null || future.isCancelled()) {
+            future = new UploadStatusFuture(fileId);
+            _pending.put(fileId, future);
+        }
+
+        // New uploads are polled soon, even if the poller had backed off
+        _intervalMillis = _minIntervalMillis;
+        if (_nextPoll == null
+            || (_nextPoll.getDelay(TimeUnit.MILLISECONDS) > _minIntervalMillis && _nextPoll.cancel(false))) {
+            _nextPoll = _executor.schedule(_pollTask, _minIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Starts waiting for every file uploaded successfully by {@link FileUploader#uploadAll(Iterable, String,
+     * com.constantcontact.v2.library.FileSource)}.
+     *
+     * @param uploads the outcome of the uploads
+     * @return the future of each uploaded file, in the order of the uploads
+     */
+    public Map<Path, Future<FileUploadStatus>> trackAll(BulkReport<Path, String> uploads) {
+        Map<Path, Future<FileUploadStatus>> futures = new LinkedHashMap<>();
+        for (BulkResult<Path, String> upload : uploads.getResults()) {
+            if (upload.isSuccessful() && upload.getResult() != null) {
+                futures.put(upload.getItem(), track(upload.getResult()));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * @return the number of files whose final status hasn't been read yet
+     */
+    public synchronized int getPendingCount() {
+        return _pending.size();
+    }
+
+    /**
+     * @return the number of status calls made so far
+     */
+    public int getPollCount() {
+        return _pollCount.get();
+    }
+
+    /**
+     * Stops polling, and cancels the futures of the files that are still pending.
+     */
+    @Override
+    public void close() {
+        List<UploadStatusFuture> pending;
+        synchronized (this) {
+            _closed = true;
+            pending = new ArrayList<>(_pending.values());
+            _pending.clear();
+        }
+        _executor.shutdownNow();
+        for (UploadStatusFuture future : pending) {
+            future.cancel(false);
+        }
+    }
+
+    private void poll() {
+        List<String> fileIds = new ArrayList<>();
+        synchronized (this) {
+            _nextPoll = null;
+            Iterator<UploadStatusFuture> iterator = _pending.values().iterator();
+            while (iterator.hasNext()) {
+                UploadStatusFuture future = iterator.next();
+                if (future.isCancelled()) {
+                    iterator.remove();
+                } else {
+                    fileIds.add(future.getFileId());
+                }
+            }
+        }
+
+        boolean completed = false;
+        boolean throttled = false;
+        for (int from = 0; from < fileIds.size() && !throttled; from += MAX_BATCH_SIZE) {
+            List<String> batch = fileIds.subList(from, Math.min(from + MAX_BATCH_SIZE, fileIds.size()));
+            _pollCount.incrementAndGet();
+
+            Response<FileUploadStatus[]> response;
+            try {
+                response = _libraryService.getFileUploadStatus(join(batch)).execute();
+            } catch (IOException e) {
+                // Network errors are likely to affect the other batches too, try again later
+                throttled = true;
+                continue;
+            } catch (RuntimeException e) {
+                completed |= fail(batch, e);
+                continue;
+            }
+
+            if (response.isSuccessful()) {
+                completed |= complete(response.body());
+            } else if (response.code() == 429 || response.code() >= 500) {
+                throttled = true;
+            } else {
+                completed |= fail(batch, new IOException("Reading upload status failed: " + response.code() + " "
+                                                         + response.message()));
+            }
+        }
+
+        synchronized (this) {
+            _intervalMillis = completed && !throttled
+                    ? _minIntervalMillis : Math.min(_intervalMillis * 2, _maxIntervalMillis);
+            if (!_closed && !_pending.isEmpty() && _nextPoll == null) {
+                _nextPoll = _executor.schedule(_pollTask, _intervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private boolean complete(FileUploadStatus[] statuses) {
+        boolean completed = false;
+        if (statuses == null) {
+            return false;
+        }
+
+        for (FileUploadStatus status : statuses) {
+            if (status == null || !isFinal(status.getStatus())) {
+                continue;
+            }
+
+            UploadStatusFuture future;
+            synchronized (this) {
+                future = _pending.remove(String.valueOf(status.getId()));
+            }
+            if (future != null) {
+                future.complete(status);
+                completed = true;
+            }
+        }
+        return completed;
+    }
+
+    private boolean fail(List<String> fileIds, Throwable failure) {
+        boolean completed = false;
+        for (String fileId : fileIds) {
+            UploadStatusFuture future;
+            synchronized (this) {
+                future = _pending.remove(fileId);
+            }
+            if (future != null) {
+                future.fail(failure);
+                completed = true;
+            }
+        }
+        return completed;
+    }
+
+    private static boolean isFinal(FileStatus status) {
+        return status != null && status != FileStatus.PROCESSING && status != FileStatus.UPLOADED;
+    }
+
+    private static String join(List<String> fileIds) {
+        StringBuilder joined = new StringBuilder();
+        for (String fileId : fileIds) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(fileId);
+        }
+        return joined.toString();
+    }
+}
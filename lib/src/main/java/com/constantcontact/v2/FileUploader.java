@@ -0,0 +1,220 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.library.FileSource;
+import com.constantcontact.v2.library.FileType;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Uploads files from disk to the Library through a {@link LibraryService}.
+ * <p>
+ * Each file is streamed from disk with a {@link FileRequestBody}, so memory use doesn't depend on the size of the
+ * files. Many files are uploaded with bounded concurrency over the service's shared client. An upload isn't
+ * idempotent, so only files that can't have reached the server, because the connection couldn't be made or the
+ * response was a 429, are retried with exponential backoff, reading the file again; other failures are reported. The
+ * result of each upload is the new File's ID; the Library then processes the file asynchronously, see
+ * {@link FileUploadPoller}.
+ * <pre>{@code
+ * FileUploader uploader = new FileUploader(api.getLibraryService());
+ * uploader.setProgressListener(new FileUploader.ProgressListener() {
+ *     public void onProgress(Path file, long bytesWritten, long contentLength) {
+ *         // ...
+ *     }
+ * });
+ * BulkReport<Path, String> report = uploader.uploadAll(files, folderId, FileSource.MY_COMPUTER);
+ * }</pre>
+ */
+public class FileUploader {
+    /**
+     * Notified as each file is written to the connection.
+     */
+    public interface ProgressListener {
+        /**
+         * Called as a file is written, and once it has been written entirely, from the thread uploading it. When an
+         * upload is retried, {@code bytesWritten} starts over.
+         *
+         * @param file          the file
+         * @param bytesWritten  the number of bytes written so far
+         * @param contentLength the size of the file
+         */
+        void onProgress(Path file, long bytesWritten, long contentLength);
+    }
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 500;
+
+    private final LibraryService _libraryService;
+
+    private int _concurrency = DEFAULT_CONCURRENCY;
+
+    private int _maxRetries = DEFAULT_MAX_RETRIES;
+
+    private long _retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
+    private ProgressListener _progressListener;
+
+    /**
+     * Creates an instance.
+     *
+     * @param libraryService the service used for every call
+     */
+    public FileUploader(LibraryService libraryService) {
+        _libraryService = libraryService;
+    }
+
+    public int getConcurrency() {
+        return _concurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrent uploads.
+     *
+     * @param concurrency the number of uploads, at least 1
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        _concurrency = concurrency;
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * Sets the number of times an upload that can't have reached the server is retried.
+     *
+     * @param maxRetries the number of retries, 0 to disable
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries < 0");
+        }
+        _maxRetries = maxRetries;
+    }
+
+    public long getRetryDelayMillis() {
+        return _retryDelayMillis;
+    }
+
+    /**
+     * Sets the base delay of the exponential backoff between retries.
+     *
+     * @param retryDelayMillis the delay before the first retry, in milliseconds, at least 0
+     */
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis < 0");
+        }
+        _retryDelayMillis = retryDelayMillis;
+    }
+
+    public ProgressListener getProgressListener() {
+        return _progressListener;
+    }
+
+    /**
+     * Sets the listener notified of the progress of every upload.
+     *
+     * @param progressListener the listener, or {@code null} for none
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        _progressListener = progressListener;
+    }
+
+    /**
+     * Creates the call uploading a single file.
+     *
+     * @param file        the file
+     * @param fileType    the type of the file
+     * @param description a description of the file
+     * @param folderId    the ID of the folder to upload to
+     * @param source      the source of the file
+     * @return a call whose result is the new File's ID
+     * @throws IOException if the size of the file can't be read
+     */
+    public Call<String> upload(final Path file, FileType fileType, String description, String folderId,
+                               FileSource source) throws IOException {
+        UploadProgressListener fileListener = null;
+        final ProgressListener progressListener = _progressListener;
+        if (progressListener != null) {
+            fileListener = new UploadProgressListener() {
+                @Override
+                public void onProgress(long bytesWritten, long contentLength) {
+                    progressListener.onProgress(file, bytesWritten, contentLength);
+                }
+            };
+        }
+
+        String fileName = file.getFileName().toString();
+        MultipartBody body = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("data", fileName,
+                                 FileRequestBody.create(MediaType.parse(fileType.getMimeType()), file, fileListener))
+                .addFormDataPart("description", description)
+                .addFormDataPart("file_name", fileName)
+                .addFormDataPart("file_type", fileType.toString())
+                .addFormDataPart("folder_id", folderId)
+                .addFormDataPart("source", source.toString())
+                .build();
+        return new UploadCall(_libraryService.uploadFile(body));
+    }
+
+    /**
+     * Uploads every file, blocking until all of them have completed. The type of each file is read from its
+     * extension, and its name is used as its description.
+     *
+     * @param files    the files, read lazily
+     * @param folderId the ID of the folder to upload to
+     * @param source   the source of the files
+     * @return the outcome of each file, where the result is the new File's ID
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<Path, String> uploadAll(Iterable<Path> files, String folderId, FileSource source)
+            throws InterruptedException {
+        return uploadAll(files.iterator(), folderId, source);
+    }
+
+    /**
+     * Uploads every file, blocking until all of them have completed, see {@link #uploadAll(Iterable, String,
+     * FileSource)}.
+     *
+     * @param files    the files, read lazily
+     * @param folderId the ID of the folder to upload to
+     * @param source   the source of the files
+     * @return the outcome of each file, where the result is the new File's ID
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<Path, String> uploadAll(Iterator<Path> files, final String folderId, final FileSource source)
+            throws InterruptedException {
+        BulkExecutor executor = new BulkExecutor(_concurrency, _maxRetries, _retryDelayMillis, false);
+        return executor.execute(files, new BulkExecutor.Operation<Path, String>() {
+            @Override
+            public Call<String> call(Path file) {
+                String fileName = file.getFileName().toString();
+                try {
+                    return upload(file, fileType(fileName), fileName, folderId, source);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Can't read " + file, e);
+                }
+            }
+        });
+    }
+
+    private static FileType fileType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("No file type for " + fileName);
+        }
+        return FileType.create(fileName.substring(dot + 1));
+    }
+}
@@ -0,0 +1,217 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.library.File;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Moves and deletes large numbers of Library {@link File Files} through a {@link LibraryService}.
+ * <p>
+ * Moves are sent in batches of file IDs, and deletes one call per file, as the v2 endpoints require. Calls run with
+ * bounded concurrency over the service's shared client, so a rate limiter set on the client paces them, and batches
+ * or files that fail with a network error, a 429 or a 5xx response are retried with exponential backoff. Moving a
+ * file is idempotent, but note that a delete that reached the server before failing may then be reported as a 404.
+ * <pre>{@code
+ * LibraryBulkOperations bulk = new LibraryBulkOperations(api.getLibraryService());
+ * BulkReport<List<String>, File[]> moves = bulk.moveFiles(fileIds, folderId);
+ * for (BulkResult<List<String>, File[]> failure : moves.getFailures()) {
+ *     // ...
+ * }
+ * }</pre>
+ */
+public class LibraryBulkOperations {
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 500;
+
+    public static final int DEFAULT_MOVE_BATCH_SIZE = 50;
+
+    private final LibraryService _libraryService;
+
+    private int _concurrency = DEFAULT_CONCURRENCY;
+
+    private int _maxRetries = DEFAULT_MAX_RETRIES;
+
+    private long _retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
+    private int _moveBatchSize = DEFAULT_MOVE_BATCH_SIZE;
+
+    /**
+     * Creates an instance.
+     *
+     * @param libraryService the service used for every call
+     */
+    public LibraryBulkOperations(LibraryService libraryService) {
+        _libraryService = libraryService;
+    }
+
+    public int getConcurrency() {
+        return _concurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrent calls.
+     *
+     * @param concurrency the number of calls, at least 1
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        _concurrency = concurrency;
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * Sets the number of times a failed batch or file is retried.
+     *
+     * @param maxRetries the number of retries, 0 to disable
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries < 0");
+        }
+        _maxRetries = maxRetries;
+    }
+
+    public long getRetryDelayMillis() {
+        return _retryDelayMillis;
+    }
+
+    /**
+     * Sets the base delay of the exponential backoff between retries.
+     *
+     * @param retryDelayMillis the delay before the first retry, in milliseconds, at least 0
+     */
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis < 0");
+        }
+        _retryDelayMillis = retryDelayMillis;
+    }
+
+    public int getMoveBatchSize() {
+        return _moveBatchSize;
+    }
+
+    /**
+     * Sets the number of files moved per call. Larger batches make fewer calls, but a batch the API rejects fails
+     * as a whole.
+     *
+     * @param moveBatchSize the number of file IDs per call, at least 1
+     */
+    public void setMoveBatchSize(int moveBatchSize) {
+        if (moveBatchSize < 1) {
+            throw new IllegalArgumentException("moveBatchSize < 1");
+        }
+        _moveBatchSize = moveBatchSize;
+    }
+
+    /**
+     * Moves every file to a folder, blocking until all of them have completed.
+     *
+     * @param fileIds  the IDs of the files, read lazily
+     * @param folderId the ID of the folder to move the files to
+     * @return the outcome of each batch, where the item is the batch's file IDs and the result the moved files
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<List<String>, File[]> moveFiles(Iterable<String> fileIds, String folderId)
+            throws InterruptedException {
+        return moveFiles(fileIds.iterator(), folderId);
+    }
+
+    /**
+     * Moves every file to a folder, blocking until all of them have completed.
+     *
+     * @param fileIds  the IDs of the files, read lazily
+     * @param folderId the ID of the folder to move the files to
+     * @return the outcome of each batch, where the item is the batch's file IDs and the result the moved files
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<List<String>, File[]> moveFiles(Iterator<String> fileIds, final String folderId)
+            throws InterruptedException {
+        BulkExecutor executor = new BulkExecutor(_concurrency, _maxRetries, _retryDelayMillis);
+        return executor.execute(new BatchIterator(fileIds, _moveBatchSize),
+                                new BulkExecutor.Operation<List<String>, File[]>() {
+                                    @Override
+                                    public Call<File[]> call(List<String> batch) {
+                                        return _libraryService.moveFiles(folderId,
+                                                                         batch.toArray(new String[batch.size()]));
+                                    }
+                                });
+    }
+
+    /**
+     * Deletes every file, blocking until all of them have completed. Deleted files are moved to the Trash folder.
+     *
+     * @param fileIds the IDs of the files, read lazily
+     * @return the outcome of each file
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<String, Response<Void>> deleteFiles(Iterable<String> fileIds) throws InterruptedException {
+        return deleteFiles(fileIds.iterator());
+    }
+
+    /**
+     * Deletes every file, blocking until all of them have completed. Deleted files are moved to the Trash folder.
+     *
+     * @param fileIds the IDs of the files, read lazily
+     * @return the outcome of each file
+     * @throws InterruptedException if the calling thread is interrupted while submitting or waiting
+     */
+    public BulkReport<String, Response<Void>> deleteFiles(Iterator<String> fileIds) throws InterruptedException {
+        BulkExecutor executor = new BulkExecutor(_concurrency, _maxRetries, _retryDelayMillis);
+        return executor.execute(fileIds, new BulkExecutor.Operation<String, Response<Void>>() {
+            @Override
+            public Call<Response<Void>> call(String fileId) {
+                return _libraryService.deleteFile(fileId);
+            }
+        });
+    }
+
+    /**
+     * Groups the IDs read from the source into batches, reading the source lazily.
+     */
+    private static final class BatchIterator implements Iterator<List<String>> {
+        private final Iterator<String> _source;
+
+        private final int _batchSize;
+
+        BatchIterator(Iterator<String> source, int batchSize) {
+            _source = source;
+            _batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _source.hasNext();
+        }
+
+        @Override
+        public List<String> next() {
+            if (!_source.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> batch = new ArrayList<>(_batchSize);
+            while (batch.size() < _batchSize && _source.hasNext()) {
+                batch.add(_source.next());
+            }
+            return batch;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
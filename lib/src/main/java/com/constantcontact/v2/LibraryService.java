@@ -1,6 +1,7 @@
 package com.constantcontact.v2;
 
 import com.constantcontact.v2.library.*;
+import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -35,8 +36,8 @@ public interface LibraryService {
      * @param nextLink Value of the link found in the meta of the original call
      * @return an Observable that emits Paged Folders
      */
-    @GET("v2/library/folders?next={next}")
-    Call<Paged<Folder>> getFolders(@Path("next") String nextLink);
+    @GET
+    Call<Paged<Folder>> getFolders(@Url String nextLink);
 
     /**
      * Create a new {@link Folder}
@@ -73,7 +74,7 @@ public interface LibraryService {
      * @return an Observable that emits a {@link retrofit2.Response}
      */
     @DELETE("v2/library/folders/{folderId}")
-    Call<Response> deleteFolder(@Path("folderId") String folderId);
+    Call<Response<Void>> deleteFolder(@Path("folderId") String folderId);
 
     /**
      * Get a {@link Paged} collection of {@link File}
@@ -116,12 +117,11 @@ public interface LibraryService {
     /**
      * Get a {@link Paged} collection of {@link File} from a specific {@link Folder}.
      *
-     * @param folderId The Folder ID
-     * @param nextLink Value of the link found in the meta of the original call
+     * @param nextLink Value of the link found in the meta of the original call, which identifies the Folder
      * @return an Observable that emits Paged Files
      */
-    @GET("v2/library/folders/{folderId}/files?next={next}")
-    Call<Paged<File>> getFilesByFolder(@Path("folderId") String folderId, @Path("next") String nextLink);
+    @GET
+    Call<Paged<File>> getFilesByFolder(@Url String nextLink);
 
     /**
      * Get a specific {@link File}
@@ -150,7 +150,7 @@ public interface LibraryService {
      * @return an Observable that emits an Array of updated Files
      */
     @PUT("v2/library/folders/{folderId}/files")
-    Call<File> moveFiles(@Path("folderId") String folderId, @Body String[] fileIds);
+    Call<File[]> moveFiles(@Path("folderId") String folderId, @Body String[] fileIds);
 
     /**
      * Delete a {@link File}
@@ -216,4 +216,28 @@ public interface LibraryService {
                                     @Part("file_type") RequestBody fileType,
                                     @Part("folder_id") RequestBody folderId,
                                     @Part("source") RequestBody source);
+
+    /**
+     * Upload a new {@link File} to the Library as a single multipart body, e.g. one streaming the file from disk:
+     * <pre>{@code
+     * MultipartBody body = new MultipartBody.Builder()
+     *         .setType(MultipartBody.FORM)
+     *         .addFormDataPart("data", fileName, FileRequestBody.create(MediaType.parse(fileType.getMimeType()), path))
+     *         .addFormDataPart("description", description)
+     *         .addFormDataPart("file_name", fileName)
+     *         .addFormDataPart("file_type", fileType.toString())
+     *         .addFormDataPart("folder_id", folderId)
+     *         .addFormDataPart("source", FileSource.MY_COMPUTER.toString())
+     *         .build();
+     * }</pre>
+     * The body keeps its own {@code Content-Type}, including the multipart boundary, and the empty response isn't
+     * parsed. {@link FileUploader} uploads many files this way.
+     *
+     * @param body the multipart form with the same parts as {@link #uploadFile(RequestBody, RequestBody, RequestBody,
+     *             RequestBody, RequestBody, RequestBody)}
+     * @return a Call for the Response - the File's new ID is the last segment of its {@code Location} header
+     * @see <a href="https://developer.constantcontact.com/docs/mylibrary-files-api/file-add-multipart-post.html">API Docs</a>
+     */
+    @POST("v2/library/files")
+    Call<Void> uploadFile(@Body MultipartBody body);
 }
@@ -0,0 +1,88 @@
+package com.constantcontact.v2;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * A call that reports its outcome to an {@link Observer} before returning it to the caller, whether it is executed
+ * or enqueued.
+ */
+final class ObservingCall<T> implements Call<T> {
+    /**
+     * Receives the outcome of a call.
+     */
+    interface Observer<T> {
+        void onResponse(Response<T> response);
+
+        void onFailure(Throwable failure);
+    }
+
+    private final Call<T> _delegate;
+
+    private final Observer<T> _observer;
+
+    ObservingCall(Call<T> delegate, Observer<T> observer) {
+        _delegate = delegate;
+        _observer = observer;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        Response<T> response;
+        try {
+            response = _delegate.execute();
+        } catch (IOException | RuntimeException e) {
+            _observer.onFailure(e);
+            throw e;
+        }
+        _observer.onResponse(response);
+        return response;
+    }
+
+    @Override
+    public void enqueue(final Callback<T> callback) {
+        _delegate.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                _observer.onResponse(response);
+                callback.onResponse(ObservingCall.this, response);
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                _observer.onFailure(t);
+                callback.onFailure(ObservingCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return _delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        _delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return _delegate.isCanceled();
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new ObservingCall<>(_delegate.clone(), _observer);
+    }
+
+    @Override
+    public Request request() {
+        return _delegate.request();
+    }
+}
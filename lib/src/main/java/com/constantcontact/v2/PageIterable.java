@@ -0,0 +1,118 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} over every result of a paged endpoint, fetching the following pages in the background with a
+ * {@link PageIterator}. Example:
+ * <pre>{@code
+ * final ContactService service = api.getContactService();
+ * PageIterable<Contact> contacts = new PageIterable<>(
+ *         service.getContacts(ContactService.MAX_PAGE_LIMIT, ContactStatus.ACTIVE),
+ *         new PagedCallFactory<Contact>() {
+ *             public Call<Paged<Contact>> create(String nextLink) {
+ *                 return service.getContacts(nextLink);
+ *             }
+ *         }, 2);
+ * for (Contact contact : contacts) {
+ *     // ...
+ * }
+ * }</pre>
+ * Each call to {@link #iterator()} starts over from a clone of the first page call.
+ *
+ * @param <T> the type of the paged results
+ */
+public class PageIterable<T> implements Iterable<T> {
+    private final Call<Paged<T>> _firstPage;
+
+    private final PagedCallFactory<T> _nextPageFactory;
+
+    private final int _prefetchDepth;
+
+    /**
+     * Creates an iterable with the {@link PageIterator#DEFAULT_PREFETCH_DEPTH default prefetch depth}.
+     *
+     * @param firstPage       the unexecuted call for the first page
+     * @param nextPageFactory creates the calls for the following pages
+     */
+    public PageIterable(Call<Paged<T>> firstPage, PagedCallFactory<T> nextPageFactory) {
+        this(firstPage, nextPageFactory, PageIterator.DEFAULT_PREFETCH_DEPTH);
+    }
+
+    /**
+     * Creates an iterable.
+     *
+     * @param firstPage       the unexecuted call for the first page
+     * @param nextPageFactory creates the calls for the following pages
+     * @param prefetchDepth   the maximum number of pages fetched ahead of the caller, at least 1
+     */
+    public PageIterable(Call<Paged<T>> firstPage, PagedCallFactory<T> nextPageFactory, int prefetchDepth) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("prefetchDepth < 1");
+        }
+        _firstPage = firstPage;
+        _nextPageFactory = nextPageFactory;
+        _prefetchDepth = prefetchDepth;
+    }
+
+    /**
+     * Starts iterating page by page.
+     *
+     * @return a new page iterator
+     */
+    public PageIterator<T> pages() {
+        return new PageIterator<>(_firstPage.clone(), _nextPageFactory, _prefetchDepth);
+    }
+
+    /**
+     * Starts iterating result by result. A failed page is reported by throwing a {@link PagingException}.
+     *
+     * @return a new result iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ResultIterator<>(pages());
+    }
+
+    private static class ResultIterator<T> implements Iterator<T> {
+        private final PageIterator<T> _pages;
+
+        private Iterator<T> _current = Collections.<T>emptyList().iterator();
+
+        ResultIterator(PageIterator<T> pages) {
+            _pages = pages;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!_current.hasNext()) {
+                if (!_pages.hasNext()) {
+                    return false;
+                }
+                List<T> results = _pages.next().getResults();
+                if (results != null) {
+                    _current = results.iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return _current.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
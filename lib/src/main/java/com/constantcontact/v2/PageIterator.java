@@ -0,0 +1,184 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over a chain of {@link Paged} responses, following {@link Paged#getNextLink()} until the last page.
+ * <p>
+ * Pages are fetched asynchronously through {@link Call#enqueue(Callback)}, so while the caller is processing page N
+ * the client is already fetching up to {@code prefetchDepth} pages ahead. Failed pages are reported by throwing a
+ * {@link PagingException} from {@link #next()}, after which iteration ends. A successful response without a body
+ * also ends iteration.
+ * <p>
+ * NOTE: {@link #hasNext()} blocks until the next page arrives, so it must not be called on a thread that Retrofit
+ * delivers callbacks on (e.g. the Android main thread).
+ *
+ * @param <T> the type of the paged results
+ */
+public class PageIterator<T> implements Iterator<Paged<T>>, Closeable {
+    /**
+     * The default number of pages fetched ahead of the caller.
+     */
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
+    private final PagedCallFactory<T> _nextPageFactory;
+
+    private final int _prefetchDepth;
+
+    private final Object _lock = new Object();
+
+    /**
+     * Fetched pages that have not been returned yet, or a {@link PagingException} for a failed page.
+     */
+    private final ArrayDeque<Object> _buffer = new ArrayDeque<>();
+
+    private Call<Paged<T>> _inFlight;
+
+    private String _pendingLink;
+
+    private boolean _closed;
+
+    /**
+     * Creates an iterator and immediately starts fetching the first page.
+     *
+     * @param firstPage       the unexecuted call for the first page
+     * @param nextPageFactory creates the calls for the following pages
+     * @param prefetchDepth   the maximum number of pages fetched ahead of the caller, at least 1
+     */
+    public PageIterator(Call<Paged<T>> firstPage, PagedCallFactory<T> nextPageFactory, int prefetchDepth) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("prefetchDepth < 1");
+        }
+        _nextPageFactory = nextPageFactory;
+        _prefetchDepth = prefetchDepth;
+
+        synchronized (_lock) {
+            fetch(firstPage);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        synchronized (_lock) {
+            while (_buffer.isEmpty() && _inFlight != null && !_closed) {
+                try {
+                    _lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PagingException(e);
+                }
+            }
+            return !_buffer.isEmpty();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Paged<T> next() {
+        synchronized (_lock) {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Object head = _buffer.poll();
+            if (_pendingLink != null && _inFlight == null) {
+                String link = _pendingLink;
+                _pendingLink = null;
+                fetch(_nextPageFactory.create(link));
+            }
+
+            if (head instanceof PagingException) {
+                throw (PagingException) head;
+            }
+            return (Paged<T>) head;
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * Stops fetching pages and discards any page that has not been returned yet.
+     */
+    @Override
+    public void close() {
+        synchronized (_lock) {
+            _closed = true;
+            _pendingLink = null;
+            _buffer.clear();
+            if (_inFlight != null) {
+                _inFlight.cancel();
+                _inFlight = null;
+            }
+            _lock.notifyAll();
+        }
+    }
+
+    /**
+     * Must be called while holding {@link #_lock}.
+     */
+    private void fetch(final Call<Paged<T>> call) {
+        _inFlight = call;
+        call.enqueue(new Callback<Paged<T>>() {
+            @Override
+            public void onResponse(Call<Paged<T>> call, Response<Paged<T>> response) {
+                synchronized (_lock) {
+                    if (_closed) {
+                        return;
+                    }
+                    _inFlight = null;
+
+                    try {
+                        if (!response.isSuccessful()) {
+                            _buffer.add(new PagingException(response.code(), response.message()));
+                            return;
+                        }
+
+                        // A successful response without a body, such as a 204, ends the chain
+                        Paged<T> page = response.body();
+                        if (page == null) {
+                            return;
+                        }
+                        _buffer.add(page);
+
+                        String link = page.getNextLink();
+                        if (link != null) {
+                            if (_buffer.size() < _prefetchDepth) {
+                                fetch(_nextPageFactory.create(link));
+                            } else {
+                                _pendingLink = link;
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        _inFlight = null;
+                        _buffer.add(new PagingException(e));
+                    } finally {
+                        // Always, so that a caller blocked in hasNext() never waits forever
+                        _lock.notifyAll();
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Call<Paged<T>> call, Throwable t) {
+                synchronized (_lock) {
+                    if (_closed) {
+                        return;
+                    }
+                    _inFlight = null;
+                    _buffer.add(new PagingException(t));
+                    _lock.notifyAll();
+                }
+            }
+        });
+    }
+}
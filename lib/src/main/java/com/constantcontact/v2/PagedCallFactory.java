@@ -0,0 +1,26 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+
+/**
+ * Creates the {@link Call} for the page that follows a {@link Paged} response, usually by delegating to one of the
+ * {@code @Url String nextLink} overloads of a service, e.g.
+ * <pre>{@code
+ * new PagedCallFactory<Contact>() {
+ *     public Call<Paged<Contact>> create(String nextLink) {
+ *         return contactService.getContacts(nextLink);
+ *     }
+ * };
+ * }</pre>
+ *
+ * @param <T> the type of the paged results
+ */
+public interface PagedCallFactory<T> {
+    /**
+     * Creates the call for the next page.
+     *
+     * @param nextLink the value of {@link Paged#getNextLink()} of the previous page
+     * @return a new, unexecuted call
+     */
+    Call<Paged<T>> create(String nextLink);
+}
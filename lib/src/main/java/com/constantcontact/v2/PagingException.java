@@ -0,0 +1,38 @@
+package com.constantcontact.v2;
+
+/**
+ * Thrown by {@link PageIterator} when a page could not be fetched.
+ */
+public class PagingException extends RuntimeException {
+    private final int _code;
+
+    /**
+     * Creates an exception for an unsuccessful HTTP response.
+     *
+     * @param code    the HTTP status code
+     * @param message the HTTP status message
+     */
+    public PagingException(int code, String message) {
+        super("HTTP " + code + " " + message);
+        _code = code;
+    }
+
+    /**
+     * Creates an exception for a call that failed without a response.
+     *
+     * @param cause the underlying failure
+     */
+    public PagingException(Throwable cause) {
+        super(cause);
+        _code = -1;
+    }
+
+    /**
+     * Gets the HTTP status code of the failed page.
+     *
+     * @return the status code, or -1 if no response was received
+     */
+    public int getCode() {
+        return _code;
+    }
+}
@@ -0,0 +1,75 @@
+package com.constantcontact.v2;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * A call that is executed or enqueued with the credentials of one account set in the {@link TenantContext}, so the
+ * shared client's {@link TenantCallFactory} authorizes it for that account.
+ */
+final class TenantCall<T> implements Call<T> {
+    private final Call<T> _delegate;
+
+    private final TenantCredentials _credentials;
+
+    TenantCall(Call<T> delegate, TenantCredentials credentials) {
+        _delegate = delegate;
+        _credentials = credentials;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        TenantCredentials previous = TenantContext.set(_credentials);
+        try {
+            return _delegate.execute();
+        } finally {
+            TenantContext.set(previous);
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        // The underlying call is created, and so authorized, before enqueue returns
+        TenantCredentials previous = TenantContext.set(_credentials);
+        try {
+            _delegate.enqueue(callback);
+        } finally {
+            TenantContext.set(previous);
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return _delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        _delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return _delegate.isCanceled();
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new TenantCall<>(_delegate.clone(), _credentials);
+    }
+
+    @Override
+    public Request request() {
+        TenantCredentials previous = TenantContext.set(_credentials);
+        try {
+            return _delegate.request();
+        } finally {
+            TenantContext.set(previous);
+        }
+    }
+}
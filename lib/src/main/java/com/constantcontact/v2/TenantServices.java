@@ -0,0 +1,44 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps the services of a shared {@link CCApi2} so that the calls they return belong to one account.
+ */
+final class TenantServices {
+    private TenantServices() {
+    }
+
+    static <S> S wrap(Class<S> service, final S delegate, final TenantCredentials credentials) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[]{service},
+                                                   new InvocationHandler() {
+                                                       @Override
+                                                       public Object invoke(Object proxy, Method method,
+                                                                            Object[] args) throws Throwable {
+                                                           if (method.getDeclaringClass() == Object.class) {
+                                                               return method.invoke(this, args);
+                                                           }
+
+                                                           Object result;
+                                                           try {
+                                                               result = method.invoke(delegate, args);
+                                                           } catch (InvocationTargetException e) {
+                                                               throw e.getCause();
+                                                           }
+                                                           if (result instanceof Call) {
+                                                               return wrap((Call<?>) result, credentials);
+                                                           }
+                                                           return result;
+                                                       }
+                                                   }));
+    }
+
+    private static <T> Call<T> wrap(Call<T> call, TenantCredentials credentials) {
+        return new TenantCall<>(call, credentials);
+    }
+}
@@ -0,0 +1,135 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fetches the tracking activity of many campaigns concurrently, as one stream of reports.
+ * <pre>{@code
+ * TrackingFanOut fanOut = new TrackingFanOut(api.getCampaignTrackingService());
+ * fanOut.setConcurrency(16);
+ * try (FanOutIterator<BaseTrackingReport> reports = fanOut.allReports(campaignIds, createdSince)) {
+ *     while (reports.hasNext()) {
+ *         BaseTrackingReport report = reports.next();
+ *     }
+ * }
+ * }</pre>
+ */
+public class TrackingFanOut {
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * Receives each report.
+     */
+    public interface ReportHandler {
+        /**
+         * Handles a report, on the calling thread of {@link #forEachReport}.
+         *
+         * @param report the report
+         * @throws IOException to stop fetching
+         */
+        void onReport(BaseTrackingReport report) throws IOException;
+    }
+
+    private final CampaignTrackingService _service;
+
+    private int _concurrency = DEFAULT_CONCURRENCY;
+
+    private int _pageLimit = CampaignTrackingService.MAX_PAGE_LIMIT;
+
+    private int _bufferPages = 0;
+
+    /**
+     * Creates an instance.
+     *
+     * @param service the service used for every call
+     */
+    public TrackingFanOut(CampaignTrackingService service) {
+        _service = service;
+    }
+
+    public int getConcurrency() {
+        return _concurrency;
+    }
+
+    /**
+     * Sets the maximum number of campaigns crawled at once.
+     *
+     * @param concurrency the number of campaigns, at least 1
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency < 1");
+        }
+        _concurrency = concurrency;
+    }
+
+    public int getPageLimit() {
+        return _pageLimit;
+    }
+
+    /**
+     * Sets the size of the pages fetched.
+     *
+     * @param pageLimit the page size (1-500)
+     */
+    public void setPageLimit(int pageLimit) {
+        _pageLimit = pageLimit;
+    }
+
+    public int getBufferPages() {
+        return _bufferPages > 0 ? _bufferPages : _concurrency * 2;
+    }
+
+    /**
+     * Sets the number of fetched pages held for the caller before workers wait. Defaults to twice the concurrency.
+     *
+     * @param bufferPages the number of pages, at least 1
+     */
+    public void setBufferPages(int bufferPages) {
+        if (bufferPages < 1) {
+            throw new IllegalArgumentException("bufferPages < 1");
+        }
+        _bufferPages = bufferPages;
+    }
+
+    /**
+     * Starts fetching the activity of every campaign, see {@link CampaignTrackingService#getAllReports}.
+     *
+     * @param campaignIds  the campaign IDs
+     * @param createdSince the date to fetch activity since, or {@code null} for all activity
+     * @return an iterator over every report, to be closed if not iterated to the end
+     */
+    public FanOutIterator<BaseTrackingReport> allReports(Iterable<String> campaignIds, QueryDate createdSince) {
+        List<TrackingReportQuery<BaseTrackingReport>> queries = new ArrayList<>();
+        for (String campaignId : campaignIds) {
+            queries.add(TrackingReportQuery.campaignAll(_service, campaignId));
+        }
+        return new FanOutIterator<>(queries, createdSince, _pageLimit, _concurrency, getBufferPages());
+    }
+
+    /**
+     * Fetches the activity of every campaign, blocking until every report has been handled.
+     *
+     * @param campaignIds  the campaign IDs
+     * @param createdSince the date to fetch activity since, or {@code null} for all activity
+     * @param handler      receives each report
+     * @return the number of reports handled
+     * @throws IOException     if the handler failed
+     * @throws PagingException if a page could not be fetched
+     */
+    public int forEachReport(Iterable<String> campaignIds, QueryDate createdSince, ReportHandler handler)
+            throws IOException {
+        int count = 0;
+        try (FanOutIterator<BaseTrackingReport> reports = allReports(campaignIds, createdSince)) {
+            while (reports.hasNext()) {
+                handler.onReport(reports.next());
+                count++;
+            }
+        }
+        return count;
+    }
+}
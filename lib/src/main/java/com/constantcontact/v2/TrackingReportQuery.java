@@ -0,0 +1,333 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import com.constantcontact.v2.tracking.BounceReport;
+import com.constantcontact.v2.tracking.ClickReport;
+import com.constantcontact.v2.tracking.ForwardReport;
+import com.constantcontact.v2.tracking.OpenReport;
+import com.constantcontact.v2.tracking.OptOutReport;
+import com.constantcontact.v2.tracking.SendReport;
+import retrofit2.Call;
+
+/**
+ * One tracking report of one campaign or contact, as synced by {@link TrackingSync}. Create instances with the
+ * static factory methods, e.g. {@link #campaignOpens(CampaignTrackingService, String)}.
+ *
+ * @param <T> the type of report
+ */
+public abstract class TrackingReportQuery<T> {
+    private final String _key;
+
+    /**
+     * Creates an instance.
+     *
+     * @param key the key of the report's watermark, unique per report
+     */
+    protected TrackingReportQuery(String key) {
+        _key = key;
+    }
+
+    /**
+     * @return the key of the report's watermark, e.g. {@code "campaign/1100394165290/opens"}
+     */
+    public String getKey() {
+        return _key;
+    }
+
+    /**
+     * Creates the call for the first page.
+     *
+     * @param createdSince the date to fetch activity since, or {@code null} for all activity
+     * @param limit        the page size
+     * @return the call
+     */
+    public abstract Call<Paged<T>> first(QueryDate createdSince, int limit);
+
+    /**
+     * Creates the call for a following page.
+     *
+     * @param nextLink the link to the page
+     * @return the call
+     */
+    public abstract Call<Paged<T>> next(String nextLink);
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's bounces
+     */
+    public static TrackingReportQuery<BounceReport> campaignBounces(final CampaignTrackingService service,
+                                                                    final String campaignId) {
+        return new TrackingReportQuery<BounceReport>("campaign/" + campaignId + "/bounces") {
+            @Override
+            public Call<Paged<BounceReport>> first(QueryDate createdSince, int limit) {
+                return service.getBounceReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<BounceReport>> next(String nextLink) {
+                return service.getBounceReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's clicks
+     */
+    public static TrackingReportQuery<ClickReport> campaignClicks(final CampaignTrackingService service,
+                                                                  final String campaignId) {
+        return new TrackingReportQuery<ClickReport>("campaign/" + campaignId + "/clicks") {
+            @Override
+            public Call<Paged<ClickReport>> first(QueryDate createdSince, int limit) {
+                return service.getClickReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<ClickReport>> next(String nextLink) {
+                return service.getClickReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's forwards
+     */
+    public static TrackingReportQuery<ForwardReport> campaignForwards(final CampaignTrackingService service,
+                                                                      final String campaignId) {
+        return new TrackingReportQuery<ForwardReport>("campaign/" + campaignId + "/forwards") {
+            @Override
+            public Call<Paged<ForwardReport>> first(QueryDate createdSince, int limit) {
+                return service.getForwardReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<ForwardReport>> next(String nextLink) {
+                return service.getForwardReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's opens
+     */
+    public static TrackingReportQuery<OpenReport> campaignOpens(final CampaignTrackingService service,
+                                                                final String campaignId) {
+        return new TrackingReportQuery<OpenReport>("campaign/" + campaignId + "/opens") {
+            @Override
+            public Call<Paged<OpenReport>> first(QueryDate createdSince, int limit) {
+                return service.getOpenReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<OpenReport>> next(String nextLink) {
+                return service.getOpenReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's sends
+     */
+    public static TrackingReportQuery<SendReport> campaignSends(final CampaignTrackingService service,
+                                                                final String campaignId) {
+        return new TrackingReportQuery<SendReport>("campaign/" + campaignId + "/sends") {
+            @Override
+            public Call<Paged<SendReport>> first(QueryDate createdSince, int limit) {
+                return service.getSendReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<SendReport>> next(String nextLink) {
+                return service.getSendReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's unsubscribes
+     */
+    public static TrackingReportQuery<OptOutReport> campaignOptOuts(final CampaignTrackingService service,
+                                                                    final String campaignId) {
+        return new TrackingReportQuery<OptOutReport>("campaign/" + campaignId + "/unsubscribes") {
+            @Override
+            public Call<Paged<OptOutReport>> first(QueryDate createdSince, int limit) {
+                return service.getOptOutReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<OptOutReport>> next(String nextLink) {
+                return service.getOptOutReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service    the service
+     * @param campaignId the campaign ID
+     * @return a query for the campaign's activity of every type
+     */
+    public static TrackingReportQuery<BaseTrackingReport> campaignAll(final CampaignTrackingService service,
+                                                                      final String campaignId) {
+        return new TrackingReportQuery<BaseTrackingReport>("campaign/" + campaignId + "/all") {
+            @Override
+            public Call<Paged<BaseTrackingReport>> first(QueryDate createdSince, int limit) {
+                return service.getAllReports(campaignId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<BaseTrackingReport>> next(String nextLink) {
+                return service.getAllReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's bounces
+     */
+    public static TrackingReportQuery<BounceReport> contactBounces(final ContactTrackingService service,
+                                                                   final String contactId) {
+        return new TrackingReportQuery<BounceReport>("contact/" + contactId + "/bounces") {
+            @Override
+            public Call<Paged<BounceReport>> first(QueryDate createdSince, int limit) {
+                return service.getBounceReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<BounceReport>> next(String nextLink) {
+                return service.getBounceReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's clicks
+     */
+    public static TrackingReportQuery<ClickReport> contactClicks(final ContactTrackingService service,
+                                                                 final String contactId) {
+        return new TrackingReportQuery<ClickReport>("contact/" + contactId + "/clicks") {
+            @Override
+            public Call<Paged<ClickReport>> first(QueryDate createdSince, int limit) {
+                return service.getClickReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<ClickReport>> next(String nextLink) {
+                return service.getClickReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's forwards
+     */
+    public static TrackingReportQuery<ForwardReport> contactForwards(final ContactTrackingService service,
+                                                                     final String contactId) {
+        return new TrackingReportQuery<ForwardReport>("contact/" + contactId + "/forwards") {
+            @Override
+            public Call<Paged<ForwardReport>> first(QueryDate createdSince, int limit) {
+                return service.getForwardReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<ForwardReport>> next(String nextLink) {
+                return service.getForwardReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's opens
+     */
+    public static TrackingReportQuery<OpenReport> contactOpens(final ContactTrackingService service,
+                                                               final String contactId) {
+        return new TrackingReportQuery<OpenReport>("contact/" + contactId + "/opens") {
+            @Override
+            public Call<Paged<OpenReport>> first(QueryDate createdSince, int limit) {
+                return service.getOpenReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<OpenReport>> next(String nextLink) {
+                return service.getOpenReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's sends
+     */
+    public static TrackingReportQuery<SendReport> contactSends(final ContactTrackingService service,
+                                                               final String contactId) {
+        return new TrackingReportQuery<SendReport>("contact/" + contactId + "/sends") {
+            @Override
+            public Call<Paged<SendReport>> first(QueryDate createdSince, int limit) {
+                return service.getSendReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<SendReport>> next(String nextLink) {
+                return service.getSendReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's unsubscribes
+     */
+    public static TrackingReportQuery<OptOutReport> contactOptOuts(final ContactTrackingService service,
+                                                                   final String contactId) {
+        return new TrackingReportQuery<OptOutReport>("contact/" + contactId + "/unsubscribes") {
+            @Override
+            public Call<Paged<OptOutReport>> first(QueryDate createdSince, int limit) {
+                return service.getOptOutReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<OptOutReport>> next(String nextLink) {
+                return service.getOptOutReports(nextLink);
+            }
+        };
+    }
+
+    /**
+     * @param service   the service
+     * @param contactId the contact ID
+     * @return a query for the contact's activity of every type
+     */
+    public static TrackingReportQuery<BaseTrackingReport> contactAll(final ContactTrackingService service,
+                                                                     final String contactId) {
+        return new TrackingReportQuery<BaseTrackingReport>("contact/" + contactId + "/all") {
+            @Override
+            public Call<Paged<BaseTrackingReport>> first(QueryDate createdSince, int limit) {
+                return service.getAllReports(contactId, createdSince, limit);
+            }
+
+            @Override
+            public Call<Paged<BaseTrackingReport>> next(String nextLink) {
+                return service.getAllReports(nextLink);
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.constantcontact.v2;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fetches only the tracking activity created since the previous sync of a report, using a {@link WatermarkStore} to
+ * remember where each report left off.
+ * <p>
+ * A sync records its start time before fetching the first page, and the link to the next page after handling each
+ * page. If it is interrupted, by an error or a crash, the next sync of the report resumes at that page, or starts over
+ * if the API rejects the saved link as invalid with a 400, 404 or 410; once the last page is handled, the start time
+ * becomes the report's watermark. Pages are delivered at least once: a page may be delivered again if the process
+ * stops after handling it but before its watermark is saved, and activity created within
+ * {@link #getOverlapMillis()} of the previous sync's start is fetched again to allow for clock differences.
+ * <pre>{@code
+ * TrackingSync sync = new TrackingSync(new FileWatermarkStore(new File("watermarks.properties")));
+ * sync.sync(TrackingReportQuery.campaignOpens(api.getCampaignTrackingService(), campaignId),
+ *           new TrackingSync.PageHandler<OpenReport>() {
+ *               public void onPage(List<OpenReport> reports) {
+ *                   // Store the new activity
+ *               }
+ *           });
+ * }</pre>
+ */
+public class TrackingSync {
+    public static final long DEFAULT_OVERLAP_MILLIS = 5 * 60 * 1000;
+
+    /**
+     * Receives the reports of each page.
+     *
+     * @param <T> the type of report
+     */
+    public interface PageHandler<T> {
+        /**
+         * Handles a page. The page's watermark is only saved once this returns, so throwing makes the next sync
+         * fetch the page again.
+         *
+         * @param reports the reports of the page
+         * @throws IOException if the reports could not be handled
+         */
+        void onPage(List<T> reports) throws IOException;
+    }
+
+    private final WatermarkStore _store;
+
+    private int _pageLimit = CampaignTrackingService.MAX_PAGE_LIMIT;
+
+    private long _overlapMillis = DEFAULT_OVERLAP_MILLIS;
+
+    /**
+     * Creates an instance.
+     *
+     * @param store the store of watermarks
+     */
+    public TrackingSync(WatermarkStore store) {
+        _store = store;
+    }
+
+    public int getPageLimit() {
+        return _pageLimit;
+    }
+
+    /**
+     * Sets the size of the pages fetched.
+     *
+     * @param pageLimit the page size (1-500)
+     */
+    public void setPageLimit(int pageLimit) {
+        _pageLimit = pageLimit;
+    }
+
+    public long getOverlapMillis() {
+        return _overlapMillis;
+    }
+
+    /**
+     * Sets how far before its start time a sync's watermark is placed, to allow for the difference between this
+     * machine's clock and the API's.
+     *
+     * @param overlapMillis the overlap in milliseconds
+     */
+    public void setOverlapMillis(long overlapMillis) {
+        _overlapMillis = overlapMillis;
+    }
+
+    /**
+     * Syncs a report, blocking until every new page has been handled.
+     *
+     * @param query   the report
+     * @param handler receives each page of new activity
+     * @param <T>     the type of report
+     * @return the number of reports handled
+     * @throws IOException     if a page could not be fetched or handled, or the watermark could not be saved
+     * @throws PagingException if a page was refused by the API
+     */
+    public <T> int sync(TrackingReportQuery<T> query, PageHandler<T> handler) throws IOException {
+        String key = query.getKey();
+        Watermark watermark = _store.load(key);
+        Date createdSince = watermark != null ? watermark.getCreatedSince() : null;
+        Date pendingSince = watermark != null ? watermark.getPendingSince() : null;
+        String nextLink = watermark != null ? watermark.getNextLink() : null;
+
+        Call<Paged<T>> call;
+        boolean resumed = pendingSince != null && nextLink != null;
+        if (resumed) {
+            call = query.next(nextLink);
+        } else {
+            pendingSince = new Date(System.currentTimeMillis() - _overlapMillis);
+            _store.save(key, new Watermark(createdSince, pendingSince, null));
+            call = query.first(createdSince != null ? new QueryDate(createdSince) : null, _pageLimit);
+        }
+
+        int count = 0;
+        while (true) {
+            Response<Paged<T>> response = call.execute();
+            if (resumed && isRefusedLink(response.code())) {
+                // The saved link has expired or is invalid, start over from the previous watermark; the pages
+                // already handled are fetched again, like the overlap. Other failures keep the link for the next sync
+                resumed = false;
+                _store.save(key, new Watermark(createdSince, pendingSince, null));
+                call = query.first(createdSince != null ? new QueryDate(createdSince) : null, _pageLimit);
+                continue;
+            }
+            resumed = false;
+            if (!response.isSuccessful()) {
+                throw new PagingException(response.code(), response.message());
+            }
+
+            Paged<T> page = response.body();
+            List<T> reports = page.getResults();
+            if (reports != null && !reports.isEmpty()) {
+                handler.onPage(reports);
+                count += reports.size();
+            }
+
+            nextLink = page.getNextLink();
+            if (nextLink == null) {
+                _store.save(key, new Watermark(pendingSince, null, null));
+                return count;
+            }
+            _store.save(key, new Watermark(createdSince, pendingSince, nextLink));
+            call = query.next(nextLink);
+        }
+    }
+
+    private static boolean isRefusedLink(int code) {
+        return code == 400 || code == 404 || code == 410;
+    }
+}
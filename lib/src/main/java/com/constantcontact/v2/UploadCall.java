@@ -0,0 +1,88 @@
+package com.constantcontact.v2;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * A Library upload call whose result is the new File's ID, read from the {@code Location} header of the response.
+ * The ID is {@code null} if the response has no such header.
+ */
+final class UploadCall implements Call<String> {
+    private final Call<Void> _delegate;
+
+    UploadCall(Call<Void> delegate) {
+        _delegate = delegate;
+    }
+
+    @Override
+    public Response<String> execute() throws IOException {
+        return toFileId(_delegate.execute());
+    }
+
+    @Override
+    public void enqueue(final Callback<String> callback) {
+        _delegate.enqueue(new Callback<Void>() {
+            @Override
+            public void onResponse(Call<Void> call, Response<Void> response) {
+                callback.onResponse(UploadCall.this, toFileId(response));
+            }
+
+            @Override
+            public void onFailure(Call<Void> call, Throwable t) {
+                callback.onFailure(UploadCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return _delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        _delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return _delegate.isCanceled();
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<String> clone() {
+        return new UploadCall(_delegate.clone());
+    }
+
+    @Override
+    public Request request() {
+        return _delegate.request();
+    }
+
+    static String fileId(String location) {
+        if (location == null) {
+            return null;
+        }
+        int end = location.indexOf('?');
+        if (end < 0) {
+            end = location.length();
+        }
+        while (end > 0 && location.charAt(end - 1) == '/') {
+            end--;
+        }
+        String id = location.substring(location.lastIndexOf('/', end - 1) + 1, end);
+        return id.isEmpty() ? null : id;
+    }
+
+    private static Response<String> toFileId(Response<Void> response) {
+        if (!response.isSuccessful()) {
+            return Response.error(response.errorBody(), response.raw());
+        }
+        return Response.success(fileId(response.headers().get("Location")), response.raw());
+    }
+}
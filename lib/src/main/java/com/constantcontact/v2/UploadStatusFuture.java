@@ -0,0 +1,106 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.library.FileUploadStatus;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The pending upload status of one file, completed by {@link FileUploadPoller} once the file reaches a final
+ * {@link com.constantcontact.v2.library.FileStatus}.
+ */
+final class UploadStatusFuture implements Future<FileUploadStatus> {
+    private final String _fileId;
+
+    private FileUploadStatus _status;
+
+    private Throwable _failure;
+
+    private boolean _done;
+
+    private boolean _canceled;
+
+    UploadStatusFuture(String fileId) {
+        _fileId = fileId;
+    }
+
+    String getFileId() {
+        return _fileId;
+    }
+
+    synchronized boolean complete(FileUploadStatus status) {
+        if (_done) {
+            return false;
+        }
+        _status = status;
+        _done = true;
+        notifyAll();
+        return true;
+    }
+
+    synchronized boolean fail(Throwable failure) {
+        if (_done) {
+            return false;
+        }
+        _failure = failure;
+        _done = true;
+        notifyAll();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+        if (_done) {
+            return false;
+        }
+        _canceled = true;
+        _done = true;
+        notifyAll();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return _canceled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return _done;
+    }
+
+    @Override
+    public synchronized FileUploadStatus get() throws InterruptedException, ExecutionException {
+        while (!_done) {
+            wait();
+        }
+        return result();
+    }
+
+    @Override
+    public synchronized FileUploadStatus get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!_done) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("No final status for file " + _fileId);
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return result();
+    }
+
+    private FileUploadStatus result() throws ExecutionException {
+        if (_canceled) {
+            throw new CancellationException();
+        }
+        if (_failure != null) {
+            throw new ExecutionException(_failure);
+        }
+        return _status;
+    }
+}
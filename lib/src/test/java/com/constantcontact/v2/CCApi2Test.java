@@ -0,0 +1,144 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Test;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class CCApi2Test {
+    @Test
+    public void expectThatConcurrentGetters_WillShareOneService() throws Exception {
+        final CCApi2 api = new CCApi2(retrofit(null));
+        final Set<ContactService> services = Collections.synchronizedSet(
+                Collections.newSetFromMap(new IdentityHashMap<ContactService, Boolean>()));
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(16);
+
+        for (int i = 0; i < 16; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        services.add(api.getContactService());
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(services.size(), is(1));
+    }
+
+    @Test
+    public void expectThatInstances_WillNotBlockEachOther() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CCApi2 blocked = new CCApi2(retrofit(new CallAdapter.Factory() {
+            @Override
+            public CallAdapter<?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+                creating.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        }));
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                blocked.getContactService();
+            }
+        });
+        thread.start();
+        try {
+            assertThat(creating.await(5, TimeUnit.SECONDS), is(true));
+
+            final CCApi2 other = new CCApi2(retrofit(null));
+            final CountDownLatch created = new CountDownLatch(1);
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    other.getContactService();
+                    created.countDown();
+                }
+            }).start();
+
+            assertThat(created.await(5, TimeUnit.SECONDS), is(true));
+        } finally {
+            release.countDown();
+            thread.join();
+        }
+    }
+
+    @Test
+    public void expectThatWarmUp_WillCreateEveryServiceMethodAndConnect() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+        server.start();
+        try {
+            final AtomicInteger adapted = new AtomicInteger();
+            CCApi2 api = new CCApi2(new Retrofit.Builder()
+                                            .baseUrl(server.url("/"))
+                                            .addConverterFactory(JacksonConverterFactory.create())
+                                            .addCallAdapterFactory(new CallAdapter.Factory() {
+                                                @Override
+                                                public CallAdapter<?> get(Type returnType, Annotation[] annotations,
+                                                                          Retrofit retrofit) {
+                                                    adapted.incrementAndGet();
+                                                    return null;
+                                                }
+                                            })
+                                            .build());
+
+            int methods = api.warmUp(2);
+
+            assertThat(methods, is(adapted.get()));
+            assertThat(methods, is(ContactService.class.getMethods().length + AccountService.class.getMethods().length
+                                   + CampaignService.class.getMethods().length
+                                   + LibraryService.class.getMethods().length
+                                   + CampaignTrackingService.class.getMethods().length
+                                   + ContactTrackingService.class.getMethods().length));
+            assertThat(server.getRequestCount(), is(2));
+            assertThat(server.takeRequest().getMethod(), is("HEAD"));
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private static Retrofit retrofit(CallAdapter.Factory callAdapterFactory) {
+        // Validating eagerly makes create() build every service method, so the factory runs inside the getter
+        Retrofit.Builder builder = new Retrofit.Builder()
+                .baseUrl(DefaultRetrofitBuilderFactory.BASE_URL)
+                .addConverterFactory(JacksonConverterFactory.create())
+                .validateEagerly(true);
+        if (callAdapterFactory != null) {
+            builder.addCallAdapterFactory(callAdapterFactory);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.OptInSource;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class CachingContactServiceTest {
+    private static final String CONTACT =
+            "{\"id\":\"1\",\"first_name\":\"%s\",\"email_addresses\":[{\"email_address\":\"%s\"}]}";
+
+    private MockWebServer _server;
+
+    private CachingContactService _contacts;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _contacts = new CachingContactService(retrofit.create(ContactService.class), 2, 1, TimeUnit.MINUTES);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatContacts_WillBeCachedByIdAndEmail() throws Exception {
+        _server.enqueue(new MockResponse().setBody(String.format(CONTACT, "first", "first@example.com")));
+
+        assertThat(_contacts.getContact("1").execute().body().getFirstName(), is("first"));
+        Contact cached = _contacts.getContact("1").execute().body();
+        cached.setFirstName("changed");
+        Paged<Contact> byEmail = _contacts.getContactsByEmail("FIRST@example.com").execute().body();
+
+        assertThat(byEmail.getResults().get(0).getFirstName(), is("first"));
+        assertThat(_server.getRequestCount(), is(1));
+        assertThat(_contacts.getHitCount(), is(2L));
+        assertThat(_contacts.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void expectThatWrites_WillUpdateAndEvictContacts() throws Exception {
+        _server.enqueue(new MockResponse().setBody(String.format(CONTACT, "first", "first@example.com")));
+        _server.enqueue(new MockResponse().setBody(String.format(CONTACT, "updated", "updated@example.com")));
+        _server.enqueue(new MockResponse().setResponseCode(204));
+        _server.enqueue(new MockResponse().setBody(String.format(CONTACT, "optout", "updated@example.com")));
+
+        _contacts.getContact("1").execute();
+        _contacts.updateContact(new Contact(), "1", OptInSource.ACTION_BY_OWNER).execute();
+        assertThat(_contacts.getContact("1").execute().body().getFirstName(), is("updated"));
+        assertThat(_contacts.getContactsByEmail("updated@example.com").execute().body().getResults().size(), is(1));
+
+        _contacts.unsubscribeContact("1").execute();
+        assertThat(_contacts.getContact("1").execute().body().getFirstName(), is("optout"));
+        assertThat(_server.getRequestCount(), is(4));
+    }
+
+    @Test
+    public void expectThatLeastRecentlyUsedContacts_WillBeEvicted() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            _server.enqueue(new MockResponse().setBody("{\"id\":\"" + i + "\"}"));
+        }
+
+        _contacts.getContact("1").execute();
+        _contacts.getContact("2").execute();
+        _contacts.getContact("1").execute();
+        _contacts.getContact("3").execute();
+
+        assertThat(_contacts.getSize(), is(2));
+        assertThat(_contacts.getEvictionCount(), is(1L));
+        assertThat(_contacts.getContact("1").execute().body().getId(), is("1"));
+        assertThat(_server.getRequestCount(), is(3));
+    }
+}
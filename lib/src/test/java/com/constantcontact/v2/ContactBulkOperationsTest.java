@@ -0,0 +1,120 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.contacts.OptInSource;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class ContactBulkOperationsTest {
+    private MockWebServer _server;
+
+    private ContactBulkOperations _bulk;
+
+    @Before
+    public void setUp() throws Exception {
+        final AtomicInteger flakyAttempts = new AtomicInteger();
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getBody().readUtf8();
+                if (body.contains("invalid")) {
+                    return new MockResponse().setResponseCode(400).setBody("[{\"error_message\":\"invalid\"}]");
+                }
+                if (body.contains("flaky") && flakyAttempts.incrementAndGet() < 3) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                if (body.contains("broken")) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                String id = request.getMethod().equals("PUT") ? "existing" : "new";
+                return new MockResponse().setResponseCode(201).setBody("{\"id\":\"" + id + "\"}");
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _bulk = new ContactBulkOperations(retrofit.create(ContactService.class), OptInSource.ACTION_BY_OWNER);
+        _bulk.setConcurrency(4);
+        _bulk.setRetryDelayMillis(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatImport_WillReportEachContactInOrder() throws Exception {
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            contacts.add(contact(null, "first" + i));
+        }
+        contacts.add(contact("existing", "flaky"));
+        contacts.add(contact(null, "broken"));
+        contacts.add(contact(null, "invalid"));
+        contacts.add(contact("existing", "updated"));
+
+        BulkReport<Contact, Contact> report = _bulk.importContacts(contacts);
+
+        assertThat(report.getResults().size(), is(24));
+        assertThat(report.getSuccessCount(), is(22));
+        for (int i = 0; i < 24; i++) {
+            assertThat(report.getResults().get(i).getIndex(), is(i));
+        }
+
+        BulkResult<Contact, Contact> flaky = report.getResults().get(20);
+        assertThat(flaky.isSuccessful(), is(true));
+        assertThat(flaky.getAttempts(), is(3));
+
+        // The create may have reached the server before failing, so it isn't sent again
+        BulkResult<Contact, Contact> broken = report.getFailures().get(0);
+        assertThat(broken.getIndex(), is(21));
+        assertThat(broken.getCode(), is(503));
+        assertThat(broken.getAttempts(), is(1));
+
+        BulkResult<Contact, Contact> invalid = report.getFailures().get(1);
+        assertThat(invalid.getIndex(), is(22));
+        assertThat(invalid.getCode(), is(400));
+        assertThat(invalid.getAttempts(), is(1));
+        assertThat(invalid.getErrorMessage(), is("[{\"error_message\":\"invalid\"}]"));
+
+        assertThat(report.getResults().get(23).getResult().getId(), is("existing"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectThatZeroConcurrency_WillBeRejected() throws Exception {
+        _bulk.setConcurrency(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectThatNegativeRetries_WillBeRejected() throws Exception {
+        _bulk.setMaxRetries(-1);
+    }
+
+    private static Contact contact(String id, String firstName) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setFirstName(firstName);
+        return contact;
+    }
+}
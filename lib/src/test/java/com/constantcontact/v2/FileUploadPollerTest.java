@@ -0,0 +1,131 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.library.FileStatus;
+import com.constantcontact.v2.library.FileUploadStatus;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class FileUploadPollerTest {
+    private MockWebServer _server;
+
+    private LibraryService _libraryService;
+
+    private final ConcurrentMap<String, AtomicInteger> _polls = new ConcurrentHashMap<>();
+
+    private final AtomicInteger _maxBatch = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String ids = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                if (ids.contains("404")) {
+                    return new MockResponse().setResponseCode(404).setBody("[{\"error_message\":\"not found\"}]");
+                }
+
+                String[] fileIds = ids.split(",");
+                synchronized (_maxBatch) {
+                    _maxBatch.set(Math.max(_maxBatch.get(), fileIds.length));
+                }
+                StringBuilder body = new StringBuilder("[");
+                for (String fileId : fileIds) {
+                    _polls.putIfAbsent(fileId, new AtomicInteger());
+                    int polls = _polls.get(fileId).incrementAndGet();
+                    long id = Long.parseLong(fileId);
+                    // Every file is processed by its third poll, a few fail
+                    String status = polls < 3 ? "Processing" : (id % 10 == 0 ? "Failed" : "Active");
+                    if (body.length() > 1) {
+                        body.append(',');
+                    }
+                    body.append("{\"file_id\":").append(fileId).append(",\"status\":\"").append(status).append("\"}");
+                }
+                return new MockResponse().setBody(body.append(']').toString());
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _libraryService = retrofit.create(LibraryService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatPendingFiles_WillBePolledTogether() throws Exception {
+        try (FileUploadPoller poller = new FileUploadPoller(_libraryService, 50, 200)) {
+            List<Future<FileUploadStatus>> futures = new ArrayList<>();
+            for (int i = 1; i <= 120; i++) {
+                futures.add(poller.track(String.valueOf(i)));
+            }
+            assertThat(poller.track("1") == futures.get(0), is(true));
+
+            for (int i = 1; i <= 120; i++) {
+                FileUploadStatus status = futures.get(i - 1).get(5, TimeUnit.SECONDS);
+                assertThat(status.getId(), is((long) i));
+                assertThat(status.getStatus(), is(i % 10 == 0 ? FileStatus.FAILED : FileStatus.ACTIVE));
+            }
+
+            assertThat(poller.getPendingCount(), is(0));
+            assertThat(_maxBatch.get(), is(FileUploadPoller.MAX_BATCH_SIZE));
+            // Three rounds of three batches, rather than three polls per file
+            assertThat(poller.getPollCount(), is(9));
+            assertThat(_server.getRequestCount(), is(9));
+        }
+    }
+
+    @Test
+    public void expectThatFailedPoll_WillFailItsBatch() throws Exception {
+        try (FileUploadPoller poller = new FileUploadPoller(_libraryService, 5, 20)) {
+            Future<FileUploadStatus> missing = poller.track("404");
+            try {
+                missing.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause().getMessage().startsWith("Reading upload status failed: 404"), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void expectThatClosing_WillCancelPendingFiles() throws Exception {
+        FileUploadPoller poller = new FileUploadPoller(_libraryService, 1000, 1000);
+        Future<FileUploadStatus> future = poller.track("7");
+
+        poller.close();
+
+        assertThat(future.isCancelled(), is(true));
+        assertThat(poller.getPendingCount(), is(0));
+        assertThat(_server.getRequestCount(), lessThanOrEqualTo(1));
+    }
+}
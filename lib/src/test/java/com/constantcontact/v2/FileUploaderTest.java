@@ -0,0 +1,144 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.library.FileSource;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import retrofit2.Retrofit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ */
+public class FileUploaderTest {
+    @Rule
+    public TemporaryFolder _folder = new TemporaryFolder();
+
+    private MockWebServer _server;
+
+    private FileUploader _uploader;
+
+    private final AtomicInteger _inFlight = new AtomicInteger();
+
+    private final AtomicInteger _maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        final AtomicInteger flakyAttempts = new AtomicInteger();
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = _inFlight.incrementAndGet();
+                synchronized (_maxInFlight) {
+                    _maxInFlight.set(Math.max(_maxInFlight.get(), current));
+                }
+                try {
+                    Thread.sleep(5);
+                    String contentType = request.getHeader("Content-Type");
+                    String body = request.getBody().readUtf8();
+                    if (!contentType.startsWith("multipart/form-data; boundary=")) {
+                        return new MockResponse().setResponseCode(400);
+                    }
+                    if (body.contains("flaky.png") && flakyAttempts.incrementAndGet() < 3) {
+                        return new MockResponse().setResponseCode(429);
+                    }
+                    if (body.contains("broken.png")) {
+                        return new MockResponse().setResponseCode(503);
+                    }
+                    int start = body.indexOf("name=\"file_name\"");
+                    String fileName = body.substring(body.indexOf("\r\n\r\n", start) + 4,
+                                                     body.indexOf("\r\n", body.indexOf("\r\n\r\n", start) + 4));
+                    return new MockResponse().setResponseCode(201)
+                                             .setHeader("Location", "/v2/library/files/id-" + fileName);
+                } finally {
+                    _inFlight.decrementAndGet();
+                }
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _uploader = new FileUploader(retrofit.create(LibraryService.class));
+        _uploader.setConcurrency(3);
+        _uploader.setRetryDelayMillis(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatUploadAll_WillStreamEachFileWithBoundedConcurrency() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Path file = _folder.newFile("image" + i + ".jpg").toPath();
+            Files.write(file, new byte[100000 + i]);
+            files.add(file);
+        }
+        Path flaky = _folder.newFile("flaky.png").toPath();
+        Files.write(flaky, new byte[10]);
+        files.add(flaky);
+        files.add(_folder.newFile("broken.png").toPath());
+        files.add(_folder.newFile("notes.txt").toPath());
+
+        final Map<Path, Long> progress = new ConcurrentHashMap<>();
+        _uploader.setProgressListener(new FileUploader.ProgressListener() {
+            @Override
+            public void onProgress(Path file, long bytesWritten, long contentLength) {
+                assertThat(bytesWritten, lessThanOrEqualTo(contentLength));
+                progress.put(file, bytesWritten);
+            }
+        });
+
+        BulkReport<Path, String> report = _uploader.uploadAll(files, "1", FileSource.MY_COMPUTER);
+
+        assertThat(report.getResults().size(), is(15));
+        assertThat(report.getSuccessCount(), is(13));
+        for (int i = 0; i < 12; i++) {
+            assertThat(report.getResults().get(i).getResult(), is("id-image" + i + ".jpg"));
+            assertThat(progress.get(files.get(i)), is(100000L + i));
+        }
+        assertThat(report.getResults().get(12).getAttempts(), is(3));
+        assertThat(report.getResults().get(12).getResult(), is("id-flaky.png"));
+        // The server may have created the file before failing, so it isn't uploaded again
+        assertThat(report.getFailures().get(0).getItem().getFileName().toString(), is("broken.png"));
+        assertThat(report.getFailures().get(0).getCode(), is(503));
+        assertThat(report.getFailures().get(0).getAttempts(), is(1));
+        assertThat(report.getFailures().get(1).getItem().getFileName().toString(), is("notes.txt"));
+        assertThat(report.getFailures().get(1).getErrorMessage(), startsWith("java.lang.IllegalArgumentException"));
+        assertThat(_maxInFlight.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    public void expectThatFileId_WillBeReadFromLocation() throws Exception {
+        assertThat(UploadCall.fileId("https://api.constantcontact.com/v2/library/files/123"), is("123"));
+        assertThat(UploadCall.fileId("/v2/library/files/123/?api_key=key"), is("123"));
+        assertThat(UploadCall.fileId("123"), is("123"));
+        assertThat(UploadCall.fileId(""), is(nullValue()));
+        assertThat(UploadCall.fileId(null), is(nullValue()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.library.File;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class LibraryBulkOperationsTest {
+    private MockWebServer _server;
+
+    private LibraryBulkOperations _bulk;
+
+    @Before
+    public void setUp() throws Exception {
+        final AtomicInteger flakyAttempts = new AtomicInteger();
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if (request.getMethod().equals("DELETE")) {
+                    if (path.endsWith("/missing")) {
+                        return new MockResponse().setResponseCode(404).setBody("[{\"error_message\":\"not found\"}]");
+                    }
+                    if (path.endsWith("/flaky") && flakyAttempts.incrementAndGet() < 3) {
+                        return new MockResponse().setResponseCode(503);
+                    }
+                    return new MockResponse().setResponseCode(204);
+                }
+
+                String body = request.getBody().readUtf8();
+                if (body.contains("invalid")) {
+                    return new MockResponse().setResponseCode(400).setBody("[{\"error_message\":\"invalid\"}]");
+                }
+                StringBuilder moved = new StringBuilder("[");
+                for (String fileId : body.substring(1, body.length() - 1).split(",")) {
+                    String id = fileId.substring(1, fileId.length() - 1);
+                    if (moved.length() > 1) {
+                        moved.append(',');
+                    }
+                    moved.append("{\"id\":\"").append(id).append("\",\"uri\":\"")
+                         .append("https://api.constantcontact.com/v2/library/files/").append(id).append("\"}");
+                }
+                return new MockResponse().setBody(moved.append(']').toString());
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _bulk = new LibraryBulkOperations(retrofit.create(LibraryService.class));
+        _bulk.setConcurrency(4);
+        _bulk.setRetryDelayMillis(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatMove_WillSendFilesInBatches() throws Exception {
+        List<String> fileIds = new ArrayList<>();
+        for (int i = 0; i < 230; i++) {
+            fileIds.add(i == 120 ? "invalid" : String.valueOf(i));
+        }
+
+        BulkReport<List<String>, File[]> report = _bulk.moveFiles(fileIds, "7");
+
+        assertThat(_server.getRequestCount(), is(5));
+        assertThat(report.getResults().size(), is(5));
+        assertThat(report.getSuccessCount(), is(4));
+        assertThat(report.getResults().get(0).getItem().size(), is(LibraryBulkOperations.DEFAULT_MOVE_BATCH_SIZE));
+        assertThat(report.getResults().get(0).getResult().length, is(LibraryBulkOperations.DEFAULT_MOVE_BATCH_SIZE));
+        assertThat(report.getResults().get(0).getResult()[1].getId(), is("1"));
+        assertThat(report.getResults().get(4).getItem().size(), is(30));
+
+        BulkResult<List<String>, File[]> invalid = report.getFailures().get(0);
+        assertThat(invalid.getIndex(), is(2));
+        assertThat(invalid.getItem().contains("invalid"), is(true));
+        assertThat(invalid.getCode(), is(400));
+        assertThat(invalid.getAttempts(), is(1));
+    }
+
+    @Test
+    public void expectThatDelete_WillReportEachFile() throws Exception {
+        List<String> fileIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            fileIds.add(String.valueOf(i));
+        }
+        fileIds.add("flaky");
+        fileIds.add("missing");
+
+        BulkReport<String, Response<Void>> report = _bulk.deleteFiles(fileIds);
+
+        assertThat(report.getResults().size(), is(22));
+        assertThat(report.getSuccessCount(), is(21));
+        assertThat(report.getResults().get(20).getAttempts(), is(3));
+        assertThat(report.getFailures().get(0).getItem(), is("missing"));
+        assertThat(report.getFailures().get(0).getCode(), is(404));
+    }
+}
@@ -0,0 +1,137 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.library.File;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class PageIteratorTest {
+    private MockWebServer _server;
+
+    private Retrofit _retrofit;
+
+    private ContactService _contactService;
+
+    private PagedCallFactory<Contact> _nextPageFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        _retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _contactService = _retrofit.create(ContactService.class);
+        _nextPageFactory = new PagedCallFactory<Contact>() {
+            @Override
+            public Call<Paged<Contact>> create(String nextLink) {
+                return _contactService.getContacts(nextLink);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatIterating_WillFollowNextLinks() throws Exception {
+        _server.enqueue(page("v2/contacts?next=2", "1", "2"));
+        _server.enqueue(page("v2/contacts?next=3", "3"));
+        _server.enqueue(page(null, "4", "5"));
+
+        PageIterable<Contact> iterable = new PageIterable<>(_contactService.getContacts(2, null), _nextPageFactory, 2);
+        List<String> ids = new ArrayList<>();
+        for (Contact contact : iterable) {
+            ids.add(contact.getId());
+        }
+
+        assertThat(ids.toString(), is("[1, 2, 3, 4, 5]"));
+        assertThat(_server.getRequestCount(), is(3));
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getPath(), is("/v2/contacts?next=2"));
+        assertThat(_server.takeRequest().getPath(), is("/v2/contacts?next=3"));
+    }
+
+    @Test
+    public void expectThatFailedPage_WillThrowPagingException() throws Exception {
+        _server.enqueue(page("v2/contacts?next=2", "1"));
+        _server.enqueue(new MockResponse().setResponseCode(500));
+
+        PageIterator<Contact> pages =
+                new PageIterable<>(_contactService.getContacts(2, null), _nextPageFactory).pages();
+        assertThat(pages.next().getResults().size(), is(1));
+        assertThat(pages.hasNext(), is(true));
+        try {
+            pages.next();
+            throw new AssertionError("expected PagingException");
+        } catch (PagingException e) {
+            assertThat(e.getCode(), is(500));
+        }
+        assertThat(pages.hasNext(), is(false));
+    }
+
+    @Test
+    public void expectThatEmptyResponse_WillEndIteration() throws Exception {
+        _server.enqueue(page("v2/contacts?next=2", "1"));
+        _server.enqueue(new MockResponse().setResponseCode(204));
+
+        PageIterator<Contact> pages =
+                new PageIterable<>(_contactService.getContacts(2, null), _nextPageFactory).pages();
+        assertThat(pages.next().getResults().size(), is(1));
+        assertThat(pages.hasNext(), is(false));
+    }
+
+    @Test
+    public void expectThatLibraryPages_WillFollowNextLinks() throws Exception {
+        _server.enqueue(page("v2/library/folders/7/files?next=2", "1"));
+        _server.enqueue(page(null, "2"));
+
+        final LibraryService libraryService = _retrofit.create(LibraryService.class);
+        PageIterable<File> iterable = new PageIterable<>(
+                libraryService.getFilesByFolder("7", 1, null, null, null), new PagedCallFactory<File>() {
+                    @Override
+                    public Call<Paged<File>> create(String nextLink) {
+                        return libraryService.getFilesByFolder(nextLink);
+                    }
+                });
+        List<String> ids = new ArrayList<>();
+        for (File file : iterable) {
+            ids.add(file.getId());
+        }
+
+        assertThat(ids.toString(), is("[1, 2]"));
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getPath(), is("/v2/library/folders/7/files?next=2"));
+    }
+
+    private static MockResponse page(String nextLink, String... ids) {
+        StringBuilder json = new StringBuilder("{\"meta\":{\"pagination\":{");
+        if (nextLink != null) {
+            json.append("\"next_link\":\"/").append(nextLink).append('"');
+        }
+        json.append("}},\"results\":[");
+        for (int i = 0; i < ids.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":\"").append(ids[i]).append("\"}");
+        }
+        json.append("]}");
+        return new MockResponse().setBody(json.toString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.contacts.Contact;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ */
+public class TenantCCApi2Test {
+    private MockWebServer _server;
+
+    private CCApi2 _shared;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        OkHttpClient client = new DefaultOkHttpClientBuilderFactory().createShared().build();
+        _shared = new CCApi2(new DefaultRetrofitBuilderFactory(client).create(_server.url("/").toString())
+                                     .callFactory(new TenantCallFactory(client))
+                                     .build());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatTenantViews_WillAuthorizeEachCallForTheirAccount() throws Exception {
+        _server.enqueue(new MockResponse().setBody("{\"id\":\"1\"}"));
+        _server.enqueue(new MockResponse().setBody("{\"id\":\"2\"}"));
+
+        Contact first = _shared.forTenant("key", "first").getContactService().getContact("1").execute().body();
+
+        final CountDownLatch done = new CountDownLatch(1);
+        _shared.forTenant("key", "second").getContactService().getContact("2").enqueue(new Callback<Contact>() {
+            @Override
+            public void onResponse(Call<Contact> call, Response<Contact> response) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call<Contact> call, Throwable t) {
+                done.countDown();
+            }
+        });
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+
+        assertThat(first.getId(), is("1"));
+        RecordedRequest request = _server.takeRequest();
+        assertThat(request.getHeader("Authorization"), is("Bearer first"));
+        assertThat(request.getPath(), is("/v2/contacts/1?api_key=key"));
+        assertThat(_server.takeRequest().getHeader("Authorization"), is("Bearer second"));
+    }
+
+    @Test
+    public void expectThatClonedCalls_WillKeepTheirAccount() throws Exception {
+        _server.enqueue(new MockResponse().setBody("{\"id\":\"1\"}"));
+        _server.enqueue(new MockResponse().setBody("{\"id\":\"1\"}"));
+
+        Call<Contact> call = _shared.forTenant("key", "first").getContactService().getContact("1");
+        call.execute();
+        call.clone().execute();
+
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getHeader("Authorization"), is("Bearer first"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void expectThatSharedServices_WillRequireAnAccount() throws Exception {
+        _shared.getContactService().getContact("1").execute();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void expectThatTenantViewOfUnsharedInstance_WillBeRejected() throws Exception {
+        new CCApi2("key", "token").forTenant("other", "other-token");
+    }
+}
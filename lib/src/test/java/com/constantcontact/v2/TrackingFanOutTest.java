@@ -0,0 +1,157 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.tracking.BaseTrackingReport;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ */
+public class TrackingFanOutTest {
+    private MockWebServer _server;
+
+    private TrackingFanOut _fanOut;
+
+    private final AtomicInteger _inFlight = new AtomicInteger();
+
+    private final AtomicInteger _maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = _inFlight.incrementAndGet();
+                synchronized (_maxInFlight) {
+                    _maxInFlight.set(Math.max(_maxInFlight.get(), current));
+                }
+                try {
+                    Thread.sleep(20);
+                    String campaignId = request.getPath().split("/")[4];
+                    if (campaignId.equals("broken")) {
+                        return new MockResponse().setResponseCode(404);
+                    }
+                    if (request.getPath().contains("next=2")) {
+                        return page(null, campaignId);
+                    }
+                    return page("v2/emailmarketing/campaigns/" + campaignId + "/tracking?next=2", campaignId);
+                } finally {
+                    _inFlight.decrementAndGet();
+                }
+            }
+        });
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _fanOut = new TrackingFanOut(retrofit.create(CampaignTrackingService.class));
+        _fanOut.setConcurrency(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatEveryCampaign_WillBeMergedIntoOneStream() throws Exception {
+        List<String> campaignIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            campaignIds.add("c" + i);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        try (FanOutIterator<BaseTrackingReport> reports = _fanOut.allReports(campaignIds, null)) {
+            while (reports.hasNext()) {
+                String campaignId = reports.next().getCampaignId();
+                counts.put(campaignId, counts.containsKey(campaignId) ? counts.get(campaignId) + 1 : 1);
+            }
+        }
+
+        assertThat(counts.size(), is(10));
+        for (int count : counts.values()) {
+            assertThat(count, is(4));
+        }
+        assertThat(_maxInFlight.get(), greaterThan(1));
+        assertThat(_server.getRequestCount(), is(20));
+    }
+
+    @Test(expected = PagingException.class)
+    public void expectThatFailedCampaign_WillStopTheStream() throws Exception {
+        List<String> campaignIds = new ArrayList<>();
+        campaignIds.add("c0");
+        campaignIds.add("broken");
+
+        _fanOut.forEachReport(campaignIds, null, new TrackingFanOut.ReportHandler() {
+            @Override
+            public void onReport(BaseTrackingReport report) {
+            }
+        });
+    }
+
+    @Test
+    public void expectThatClosing_WillStopEveryWorker() throws Exception {
+        List<String> campaignIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            campaignIds.add("c" + i);
+        }
+        _fanOut.setBufferPages(1);
+
+        FanOutIterator<BaseTrackingReport> reports = _fanOut.allReports(campaignIds, null);
+        reports.next();
+        reports.close();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (workerCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(workerCount(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectThatZeroBufferPages_WillBeRejected() throws Exception {
+        _fanOut.setBufferPages(0);
+    }
+
+    private static int workerCount() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("ctct-fanout-")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static MockResponse page(String nextLink, String campaignId) {
+        StringBuilder body = new StringBuilder("{\"meta\":{\"pagination\":{");
+        if (nextLink != null) {
+            body.append("\"next_link\":\"/").append(nextLink).append("\"");
+        }
+        body.append("}},\"results\":[");
+        for (int i = 0; i < 2; i++) {
+            body.append(i > 0 ? "," : "")
+                .append("{\"activity_type\":\"EMAIL_OPEN\",\"campaign_id\":\"").append(campaignId).append("\"}");
+        }
+        return new MockResponse().setBody(body.append("]}").toString());
+    }
+}
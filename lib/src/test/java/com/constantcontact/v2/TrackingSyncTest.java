@@ -0,0 +1,194 @@
+package com.constantcontact.v2;
+
+import com.constantcontact.v2.converter.jackson.JacksonConverterFactory;
+import com.constantcontact.v2.tracking.OpenReport;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ */
+public class TrackingSyncTest {
+    @Rule
+    public TemporaryFolder _folder = new TemporaryFolder();
+
+    private MockWebServer _server;
+
+    private TrackingReportQuery<OpenReport> _query;
+
+    private WatermarkStore _store;
+
+    private List<String> _contactIds;
+
+    private TrackingSync.PageHandler<OpenReport> _handler;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new MockWebServer();
+        _server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(_server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+        _query = TrackingReportQuery.campaignOpens(retrofit.create(CampaignTrackingService.class), "1");
+        _store = new FileWatermarkStore(_folder.newFile());
+        _contactIds = new ArrayList<>();
+        _handler = new TrackingSync.PageHandler<OpenReport>() {
+            @Override
+            public void onPage(List<OpenReport> reports) {
+                for (OpenReport report : reports) {
+                    _contactIds.add(report.getContactId());
+                }
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.shutdown();
+    }
+
+    @Test
+    public void expectThatSecondSync_WillOnlyFetchNewActivity() throws Exception {
+        _server.enqueue(page("v2/emailmarketing/campaigns/1/tracking/opens?next=2", "a", "b"));
+        _server.enqueue(page(null, "c"));
+        _server.enqueue(page(null, "d"));
+
+        TrackingSync sync = new TrackingSync(_store);
+        assertThat(sync.sync(_query, _handler), is(3));
+        assertThat(_server.takeRequest().getPath(), not(containsString("created_since")));
+        _server.takeRequest();
+
+        Watermark watermark = _store.load("campaign/1/opens");
+        assertThat(watermark.getPendingSince(), is(nullValue()));
+        assertThat(watermark.getNextLink(), is(nullValue()));
+
+        assertThat(sync.sync(_query, _handler), is(1));
+        assertThat(_server.takeRequest().getPath(), containsString("created_since="));
+        assertThat(_contactIds.toString(), is("[a, b, c, d]"));
+    }
+
+    @Test
+    public void expectThatInterruptedSync_WillResumeAtFailedPage() throws Exception {
+        _server.enqueue(page("v2/emailmarketing/campaigns/1/tracking/opens?next=2", "a", "b"));
+        _server.enqueue(new MockResponse().setResponseCode(500));
+        _server.enqueue(page(null, "c"));
+
+        TrackingSync sync = new TrackingSync(_store);
+        try {
+            sync.sync(_query, _handler);
+        } catch (PagingException e) {
+            assertThat(e.getCode(), is(500));
+        }
+        Watermark interrupted = _store.load("campaign/1/opens");
+        assertThat(interrupted.getCreatedSince(), is(nullValue()));
+
+        assertThat(sync.sync(_query, _handler), is(1));
+        _server.takeRequest();
+        _server.takeRequest();
+        RecordedRequest resumed = _server.takeRequest();
+        assertThat(resumed.getPath(), is("/v2/emailmarketing/campaigns/1/tracking/opens?next=2"));
+        assertThat(_contactIds.toString(), is("[a, b, c]"));
+        assertThat(_store.load("campaign/1/opens").getCreatedSince(), is(interrupted.getPendingSince()));
+    }
+
+    @Test
+    public void expectThatRefusedResumeLink_WillStartOver() throws Exception {
+        _server.enqueue(page("v2/emailmarketing/campaigns/1/tracking/opens?next=2", "a", "b"));
+        _server.enqueue(new MockResponse().setResponseCode(500));
+        _server.enqueue(new MockResponse().setResponseCode(400));
+        _server.enqueue(page(null, "a", "b", "c"));
+
+        TrackingSync sync = new TrackingSync(_store);
+        try {
+            sync.sync(_query, _handler);
+        } catch (PagingException expected) {
+        }
+
+        assertThat(sync.sync(_query, _handler), is(3));
+        _server.takeRequest();
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getPath(), is("/v2/emailmarketing/campaigns/1/tracking/opens?next=2"));
+        assertThat(_server.takeRequest().getPath(), not(containsString("next=")));
+        assertThat(_contactIds.toString(), is("[a, b, a, b, c]"));
+        assertThat(_store.load("campaign/1/opens").getNextLink(), is(nullValue()));
+    }
+
+    @Test
+    public void expectThatFailedResume_WillKeepTheLink() throws Exception {
+        _server.enqueue(page("v2/emailmarketing/campaigns/1/tracking/opens?next=2", "a", "b"));
+        _server.enqueue(new MockResponse().setResponseCode(500));
+        _server.enqueue(new MockResponse().setResponseCode(503));
+        _server.enqueue(page(null, "c"));
+
+        TrackingSync sync = new TrackingSync(_store);
+        for (int i = 0; i < 2; i++) {
+            try {
+                sync.sync(_query, _handler);
+                fail();
+            } catch (PagingException expected) {
+            }
+        }
+        assertThat(_store.load("campaign/1/opens").getNextLink(),
+                   is("v2/emailmarketing/campaigns/1/tracking/opens?next=2"));
+
+        assertThat(sync.sync(_query, _handler), is(1));
+        _server.takeRequest();
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getPath(), is("/v2/emailmarketing/campaigns/1/tracking/opens?next=2"));
+        assertThat(_server.takeRequest().getPath(), is("/v2/emailmarketing/campaigns/1/tracking/opens?next=2"));
+        assertThat(_contactIds.toString(), is("[a, b, c]"));
+    }
+
+    @Test
+    public void expectThatFailedHandler_WillGetThePageAgain() throws Exception {
+        _server.enqueue(page(null, "a"));
+        _server.enqueue(page(null, "a"));
+
+        TrackingSync sync = new TrackingSync(_store);
+        try {
+            sync.sync(_query, new TrackingSync.PageHandler<OpenReport>() {
+                @Override
+                public void onPage(List<OpenReport> reports) throws IOException {
+                    throw new IOException("disk full");
+                }
+            });
+        } catch (IOException expected) {
+        }
+
+        assertThat(sync.sync(_query, _handler), is(1));
+        _server.takeRequest();
+        assertThat(_server.takeRequest().getPath(), not(containsString("created_since")));
+    }
+
+    private static MockResponse page(String nextLink, String... contactIds) {
+        StringBuilder body = new StringBuilder("{\"meta\":{\"pagination\":{");
+        if (nextLink != null) {
+            body.append("\"next_link\":\"/").append(nextLink).append("\"");
+        }
+        body.append("}},\"results\":[");
+        for (int i = 0; i < contactIds.length; i++) {
+            body.append(i > 0 ? "," : "")
+                .append("{\"activity_type\":\"EMAIL_OPEN\",\"contact_id\":\"").append(contactIds[i]).append("\"}");
+        }
+        return new MockResponse().setBody(body.append("]}").toString());
+    }
+}